@@ -1,5 +1,7 @@
 package com.pres.pres_server;
 
+import java.util.Map;
+
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
@@ -7,7 +9,11 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 public class PresServerApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(PresServerApplication.class, args);
+		SpringApplication application = new SpringApplication(PresServerApplication.class);
+		// open-session-in-view 기본값(true)은 요청이 끝날 때까지 커넥션을 잡아 LLM 호출 중에도 풀을 점유한다.
+		// application.yml 은 저장소에 없으므로 코드 기본값으로 끈다 (설정 파일에 명시하면 그 값이 우선)
+		application.setDefaultProperties(Map.of("spring.jpa.open-in-view", "false"));
+		application.run(args);
 	}
 
 }
@@ -0,0 +1,215 @@
+package com.pres.pres_server.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties("analyse") // application.yml의 analyse 속성 매핑
+public class AnalyseProperties {
+
+    // ffmpeg 실행 파일 경로 (PATH에 있으면 "ffmpeg")
+    private String ffmpegPath = "ffmpeg";
+
+    // ffmpeg 변환 최대 시간(초). 초과 시 프로세스를 강제 종료
+    private long ffmpegTimeoutSec = 1800;
+
+    // 윈도우 길이(초)
+    private double windowSec = 30.0;
+
+    // 동시에 처리할 윈도우 수 (Whisper 동시 호출 상한)
+    private int concurrency = 4;
+
+    // 실행 대기 큐 크기 (가득 차면 요청 스레드가 직접 처리)
+    private int queueCapacity = 200;
+
+    // 추임새 사전 (단어 경계 기준으로 매칭)
+    private List<String> fillers = new ArrayList<>(List.of("음", "어", "아", "뭐지"));
+
+    // 비동기 분석 작업(job) 워커 수 / 대기열 크기
+    private int jobWorkers = 2;
+    private int jobQueueCapacity = 50;
+
+    // job 상태와 결과를 Redis에 보관하는 시간(시간 단위)
+    private long jobTtlHours = 24;
+
+    // 진행 중(QUEUED/RUNNING) job 의 생존 신호 주기(초). 4회 연속 끊기면 (서버 재시작/장애) FAILED 로 보고
+    private long jobHeartbeatSec = 15;
+
+    // 전사 결과 캐시 (PCM 윈도우 SHA-256 → transcript)
+    private final CacheProperties cache = new CacheProperties(24 * 7);
+
+    // 전사 엔진 선택 (openai | local)
+    private final Transcription transcription = new Transcription();
+
+    // 스트리밍 분석 모드 (긴 녹음용: 변환 WAV 파일 없이 ffmpeg 출력을 윈도우 단위로 바로 처리)
+    private final Stream stream = new Stream();
+
+    // 에너지 기반 음성 구간 검출 (무음 윈도우 생략, 쉼 위치에서 윈도우 분할)
+    private final Vad vad = new Vad();
+
+    // 분석 요청 입장 제어 (전체 동시 실행 상한 + 사용자별 공정 대기열, 초과 시 429)
+    private final Admission admission = new Admission();
+
+    // 실시간 리허설 (WebSocket으로 PCM 조각을 받아 윈도우가 찰 때마다 분석)
+    private final Live live = new Live();
+
+    // 슬라이딩 윈도우 SPM / 추임새 빈도 타임라인 (요약에 포함, 추가 전사 호출 없음)
+    private final Timeline timeline = new Timeline();
+
+    // 반복 구절 검출 (단어 n-gram, 요약의 repeatScore / repeatedPhrases)
+    private final Repetition repetition = new Repetition();
+
+    // 억양/음량 변화 분석 (윈도우 PCM에서 프레임별 RMS + YIN 음높이)
+    private final Prosody prosody = new Prosody();
+
+    // 연습 세션 저장 시 계산하는 Feedback 점수
+    private final Feedback feedback = new Feedback();
+
+    // 전사문 ↔ 슬라이드 텍스트 정렬 (슬라이드별 시작/끝 시각, SPM, 추임새 수)
+    private final Alignment alignment = new Alignment();
+
+    @Setter
+    @Getter
+    public static class Transcription {
+        private String engine = "openai";
+        private String uploadFormat = "wav"; // wav | flac (무손실 압축, 업로드 크기 약 절반)
+        private boolean wordTimestamps = true; // 단어별 시작/끝 시각 요청 (Whisper verbose_json, 단어 타임라인)
+        private final Http http = new Http();
+        private final Local local = new Local();
+    }
+
+    // Whisper 업로드용 HTTP 커넥션 풀
+    @Setter
+    @Getter
+    public static class Http {
+        private int maxConnections = 20;
+        private int maxConnectionsPerRoute = 10; // api.openai.com 한 곳이므로 concurrency 이상으로 설정
+        private int connectTimeoutMs = 5000;
+        private int readTimeoutMs = 120000; // 30초 윈도우 전사 응답 대기
+        private int poolTimeoutMs = 30000; // 풀에서 커넥션을 기다리는 최대 시간
+        private long keepAliveSec = 60; // 유휴 커넥션 유지 시간
+    }
+
+    // 네트워크 없이 분석 파이프라인을 측정하기 위한 가짜 전사 엔진 설정
+    @Setter
+    @Getter
+    public static class Local {
+        private long latencyMs = 800; // 윈도우당 기본 지연
+        private long jitterMs = 400; // 추가 지연 최대값 (PCM 해시로 결정 → 재현 가능)
+        private double errorRate = 0.0; // 실패로 응답할 윈도우 비율 (0.0 ~ 1.0)
+        private List<String> transcripts = new ArrayList<>(List.of(
+                "음 오늘은 저희 팀의 프로젝트 진행 상황을 말씀드리겠습니다",
+                "어 먼저 지난 발표 이후에 변경된 부분부터 설명드리면",
+                "그래서 이 부분은 아 사용자 피드백을 반영해서 수정했습니다",
+                "다음 슬라이드에서 뭐지 성능 측정 결과를 보여드리겠습니다"));
+    }
+
+    @Setter
+    @Getter
+    public static class Stream {
+        private boolean enabled = false;
+        private int bufferedWindows = 8; // 메모리에 올려두는 최대 윈도우 수 (읽기 완료 ~ 분석 완료)
+        private int readers = 2; // 동시에 디코딩하는 녹음 수
+        private int queueCapacity = 20; // 디코딩 대기열 크기 (초과 시 거부)
+    }
+
+    @Setter
+    @Getter
+    public static class Vad {
+        private boolean enabled = true;
+        private int frameMs = 30; // RMS 계산 프레임 길이
+        private double thresholdRatio = 3.0; // 잡음 바닥(하위 10% RMS) 대비 음성 판정 배수
+        private int minRms = 200; // 16bit 기준 최소 음성 RMS (약 -44 dBFS)
+        private int minPauseMs = 300; // 이보다 짧은 무음은 음성으로 간주 (음절 사이 간격), 긴 무음은 쉼 통계에 포함
+        private int paddingMs = 200; // 음성 앞뒤로 남겨두는 여유
+        private double longSilenceSec = 2.0; // 이 이상 이어지는 무음은 잘라내고 전송하지 않음
+        private double maxShiftSec = 5.0; // 윈도우 경계를 쉼 위치로 당길 수 있는 최대 거리
+    }
+
+    @Setter
+    @Getter
+    public static class Admission {
+        private boolean enabled = true;
+        private int maxConcurrent = 4; // 동시에 실행하는 분석 요청 수
+        private int maxQueue = 40; // 전체 대기 요청 수 (강의실 한 반 규모)
+        private int maxQueuePerUser = 2; // 사용자 한 명이 쌓을 수 있는 대기 요청 수
+        private long maxWaitSec = 120; // 자리를 기다리는 최대 시간 (초과 시 429)
+        private long maxRetryAfterSec = 300; // Retry-After 헤더 상한
+    }
+
+    @Setter
+    @Getter
+    public static class Live {
+        private double windowSec = 10.0; // 실시간 피드백 간격 (업로드 분석보다 짧게)
+        private double minWindowSec = 1.0; // 종료 시 이보다 짧은 마지막 조각은 분석하지 않음
+        private int maxPendingWindows = 3; // 세션당 분석 중인 윈도우 수 (초과 시 해당 윈도우 건너뜀)
+        private int maxSessions = 20; // 동시 리허설 세션 수
+        private long maxSessionSec = 1800; // 세션당 최대 녹음 길이
+        private int maxMessageBytes = 64 * 1024; // 바이너리 메시지(PCM 조각) 최대 크기
+    }
+
+    @Setter
+    @Getter
+    public static class Timeline {
+        private boolean enabled = true;
+        private double segmentSec = 1.0; // 누적 단위 구간
+        private double windowSec = 10.0; // 슬라이딩 윈도우 길이
+        private double strideSec = 1.0; // 계산 간격
+        private double minSpokenRatio = 0.3; // 발화 시간이 윈도우의 이 비율 미만이면 통계에서 제외
+    }
+
+    @Setter
+    @Getter
+    public static class Repetition {
+        private boolean enabled = true;
+        private int ngram = 3; // 반복으로 볼 연속 단어 수
+        private int topPhrases = 5; // 요약에 담을 구절 수
+        private int maxOffsets = 10; // 구절당 기록할 등장 위치 수
+    }
+
+    @Setter
+    @Getter
+    public static class Prosody {
+        private boolean enabled = true;
+        private int frameMs = 40; // 분석 프레임 길이 (최저 음높이 주기의 2배 이상)
+        private double minPitchHz = 75;
+        private double maxPitchHz = 400;
+        private double yinThreshold = 0.15; // 정규화 차분 임계값 (낮을수록 유성음 판정이 엄격)
+        private int minRms = 300; // 이보다 작은 프레임은 무음으로 보고 제외
+        private double monotoneSt = 1.0; // 음높이 표준편차가 이 이하면 억양 점수 0 (반음)
+        private double expressiveSt = 3.0; // 이 이상이면 100
+        private double flatDb = 2.0; // 음량 표준편차가 이 이하면 음량 점수 0
+        private double expressiveDb = 6.0; // 이 이상이면 100
+        private int minVoicedFrames = 10; // 음높이를 잡은 프레임이 이보다 적으면 결과 없음
+    }
+
+    @Setter
+    @Getter
+    public static class Feedback {
+        private double fillerPenaltyPerMin = 10; // 분당 추임새 1회마다 fillerScore 감점
+        private double spmWeight = 0.4; // totalScore 가중치
+        private double fillerWeight = 0.3;
+        private double repeatWeight = 0.3;
+    }
+
+    @Setter
+    @Getter
+    public static class Alignment {
+        private int shingle = 3; // 글자 k-gram 길이 (공백/문장부호 제외)
+        private int hashes = 64; // MinHash 서명 길이 (band-rows 의 배수)
+        private int bandRows = 1; // LSH 밴드당 해시 수 (클수록 후보가 줄고 놓치는 슬라이드가 늘어남)
+        private double segmentSec = 10.0; // 발화를 이 길이 구간으로 묶어 슬라이드에 맞춤
+        private double switchPenalty = 0.1; // 다음 슬라이드로 넘어갈 때 감점 (클수록 잦은 전환 억제)
+        private double skipPenalty = 0.2; // 슬라이드 한 장을 건너뛸 때 추가 감점
+        private int maxSkip = 3; // 한 번에 건너뛸 수 있는 슬라이드 수
+    }
+
+}
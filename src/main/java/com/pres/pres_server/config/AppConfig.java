@@ -1,13 +1,130 @@
 package com.pres.pres_server.config;
 
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class AppConfig {
     @Bean
+    @Primary
     public RestTemplate restTemplate() {
         return new RestTemplate();
     }
+
+    // 전사(Whisper) 업로드 전용 HTTP 클라이언트: 커넥션 풀 + keep-alive 로 윈도우마다 TCP/TLS 연결을 새로 맺지 않음
+    @Bean(name = "whisperHttpClient", destroyMethod = "close")
+    public CloseableHttpClient whisperHttpClient(AnalyseProperties properties) {
+        AnalyseProperties.Http http = properties.getTranscription().getHttp();
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(http.getMaxConnections())
+                .setMaxConnPerRoute(http.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(http.getConnectTimeoutMs()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(http.getReadTimeoutMs()))
+                        .build())
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy((response, context) -> TimeValue.ofSeconds(http.getKeepAliveSec()))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(http.getKeepAliveSec()))
+                .build();
+    }
+
+    @Bean(name = "whisperRestTemplate")
+    public RestTemplate whisperRestTemplate(CloseableHttpClient whisperHttpClient, AnalyseProperties properties) {
+        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(whisperHttpClient);
+        // 풀에서 커넥션을 기다리는 최대 시간 (동시 윈도우 수 > 커넥션 수일 때)
+        factory.setConnectionRequestTimeout(properties.getTranscription().getHttp().getPoolTimeoutMs());
+
+        RestTemplate rest = new RestTemplate(factory);
+        // 한글 깨짐 현상 -> utf-8 명시
+        rest.getMessageConverters().add(0, new StringHttpMessageConverter(StandardCharsets.UTF_8));
+        return rest;
+    }
+
+    // 음성 분석 윈도우 병렬 처리용 executor (동시성 상한 = analyse.concurrency)
+    @Bean(name = "analyseExecutor")
+    public ThreadPoolTaskExecutor analyseExecutor(AnalyseProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getConcurrency());
+        executor.setMaxPoolSize(properties.getConcurrency());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("analyse-");
+        // 큐가 가득 차면 호출 스레드에서 실행 → 자연스러운 back-pressure
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    // LLM(chat completion) 호출용 executor: 슬라이드별 큐카드를 llm.concurrency 개까지 동시에 요청
+    @Bean(name = "llmExecutor")
+    public ThreadPoolTaskExecutor llmExecutor(LlmProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getConcurrency());
+        executor.setMaxPoolSize(properties.getConcurrency());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("llm-");
+        // 큐가 가득 차면 호출 스레드에서 실행 → 자연스러운 back-pressure
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    // 비동기 분석 job 워커 (ffmpeg 변환 + 윈도우 분석 조율). 대기열이 가득 차면 제출 거부
+    @Bean(name = "analyseJobExecutor")
+    public ThreadPoolTaskExecutor analyseJobExecutor(AnalyseProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getJobWorkers());
+        executor.setMaxPoolSize(properties.getJobWorkers());
+        executor.setQueueCapacity(properties.getJobQueueCapacity());
+        executor.setThreadNamePrefix("analyse-job-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // ffmpeg stdin 으로 업로드 스트림을 흘려보내는 I/O 스레드 (변환 하나당 하나, 변환이 끝나면 반환)
+    @Bean(name = "ffmpegIoExecutor")
+    public ThreadPoolTaskExecutor ffmpegIoExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(0);
+        executor.setMaxPoolSize(64);
+        executor.setQueueCapacity(0); // 대기 없이 바로 스레드 할당
+        executor.setKeepAliveSeconds(30);
+        executor.setThreadNamePrefix("ffmpeg-io-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // 스트리밍 분석 읽기 루프 (ffmpeg stdout → 윈도우 제출). 녹음 하나당 스레드 하나를 점유
+    @Bean(name = "analyseStreamExecutor")
+    public ThreadPoolTaskExecutor analyseStreamExecutor(AnalyseProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getStream().getReaders());
+        executor.setMaxPoolSize(properties.getStream().getReaders());
+        executor.setQueueCapacity(properties.getStream().getQueueCapacity());
+        executor.setThreadNamePrefix("analyse-stream-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
 }
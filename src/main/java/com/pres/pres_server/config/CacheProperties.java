@@ -0,0 +1,18 @@
+package com.pres.pres_server.config;
+
+import lombok.Getter;
+import lombok.Setter;
+
+// 2단계 캐시(TwoTierCache) 설정: analyse.cache, llm.cache 에서 공통으로 사용
+@Setter
+@Getter
+public class CacheProperties {
+    private boolean enabled = true;
+    private int localMaxEntries = 2000; // 로컬 LRU 최대 항목 수
+    private boolean redisEnabled = false; // Redis 2차 캐시 사용 여부
+    private long redisTtlHours;
+
+    public CacheProperties(long redisTtlHours) {
+        this.redisTtlHours = redisTtlHours;
+    }
+}
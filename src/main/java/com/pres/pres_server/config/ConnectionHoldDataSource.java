@@ -0,0 +1,67 @@
+package com.pres.pres_server.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * 커넥션을 빌린 순간부터 close(풀 반납)까지의 시간을 현재 스레드의 누적값에 더하는 DataSource 래퍼.
+ *
+ * 누적은 track() 으로 시작한 스레드(HTTP 요청 스레드, ConnectionHoldFilter)에서만 한다.
+ * 그 밖의 스레드(분석 job, executor)에서는 원래 커넥션을 그대로 돌려준다.
+ */
+public class ConnectionHoldDataSource extends DelegatingDataSource {
+    private static final ThreadLocal<long[]> HELD = new ThreadLocal<>(); // [보유 ns 합계, 빌린 횟수]
+
+    public ConnectionHoldDataSource(DataSource target) {
+        super(target);
+    }
+
+    /** 현재 스레드에서 누적 시작. 반환된 배열에 [보유 ns 합계, 빌린 횟수] 가 쌓인다. */
+    public static long[] track() {
+        long[] held = new long[2];
+        HELD.set(held);
+        return held;
+    }
+
+    public static void untrack() {
+        HELD.remove();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private static Connection wrap(Connection target) {
+        long[] held = HELD.get();
+        if (held == null) {
+            return target;
+        }
+        long start = System.nanoTime();
+        boolean[] closed = new boolean[1];
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                    if (method.getName().equals("close") && !closed[0]) {
+                        closed[0] = true;
+                        held[0] += System.nanoTime() - start;
+                        held[1]++;
+                    }
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
@@ -0,0 +1,40 @@
+package com.pres.pres_server.config;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+// 요청 하나가 JDBC 커넥션을 잡고 있던 시간 합계를 db.connection.hold{uri} 로 기록 (커넥션을 쓰지 않은 요청은 제외)
+@RequiredArgsConstructor
+public class ConnectionHoldFilter extends OncePerRequestFilter {
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long[] held = ConnectionHoldDataSource.track();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ConnectionHoldDataSource.untrack();
+            if (held[1] > 0) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                Timer.builder("db.connection.hold")
+                        .description("요청 하나가 JDBC 커넥션을 빌려 반납할 때까지 잡고 있던 시간 합계")
+                        .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                        .register(meterRegistry)
+                        .record(held[0], TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.pres.pres_server.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// 요청별 커넥션 보유 시간 지표 (open-in-view 를 끈 뒤 LLM 호출 동안 커넥션을 잡지 않는지 확인용)
+@Configuration
+public class DataSourceMetricsConfig {
+
+    // static: 다른 빈보다 먼저 만들어져야 DataSource 를 감쌀 수 있음
+    @Bean
+    public static BeanPostProcessor connectionHoldDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionHoldDataSource)) {
+                    return new ConnectionHoldDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public ConnectionHoldFilter connectionHoldFilter(MeterRegistry meterRegistry) {
+        return new ConnectionHoldFilter(meterRegistry);
+    }
+}
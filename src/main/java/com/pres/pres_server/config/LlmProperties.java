@@ -0,0 +1,23 @@
+package com.pres.pres_server.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties("llm") // application.yml의 llm 속성 매핑 (큐카드/QnA 생성용 OpenAI chat 호출)
+public class LlmProperties {
+
+    // 동시에 보내는 chat completion 요청 수 (슬라이드별 큐카드 병렬 생성 상한)
+    private int concurrency = 8;
+
+    // 실행 대기 큐 크기 (가득 차면 요청 스레드가 직접 처리)
+    private int queueCapacity = 200;
+
+    // 응답 캐시 (템플릿 버전 + 모델 + temperature + 입력 텍스트 SHA-256 → 응답)
+    private final CacheProperties cache = new CacheProperties(24 * 30);
+}
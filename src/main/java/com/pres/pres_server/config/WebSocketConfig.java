@@ -0,0 +1,43 @@
+package com.pres.pres_server.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+
+import com.pres.pres_server.controller.RehearsalSocketHandler;
+import com.pres.pres_server.security.jwt.TokenAuthenticationFilter;
+
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+    private final RehearsalSocketHandler rehearsalSocketHandler;
+
+    public WebSocketConfig(RehearsalSocketHandler rehearsalSocketHandler) {
+        this.rehearsalSocketHandler = rehearsalSocketHandler;
+    }
+
+    // /api/** 아래에 두어 핸드셰이크 요청도 JWT 인증을 거치게 한다.
+    // 토큰은 TokenAuthenticationFilter 가 Sec-WebSocket-Protocol("bearer", 토큰) 또는 access_token 파라미터에서 읽는다.
+    // 브라우저는 요청한 서브프로토콜 중 하나를 응답받아야 연결하므로 "bearer" 를 선택해 돌려준다.
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        DefaultHandshakeHandler handshakeHandler = new DefaultHandshakeHandler();
+        handshakeHandler.setSupportedProtocols(TokenAuthenticationFilter.WEBSOCKET_TOKEN_PROTOCOL);
+        registry.addHandler(rehearsalSocketHandler, "/api/rehearsal")
+                .setHandshakeHandler(handshakeHandler)
+                .setAllowedOrigins("http://localhost:5173");
+    }
+
+    // PCM 조각 크기 상한 (초과 메시지는 컨테이너가 연결을 닫음)
+    @Bean
+    public ServletServerContainerFactoryBean createWebSocketContainer(AnalyseProperties properties) {
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxBinaryMessageBufferSize(properties.getLive().getMaxMessageBytes());
+        container.setMaxTextMessageBufferSize(8 * 1024);
+        return container;
+    }
+}
@@ -1,23 +1,34 @@
 package com.pres.pres_server.controller;
 
+import com.pres.pres_server.dto.AnalyseJobDto;
+import com.pres.pres_server.dto.AnalyseSummaryDto;
+import com.pres.pres_server.dto.PracticeSessionDto;
 import com.pres.pres_server.dto.WindowDto;
-import com.pres.pres_server.service.WhisperService;
-import com.pres.pres_server.service.analyse.FillerService;
-import com.pres.pres_server.service.analyse.SpeechSpeedService;
+import com.pres.pres_server.exception.AnalyseBusyException;
+import com.pres.pres_server.service.analyse.AnalyseAdmission;
+import com.pres.pres_server.service.analyse.AnalyseJobService;
+import com.pres.pres_server.service.analyse.AnalyseService;
+import com.pres.pres_server.service.analyse.PracticeSessionService;
+import com.pres.pres_server.service.user.UserService;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.http.HttpStatus;
-import org.springframework.web.server.ResponseStatusException;
+import org.springframework.http.MediaType;
 
-import javax.sound.sampled.*;
-import java.io.File;
+import java.io.IOException;
+import java.net.URI;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api")
@@ -25,126 +36,154 @@ import java.util.Map;
         allowedHeaders = "*")
 public class AnalyseController {
     private static final Logger log = LoggerFactory.getLogger(AnalyseController.class);
-    private static final double WINDOW_SEC = 30.0; // 30초 윈도우
-
-    private final WhisperService whisper;
-    private final FillerService filler;
-    private final SpeechSpeedService speedService;
-
-    public AnalyseController(
-            WhisperService whisper,
-            FillerService filler,
-            SpeechSpeedService speedService) {
-        this.whisper = whisper;
-        this.filler = filler;
-        this.speedService = speedService;
+    private static final long STREAM_TIMEOUT_MS = 30 * 60 * 1000L; // 30분
+
+    private final AnalyseService analyseService;
+    private final AnalyseJobService analyseJobService;
+    private final AnalyseAdmission admission;
+    private final PracticeSessionService practiceSessionService;
+    private final UserService userService;
+
+    public AnalyseController(AnalyseService analyseService, AnalyseJobService analyseJobService,
+            AnalyseAdmission admission, PracticeSessionService practiceSessionService, UserService userService) {
+        this.analyseService = analyseService;
+        this.analyseJobService = analyseJobService;
+        this.admission = admission;
+        this.practiceSessionService = practiceSessionService;
+        this.userService = userService;
     }
 
+    // 동시 실행 상한을 넘으면 사용자별 대기열에서 차례를 기다리고, 대기열이 차면 429 (AnalyseBusyException)
+    // projectId 를 주면 결과를 연습 세션으로 저장하고 Location 헤더로 조회 경로를 알려준다
     @PostMapping(value = "/analyse", consumes = "multipart/form-data")
-    public ResponseEntity<List<WindowDto>> analyse(@RequestPart("audio") MultipartFile audioFile) {
-        List<WindowDto> windows = new ArrayList<>();
+    public ResponseEntity<List<WindowDto>> analyse(
+            @AuthenticationPrincipal org.springframework.security.core.userdetails.User principal,
+            @RequestPart("audio") MultipartFile audioFile,
+            @RequestParam(value = "projectId", required = false) Long projectId) throws InterruptedException {
+        // 잘못된 projectId(400), 권한 없음(403), 입장 거부(429)는 아래 catch에 걸리지 않도록 try 밖에서 확인한다
+        Long userId = projectId != null ? userService.findByEmail(principal.getUsername()).getId() : null;
+        if (projectId != null) {
+            practiceSessionService.checkProject(userId, projectId);
+        }
+        AnalyseAdmission.Permit permit = admission.acquire();
         try {
-            log.info("▶ Received upload: originalName='{}', size={} bytes",
-                    audioFile.getOriginalFilename(), audioFile.getSize());
-
-            // 1) 임시 입력 파일 저장
-            String orig = audioFile.getOriginalFilename();
-            String ext = (orig != null && orig.contains("."))
-                    ? orig.substring(orig.lastIndexOf("."))
-                    : ".wav";
-            File tempInput = File.createTempFile("in_", ext);
-            audioFile.transferTo(tempInput);
-            log.info("  • Saved temp input: {}", tempInput.getAbsolutePath());
-
-            // 2) ffmpeg 변환: 16kHz mono WAV
-            File tempWav = File.createTempFile("wavout_", ".wav");
-            String ffmpeg = "C:\\Program Files\\ffmpeg-7.1.1-essentials_build\\bin\\ffmpeg.exe";
-            String cmd = String.format(
-                    "%s -y -i %s -ar 16000 -ac 1 %s",
-                    ffmpeg, tempInput.getAbsolutePath(), tempWav.getAbsolutePath());
-            log.info("  • Running ffmpeg convert: {}", cmd);
-            Process p1 = Runtime.getRuntime().exec(cmd);
-            int c1 = p1.waitFor();
-            if (c1 != 0) {
-                log.warn("  • ffmpeg conversion exited with code {}", c1);
-            } else {
-                log.info("  • Converted to WAV: {}", tempWav.getAbsolutePath());
+            // 윈도우 분할 → 병렬 Whisper → filler / spm (결과는 윈도우 순서대로)
+            List<WindowDto> windows = analyseService.analyse(audioFile);
+            if (projectId != null && !windows.isEmpty()) {
+                PracticeSessionDto saved = practiceSessionService.save(userId, projectId, windows);
+                return ResponseEntity.ok()
+                        .location(URI.create("/api/practice-sessions/" + saved.getSessionId()))
+                        .body(windows);
             }
-            tempInput.delete();
-
-            // 3) 전체 길이(sec) 계산
-            AudioInputStream ais = AudioSystem.getAudioInputStream(tempWav);
-            AudioFormat fmt = ais.getFormat();
-            double totalSec = ais.getFrameLength() / fmt.getFrameRate();
-            ais.close();
-            log.info("  • Total audio duration: {:.2f} sec", totalSec);
-
-            // 4) 30초 윈도우 분할 → Whisper → filler 카운트 → spm 계산
-            int numWins = (int) Math.ceil(totalSec / WINDOW_SEC);
-            log.info("  • Splitting into {} windows ({} sec each)", numWins, WINDOW_SEC);
-
-            for (int i = 0; i < numWins; i++) {
-                double start = i * WINDOW_SEC;
-                double dur = Math.min(WINDOW_SEC, totalSec - start);
-                if (dur <= 0)
-                    break;
-
-                // 윈도우별로 자를 임시 파일 생성
-                File winFile = File.createTempFile("win_" + i + "_", ".wav");
-                String cutCmd = String.format(
-                        "%s -y -ss %.2f -i %s -t %.2f %s",
-                        ffmpeg, start, tempWav.getAbsolutePath(),
-                        dur, winFile.getAbsolutePath());
-                log.info("    • ffmpeg split window {}: {}", i, cutCmd);
-                Process p2 = Runtime.getRuntime().exec(cutCmd);
-                int c2 = p2.waitFor();
-                log.info("    • split exit code: {}", c2);
-
-                // 5) Whisper → text 얻기
-                log.info("    • calling Whisper for window {} ({} - {} sec)", i, start, start + dur);
-                String text = whisper.transcribe(winFile);
-                log.info("    • Whisper result (window {}): {}", i, text);
-
-                // 6) Filler count (기존 방식 그대로)
-                Map<String, Integer> counts = filler.countFillersByRegex(text);
-                log.info("    • Filler counts (window {}): {}", i, counts);
+            return ResponseEntity.ok(windows);
 
-                // 7) “한글 음절” 개수 세기
-                int syllableCount = speedService.countKoreanSyllables(text);
+        } catch (AnalyseBusyException e) {
+            throw e; // 스트리밍 모드에서 실행 큐가 가득 찬 경우 → 429 + Retry-After
+        } catch (Exception e) {
+            log.error("❌ analyse failed", e);
+            // 예외 발생 시 500과 함께 상세 메시지를 던집니다.
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ArrayList<>()); // 또는 Collections.emptyList()
+        } finally {
+            permit.close();
+        }
+    }
 
-                // 8) SPM 계산 (윈도우 길이를 사용)
-                int spm = speedService.calculateSpm(syllableCount, dur);
-                log.info("    • Window {}: syllables={}, spm={}", i, syllableCount, spm);
+    /**
+     * 스트리밍 분석: 윈도우 하나의 전사/채점이 끝날 때마다 SSE "window" 이벤트로 바로 전송하고,
+     * 모든 윈도우가 끝나면 "summary" 이벤트를 보낸 뒤 스트림을 닫는다.
+     * 윈도우는 완료 순서대로 도착하므로 이벤트 id(윈도우 index)로 정렬할 수 있다.
+     * projectId 를 주면 summary 다음에 연습 세션으로 저장하고 "saved" 이벤트({ sessionId })를 보낸다.
+     */
+    @PostMapping(value = "/analyse/stream", consumes = "multipart/form-data", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter analyseStream(
+            @AuthenticationPrincipal org.springframework.security.core.userdetails.User principal,
+            @RequestPart("audio") MultipartFile audioFile,
+            @RequestParam(value = "projectId", required = false) Long projectId) throws Exception {
+        // 저장은 분석 완료 콜백(요청 스레드 밖)에서 하므로 사용자는 여기서 미리 확인해 둔다
+        Long userId = projectId != null ? userService.findByEmail(principal.getUsername()).getId() : null;
+        if (projectId != null) {
+            practiceSessionService.checkProject(userId, projectId);
+        }
+        AnalyseAdmission.Permit permit = admission.acquire(); // 자리는 분석 완료 시 반납
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        List<WindowDto> windows = Collections.synchronizedList(new ArrayList<>());
 
-                // 9) SPM 점수 매핑
-                int spmScore = speedService.mapSpmToScore(spm);
-                log.info("    • Window {}: spmScore={}", i, spmScore);
+        // MultipartFile은 요청이 끝나면 사라지므로 변환(또는 저장)은 요청 스레드에서 먼저 수행
+        CompletableFuture<AnalyseSummaryDto> analysis;
+        try {
+            analysis = analyseService.analyseUpload(audioFile, (index, window) -> {
+                if (projectId != null) {
+                    windows.add(window);
+                }
+                send(emitter, SseEmitter.event()
+                        .id(String.valueOf(index))
+                        .name("window")
+                        .data(window));
+            });
+        } catch (Exception e) {
+            permit.close();
+            throw e;
+        }
+        analysis.whenComplete((summary, error) -> {
+            permit.close();
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error;
+                log.error("❌ analyse stream failed", cause);
+                send(emitter, SseEmitter.event()
+                        .name("error")
+                        .data(Map.of("error", String.valueOf(cause.getMessage()))));
+            } else {
+                log.info("✅ analyse stream complete: {} windows", summary.getWindowCount());
+                send(emitter, SseEmitter.event().name("summary").data(summary));
+                if (projectId != null && !windows.isEmpty()) {
+                    saveSession(emitter, userId, projectId, windows);
+                }
+            }
+            emitter.complete();
+        });
+        return emitter;
+    }
 
-                // 10) 결과 DTO에 담아서 리스트에 추가
-                windows.add(new WindowDto(
-                        start,
-                        start + dur,
-                        text,
-                        counts,
-                        spm,
-                        spmScore));
+    // 비동기 분석 job 제출: 업로드 저장 후 즉시 jobId 반환 (202)
+    @PostMapping(value = "/analyse/jobs", consumes = "multipart/form-data")
+    public ResponseEntity<AnalyseJobDto> submitJob(@RequestPart("audio") MultipartFile audioFile) throws Exception {
+        AnalyseJobDto job = analyseJobService.submit(audioFile);
+        return ResponseEntity.accepted().body(job);
+    }
 
-                // 임시 윈도우 파일 삭제
-                winFile.delete();
-            }
+    // job 진행 상태 조회 (status, totalWindows, completedWindows, summary)
+    @GetMapping("/analyse/jobs/{jobId}")
+    public ResponseEntity<AnalyseJobDto> getJob(@PathVariable("jobId") String jobId) {
+        return ResponseEntity.ok(analyseJobService.getStatus(jobId));
+    }
 
-            // 11) 최종
-            tempWav.delete();
-            log.info("✅ analyse complete, returning {} windows", windows.size());
-            return ResponseEntity.ok(windows);
+    // job 결과 조회 (완료된 윈도우 목록 포함, 진행 중이면 부분 결과)
+    @GetMapping("/analyse/jobs/{jobId}/result")
+    public ResponseEntity<AnalyseJobDto> getJobResult(@PathVariable("jobId") String jobId) {
+        return ResponseEntity.ok(analyseJobService.getResult(jobId));
+    }
 
-        } catch (Exception e) {
-            log.error("❌ analyse failed", e);
-            // 예외 발생 시 500과 함께 상세 메시지를 던집니다.
-            e.printStackTrace(); // ← 콘솔 오류 출력
+    private void saveSession(SseEmitter emitter, Long userId, Long projectId, List<WindowDto> windows) {
+        try {
+            PracticeSessionDto saved = practiceSessionService.save(userId, projectId, windows);
+            send(emitter, SseEmitter.event().name("saved").data(Map.of("sessionId", saved.getSessionId())));
+        } catch (RuntimeException e) {
+            log.error("❌ 연습 세션 저장 실패 (project {})", projectId, e);
+            send(emitter, SseEmitter.event()
+                    .name("error")
+                    .data(Map.of("error", "연습 세션 저장 실패: " + e.getMessage())));
+        }
+    }
 
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(new ArrayList<>()); // 또는 Collections.emptyList()
+    // 클라이언트가 연결을 끊은 경우 전송 실패는 무시 (남은 윈도우는 요약까지 그대로 진행)
+    private void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("SSE 전송 실패 (클라이언트 연결 종료): {}", e.getMessage());
         }
     }
 }
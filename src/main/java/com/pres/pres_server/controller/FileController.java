@@ -69,11 +69,13 @@ public class FileController {
     }
 
     // 추출한 텍스트를 기반으로 큐카드 생성
-    @Operation(summary = "큐카드 생성", description = "파일 ID로 추출된 텍스트를 기반으로 큐카드를 생성합니다.")
+    @Operation(summary = "큐카드 생성", description = "파일 ID로 추출된 텍스트를 기반으로 큐카드를 생성합니다. "
+            + "같은 슬라이드 텍스트는 캐시된 결과를 쓰며, regenerate=true 면 새로 생성합니다.")
     @PostMapping("/generate-cue/{fileId}")
-    public ResponseEntity<CueCardDto> generateCue(@PathVariable("fileId") Long fileId) {
-        // 큐카드 생성을 담당하는 서비스 호출 (fileId만 전달)
-        CueCardDto cueCard = generateCueService.generateCueCards(fileId);
+    public ResponseEntity<CueCardDto> generateCue(@PathVariable("fileId") Long fileId,
+            @RequestParam(value = "regenerate", defaultValue = "false") boolean regenerate) {
+        // 큐카드 생성을 담당하는 서비스 호출
+        CueCardDto cueCard = generateCueService.generateCueCards(fileId, regenerate);
         return ResponseEntity.ok(cueCard);
     }
 
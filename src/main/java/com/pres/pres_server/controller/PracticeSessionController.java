@@ -0,0 +1,64 @@
+package com.pres.pres_server.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import com.pres.pres_server.dto.PracticeSessionDto;
+import com.pres.pres_server.dto.SlideTimingDto;
+import com.pres.pres_server.dto.WordRangeDto;
+import com.pres.pres_server.service.analyse.PracticeSessionService;
+import com.pres.pres_server.service.user.UserService;
+
+import lombok.RequiredArgsConstructor;
+
+// 저장된 연습 세션 조회 (분석 시 projectId 를 준 경우 저장됨, 다시 전사하지 않음)
+// 프로젝트 워크스페이스의 소유자/팀원이 아니면 403
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "http://localhost:5173", allowedHeaders = "*")
+@RequiredArgsConstructor
+public class PracticeSessionController {
+    private final PracticeSessionService practiceSessionService;
+    private final UserService userService;
+
+    // 프로젝트의 연습 기록 (최근 순, 점수/등급만)
+    @GetMapping("/projects/{projectId}/practice-sessions")
+    public ResponseEntity<List<PracticeSessionDto>> list(
+            @AuthenticationPrincipal org.springframework.security.core.userdetails.User principal,
+            @PathVariable("projectId") Long projectId) {
+        return ResponseEntity.ok(practiceSessionService.list(userId(principal), projectId));
+    }
+
+    // 연습 세션 하나 (윈도우 + 요약 + 피드백)
+    @GetMapping("/practice-sessions/{sessionId}")
+    public ResponseEntity<PracticeSessionDto> get(
+            @AuthenticationPrincipal org.springframework.security.core.userdetails.User principal,
+            @PathVariable("sessionId") Long sessionId) {
+        return ResponseEntity.ok(practiceSessionService.get(userId(principal), sessionId));
+    }
+
+    // 구간 단어/추임새 (예: 3분대 → fromSec=120&toSec=180)
+    @GetMapping("/practice-sessions/{sessionId}/words")
+    public ResponseEntity<WordRangeDto> words(
+            @AuthenticationPrincipal org.springframework.security.core.userdetails.User principal,
+            @PathVariable("sessionId") Long sessionId,
+            @RequestParam("fromSec") double fromSec, @RequestParam("toSec") double toSec) {
+        return ResponseEntity.ok(practiceSessionService.words(userId(principal), sessionId, fromSec, toSec));
+    }
+
+    // 슬라이드별 발표 시간/SPM/추임새 (전사문을 발표 파일의 슬라이드 텍스트에 맞춤)
+    @GetMapping("/practice-sessions/{sessionId}/slides")
+    public ResponseEntity<List<SlideTimingDto>> slides(
+            @AuthenticationPrincipal org.springframework.security.core.userdetails.User principal,
+            @PathVariable("sessionId") Long sessionId,
+            @RequestParam("fileId") Long fileId) {
+        return ResponseEntity.ok(practiceSessionService.slides(userId(principal), sessionId, fileId));
+    }
+
+    private Long userId(org.springframework.security.core.userdetails.User principal) {
+        return userService.findByEmail(principal.getUsername()).getId();
+    }
+}
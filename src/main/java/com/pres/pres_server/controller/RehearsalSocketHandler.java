@@ -0,0 +1,178 @@
+package com.pres.pres_server.controller;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.BinaryWebSocketHandler;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pres.pres_server.config.AnalyseProperties;
+import com.pres.pres_server.dto.AnalyseSummaryDto;
+import com.pres.pres_server.dto.WindowDto;
+import com.pres.pres_server.service.analyse.AnalyseService;
+import com.pres.pres_server.service.analyse.AudioWindow;
+import com.pres.pres_server.service.analyse.RehearsalSession;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 실시간 리허설 WebSocket (/api/rehearsal)
+ *
+ * 인증: 브라우저는 헤더를 붙일 수 없으므로 new WebSocket(url, ["bearer", accessToken]) 처럼
+ * 서브프로토콜로 JWT 를 보낸다. (또는 ?access_token=... , 다른 클라이언트는 Authorization 헤더도 가능)
+ *
+ * 클라이언트 → 서버
+ * - 바이너리 메시지: 16kHz mono 16bit little-endian PCM 조각 (크기 자유)
+ * - 텍스트 "end": 녹음 종료. 남은 조각을 분석하고 summary를 보낸 뒤 연결을 닫는다.
+ *
+ * 서버 → 클라이언트 (JSON 텍스트)
+ * - {"type":"window","index":n,"window":WindowDto,"rolling":AnalyseSummaryDto} 윈도우 분석 완료 시 (완료 순서)
+ * - {"type":"skipped","index":n,"startSec":..,"endSec":..} 분석이 밀려 건너뛴 윈도우
+ * - {"type":"error","index":n,"message":..} 윈도우 분석 실패 (세션은 계속)
+ * - {"type":"summary","summary":AnalyseSummaryDto} 종료 시 전체 요약
+ */
+@Slf4j
+@Component
+public class RehearsalSocketHandler extends BinaryWebSocketHandler {
+    private static final String SESSION_KEY = "rehearsal";
+    private static final String LISTENER_KEY = "rehearsal.listener";
+    private static final int SEND_TIME_LIMIT_MS = 10_000;
+    private static final int SEND_BUFFER_BYTES = 512 * 1024;
+
+    private final AnalyseService analyseService;
+    private final AnalyseProperties.Live config;
+    private final ObjectMapper objectMapper;
+    private final AtomicInteger activeSessions = new AtomicInteger();
+
+    public RehearsalSocketHandler(AnalyseService analyseService, AnalyseProperties properties,
+            ObjectMapper objectMapper) {
+        this.analyseService = analyseService;
+        this.config = properties.getLive();
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession rawSession) throws Exception {
+        if (activeSessions.incrementAndGet() > config.getMaxSessions()) {
+            activeSessions.decrementAndGet();
+            rawSession.close(CloseStatus.SERVICE_OVERLOAD.withReason("리허설 세션이 가득 찼습니다."));
+            return;
+        }
+        // 분석 결과는 워커 스레드들에서 동시에 전송되므로 전송을 직렬화
+        WebSocketSession session = new ConcurrentWebSocketSessionDecorator(rawSession, SEND_TIME_LIMIT_MS,
+                SEND_BUFFER_BYTES);
+        Listener listener = new Listener(session);
+        RehearsalSession rehearsal = new RehearsalSession(config.getWindowSec(), config.getMinWindowSec(),
+                config.getMaxSessionSec(), config.getMaxPendingWindows(), analyseService.newSummaryBuilder(),
+                analyseService::analyseWindowAsync, listener);
+        rawSession.getAttributes().put(LISTENER_KEY, listener);
+        rawSession.getAttributes().put(SESSION_KEY, rehearsal);
+        log.info("▶ Rehearsal started: session={}, user={}", rawSession.getId(), principalName(rawSession));
+    }
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws Exception {
+        RehearsalSession rehearsal = rehearsalOf(session);
+        if (rehearsal == null) {
+            return;
+        }
+        try {
+            rehearsal.append(message.getPayload());
+        } catch (IllegalStateException e) {
+            log.warn("리허설 조각 거부 (session={}): {}", session.getId(), e.getMessage());
+            session.close(CloseStatus.POLICY_VIOLATION.withReason(e.getMessage()));
+        }
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        RehearsalSession rehearsal = rehearsalOf(session);
+        if (rehearsal == null) {
+            return;
+        }
+        if (!"end".equalsIgnoreCase(message.getPayload().trim())) {
+            session.close(CloseStatus.NOT_ACCEPTABLE.withReason("지원하지 않는 메시지입니다."));
+            return;
+        }
+        Listener listener = (Listener) session.getAttributes().get(LISTENER_KEY);
+        rehearsal.finish().thenAccept(summary -> {
+            log.info("✅ Rehearsal complete: session={}, {} windows, {} sec", session.getId(),
+                    summary.getWindowCount(), String.format("%.1f", rehearsal.getSecondsReceived()));
+            listener.send(Map.of("type", "summary", "summary", summary));
+            listener.close(CloseStatus.NORMAL);
+        });
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        session.getAttributes().remove(LISTENER_KEY);
+        RehearsalSession rehearsal = (RehearsalSession) session.getAttributes().remove(SESSION_KEY);
+        if (rehearsal != null) {
+            rehearsal.close(); // 대기 중인 윈도우는 전사하지 않음
+            activeSessions.decrementAndGet();
+            log.info("■ Rehearsal closed: session={}, status={}", session.getId(), status);
+        }
+    }
+
+    private static RehearsalSession rehearsalOf(WebSocketSession session) {
+        return (RehearsalSession) session.getAttributes().get(SESSION_KEY);
+    }
+
+    private static String principalName(WebSocketSession session) {
+        return session.getPrincipal() != null ? session.getPrincipal().getName() : "anonymous";
+    }
+
+    // 분석 결과 → JSON 텍스트 메시지. 클라이언트가 이미 끊었으면 전송 실패는 무시
+    private class Listener implements RehearsalSession.Listener {
+        private final WebSocketSession session;
+
+        Listener(WebSocketSession session) {
+            this.session = session;
+        }
+
+        @Override
+        public void onWindow(int index, WindowDto window, AnalyseSummaryDto rolling) {
+            send(Map.of("type", "window", "index", index, "window", window, "rolling", rolling));
+        }
+
+        @Override
+        public void onSkipped(AudioWindow window) {
+            log.warn("    • Rehearsal window skipped (session={}): {}", session.getId(), window);
+            send(Map.of("type", "skipped", "index", window.getIndex(),
+                    "startSec", window.getStartSec(), "endSec", window.getEndSec()));
+        }
+
+        @Override
+        public void onError(int index, Throwable error) {
+            log.error("❌ rehearsal window {} failed (session={})", index, session.getId(), error);
+            send(Map.of("type", "error", "index", index, "message", String.valueOf(error.getMessage())));
+        }
+
+        void send(Map<String, Object> payload) {
+            if (!session.isOpen()) {
+                return;
+            }
+            try {
+                session.sendMessage(new TextMessage(objectMapper.writeValueAsString(payload)));
+            } catch (IOException | IllegalStateException | SessionLimitExceededException e) {
+                log.debug("리허설 전송 실패 (클라이언트 연결 종료/전송 지연): {}", e.getMessage());
+            }
+        }
+
+        void close(CloseStatus status) {
+            try {
+                session.close(status);
+            } catch (IOException e) {
+                log.debug("리허설 세션 종료 실패: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -24,6 +24,10 @@ public class CueCard {
     @Column(name = "content", columnDefinition = "TEXT")
     private String content;
 
+    // 큐카드를 만든 슬라이드 텍스트의 해시 (같으면 재생성 없이 재사용, 생성 실패 카드는 null)
+    @Column(name = "source_hash", length = 64)
+    private String sourceHash;
+
     @Column(name = "mode")
     private String mode;
 
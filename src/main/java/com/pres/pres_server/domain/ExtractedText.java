@@ -40,6 +40,10 @@ public class ExtractedText {
     @Column(name = "insufficient_message", columnDefinition = "TEXT")
     private String insufficientMessage;
 
+    // 슬라이드별 텍스트 SHA-256 (slideTexts 순서, 쉼표 구분) - 재업로드 시 바뀐 슬라이드만 다시 처리
+    @Column(name = "slide_hashes", columnDefinition = "TEXT")
+    private String slideHashes;
+
     // 추출 시점
     @Column(name = "extracted_at")
     private LocalDateTime extractedAt;
@@ -0,0 +1,46 @@
+package com.pres.pres_server.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+// 연습 세션의 분석 윈도우 한 개 (PracticeSessionService 가 JDBC batch insert 로 저장)
+@Entity
+@Table(name = "practice_window", uniqueConstraints = @UniqueConstraint(columnNames = { "session_id", "window_index" }))
+@Getter
+@Setter
+public class PracticeWindow {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "window_id")
+    private Long windowId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "session_id", nullable = false)
+    private PracticeSession practiceSession;
+
+    @Column(name = "window_index", nullable = false)
+    private int windowIndex;
+
+    @Column(name = "start_ms", nullable = false)
+    private int startMs;
+
+    @Column(name = "end_ms", nullable = false)
+    private int endMs;
+
+    @Column(name = "transcript", columnDefinition = "TEXT")
+    private String transcript;
+
+    @Column(name = "spm")
+    private int spm;
+
+    @Column(name = "spm_score")
+    private int spmScore;
+
+    @Column(name = "filler_count")
+    private int fillerCount;
+
+    // WindowDto 전체 JSON (추임새 맵, 쉼, 억양, 단어 타임스탬프)
+    @Column(name = "detail", columnDefinition = "MEDIUMTEXT")
+    private String detail;
+}
@@ -0,0 +1,26 @@
+package com.pres.pres_server.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AnalyseJobDto {
+    private String jobId;
+    private String status; // QUEUED, RUNNING, DONE, FAILED
+    private int totalWindows;
+    private int completedWindows;
+    private AnalyseSummaryDto summary; // DONE 이후에만 존재
+    private String error; // FAILED 인 경우 사유
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // 결과 조회 시에만 채워짐 (완료된 윈도우, 윈도우 순서)
+    private List<WindowDto> windows;
+}
@@ -0,0 +1,25 @@
+package com.pres.pres_server.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyseSummaryDto {
+    private int windowCount;
+    private double totalSec;
+    private int avgSpm; // 전체 구간 기준 SPM (음절 합 / 전체 길이)
+    private int avgSpmScore; // 윈도우 spmScore 평균
+    private Map<String, Integer> fillers; // 전체 추임새 카운트 합계
+    private double skippedSilenceSec; // VAD로 분석에서 제외한 무음 길이 (전사/점수 계산 대상 아님)
+    private TimelineDto timeline; // 슬라이딩 윈도우 SPM / 추임새 빈도 (analyse.timeline)
+    private int repeatScore; // 반복 구절 점수 0~100 (Feedback.repeatScore)
+    private List<RepeatedPhraseDto> repeatedPhrases; // 가장 많이 반복된 구절 (analyse.repetition)
+    private PauseStatsDto pauses; // 세션 전체 쉼 통계 (윈도우 경계와 VAD로 생략된 무음 포함)
+    private int[] fillerTimesMs; // 추임새 단어 시작 시각 (단어 타임스탬프가 있을 때만)
+}
@@ -18,6 +18,9 @@ public class ExtractedTextDto {
     private List<Integer> insufficientSlides;
     private String insufficientMessage;
 
+    // 직전 버전(같은 파일의 이전 추출, 없으면 같은 프로젝트의 직전 업로드) 대비 추가/변경된 슬라이드. 직전 버전이 없으면 null
+    private List<Integer> changedSlides;
+
     // 기존 생성자와의 호환성을 위한 생성자
     public ExtractedTextDto(String fullText, List<String> slideTexts) {
         this.fullText = fullText;
@@ -0,0 +1,16 @@
+package com.pres.pres_server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackDto {
+    private int spmScore; // 윈도우 spmScore 평균
+    private int fillerScore; // 분당 추임새 수 기준 (analyse.feedback.filler-penalty-per-min)
+    private int repeatScore; // 반복 구절 점수
+    private int totalScore; // 가중 평균 (analyse.feedback.*-weight)
+    private String grade; // A(90+) B(80+) C(70+) D(60+) F
+}
@@ -0,0 +1,16 @@
+package com.pres.pres_server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PauseStatsDto {
+    private int count; // 발화 사이 쉼(analyse.vad.min-pause-ms 이상 무음) 개수
+    private double totalSec; // 쉼 길이 합계
+    private double longestSec; // 가장 긴 쉼
+    private double leadingSec; // 첫 발화 전 무음 (쉼 개수에는 포함하지 않음)
+    private double trailingSec; // 마지막 발화 후 무음 (쉼 개수에는 포함하지 않음)
+}
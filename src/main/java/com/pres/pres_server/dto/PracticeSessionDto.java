@@ -0,0 +1,24 @@
+package com.pres.pres_server.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PracticeSessionDto {
+    private Long sessionId;
+    private Long projectId;
+    private LocalDateTime practicedAt;
+    private double durationSec;
+    private FeedbackDto feedback;
+
+    // 단건 조회 시에만 채워짐 (저장된 윈도우로 다시 계산한 요약, 윈도우 순서)
+    private AnalyseSummaryDto summary;
+    private List<WindowDto> windows;
+}
@@ -0,0 +1,18 @@
+package com.pres.pres_server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProsodyDto {
+    private double voicedSec; // 음량 기준 발화 길이
+    private double medianPitchHz; // 음높이 중앙값
+    private double pitchStdSt; // 음높이 표준편차 (반음)
+    private double pitchRangeSt; // 음높이 p10~p90 범위 (반음)
+    private double loudnessStdDb; // 발화 프레임 음량 표준편차 (dB)
+    private int pitchScore; // 억양 변화 점수 0~100 (낮을수록 단조로움)
+    private int loudnessScore; // 음량 변화 점수 0~100
+}
@@ -0,0 +1,14 @@
+package com.pres.pres_server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepeatedPhraseDto {
+    private String phrase;
+    private int count;
+    private double[] offsetsSec; // 등장 위치(초, 윈도우 안 글자 위치로 추정), 최대 analyse.repetition.max-offsets 개
+}
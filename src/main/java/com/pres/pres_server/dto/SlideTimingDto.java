@@ -0,0 +1,18 @@
+package com.pres.pres_server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlideTimingDto {
+    private int slide; // 슬라이드 번호 (1부터)
+    private Double startSec; // 이 슬라이드에 맞춰진 첫 발화 구간 시작 (건너뛴 슬라이드는 null)
+    private Double endSec;
+    private double durationSec;
+    private int spm; // 슬라이드 구간 분당 음절 수
+    private int fillerCount;
+    private double confidence; // 맞춰진 구간들의 평균 텍스트 유사도 (0~1, 낮으면 정렬이 불확실)
+}
@@ -0,0 +1,22 @@
+package com.pres.pres_server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 슬라이딩 윈도우 말하기 속도 타임라인: k번째 값은 [k * strideSec, k * strideSec + windowSec) 구간
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimelineDto {
+    private double windowSec;
+    private double strideSec;
+    private int[] spm; // 0 = 발화가 거의 없는 구간 (통계 제외)
+    private double[] fillersPerMin; // 발화 1분당 추임새 수
+    private int minSpm;
+    private int maxSpm;
+    private int p10Spm;
+    private int p50Spm;
+    private int p90Spm;
+    private double maxFillersPerMin;
+}
@@ -3,8 +3,10 @@ package com.pres.pres_server.dto;
 import java.util.Map;
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor // JSON 역직렬화용 (분석 job 결과 조회)
 public class WindowDto {
     private double startSec;
     private double endSec;
@@ -12,6 +14,11 @@ public class WindowDto {
     private Map<String, Integer> fillers; // 추임새 카운트 맵
     private int spm;
     private int spmScore;
+    private PauseStatsDto pauses; // 윈도우 PCM에서 구한 쉼 통계 (16bit mono가 아니면 null)
+    private ProsodyDto prosody; // 억양/음량 변화 (analyse.prosody, 발화가 너무 적으면 null)
+    private String[] words; // 단어 타임스탬프 (analyse.transcription.word-timestamps, 엔진이 주지 않으면 null)
+    private int[] wordStartMs; // 녹음 시작 기준 ms
+    private int[] wordEndMs;
 
     public WindowDto(
             double startSec,
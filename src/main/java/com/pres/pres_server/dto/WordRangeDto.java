@@ -0,0 +1,16 @@
+package com.pres.pres_server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WordRangeDto {
+    private double fromSec;
+    private double toSec;
+    private int wordCount; // 구간에서 시작하는 단어 수
+    private int fillerCount;
+    private int[] fillerTimesMs; // 구간 안 추임새 시작 시각
+}
@@ -0,0 +1,18 @@
+package com.pres.pres_server.exception;
+
+// 분석 동시 실행 한도/대기열 초과 → 429 Too Many Requests + Retry-After
+public class AnalyseBusyException extends RuntimeException {
+    // 작업 큐가 가득 차 거부된 경우처럼 대기 시간을 추정할 수 없을 때의 Retry-After
+    public static final long DEFAULT_RETRY_AFTER_SEC = 30;
+
+    private final long retryAfterSec;
+
+    public AnalyseBusyException(String message, long retryAfterSec) {
+        super(message);
+        this.retryAfterSec = retryAfterSec;
+    }
+
+    public long getRetryAfterSec() {
+        return retryAfterSec;
+    }
+}
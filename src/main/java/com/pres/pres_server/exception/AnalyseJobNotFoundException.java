@@ -0,0 +1,8 @@
+package com.pres.pres_server.exception;
+
+// 없는(또는 보관 기간이 지난) 분석 job 조회 → 404 Not Found
+public class AnalyseJobNotFoundException extends RuntimeException {
+    public AnalyseJobNotFoundException(String jobId) {
+        super("분석 job을 찾을 수 없습니다: " + jobId);
+    }
+}
@@ -1,10 +1,12 @@
 package com.pres.pres_server.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -52,6 +54,13 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "인증이 필요합니다."));
     }
 
+    // 권한 없는 리소스 접근 → 403 (아래 Exception 핸들러가 500 으로 바꾸지 않도록)
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<?> handleAccessDenied(AccessDeniedException ex) {
+        log.warn("접근 거부: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", ex.getMessage()));
+    }
+
     // OAuth2 인증 예외 처리
     @ExceptionHandler(OAuth2AuthenticationException.class)
     public ResponseEntity<?> handleOAuth2AuthenticationException(OAuth2AuthenticationException ex) {
@@ -66,6 +75,20 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(Map.of("error", "잘못된 JSON 형식입니다."));
     }
 
+    // 분석 요청 과부하 → 429 + Retry-After
+    @ExceptionHandler(AnalyseBusyException.class)
+    public ResponseEntity<?> handleAnalyseBusy(AnalyseBusyException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSec()))
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    // 없거나 만료된 분석 job → 404
+    @ExceptionHandler(AnalyseJobNotFoundException.class)
+    public ResponseEntity<?> handleAnalyseJobNotFound(AnalyseJobNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", ex.getMessage()));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<?> handleException(Exception ex) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -0,0 +1,16 @@
+package com.pres.pres_server.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.pres.pres_server.domain.Feedback;
+
+public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
+
+    Optional<Feedback> findByPracticeSessionId_SessionId(Long sessionId);
+
+    // 여러 세션의 피드백을 한 번에 (목록 조회 N+1 방지)
+    List<Feedback> findByPracticeSessionId_SessionIdIn(List<Long> sessionIds);
+}
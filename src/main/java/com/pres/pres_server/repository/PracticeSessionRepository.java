@@ -0,0 +1,13 @@
+package com.pres.pres_server.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.pres.pres_server.domain.PracticeSession;
+
+public interface PracticeSessionRepository extends JpaRepository<PracticeSession, Long> {
+
+    // 프로젝트의 연습 기록 (최근 순)
+    List<PracticeSession> findByProjectId_ProjectIdOrderByPracticedAtDesc(Long projectId);
+}
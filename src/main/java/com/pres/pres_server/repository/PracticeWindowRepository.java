@@ -0,0 +1,13 @@
+package com.pres.pres_server.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.pres.pres_server.domain.PracticeWindow;
+
+public interface PracticeWindowRepository extends JpaRepository<PracticeWindow, Long> {
+
+    // 세션의 윈도우 (녹음 순서)
+    List<PracticeWindow> findByPracticeSession_SessionIdOrderByWindowIndex(Long sessionId);
+}
@@ -3,5 +3,11 @@ package com.pres.pres_server.repository;
 import com.pres.pres_server.domain.PresentationFile;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Optional;
+
 public interface PresentationFileRepository extends JpaRepository<PresentationFile, Long> {
+
+    // 같은 프로젝트에서 이 파일 직전에 올린 파일 (덱의 이전 버전)
+    Optional<PresentationFile> findFirstByProject_ProjectIdAndFileIdLessThanOrderByFileIdDesc(Long projectId,
+            Long fileId);
 }
@@ -12,4 +12,5 @@ public interface TeamMemberRepository extends JpaRepository<TeamMember, Long> {
     List<TeamMember> findByUser_Id(Long userId);
     List<TeamMember> findByWorkspace(WorkSpace workspace);
     List<TeamMember> findByWorkspace_WorkspaceId(Long workspaceId);
+    boolean existsByUser_IdAndWorkspace_WorkspaceId(Long userId, Long workspaceId);
 }
@@ -18,6 +18,11 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
     private final TokenProvider tokenProvider;
     private final static String HEADER_AUTHORIZATION = "Authorization";
     private final static String TOKEN_PREFIX = "Bearer ";
+    // 브라우저 WebSocket 은 Authorization 헤더를 못 보내므로 리허설 핸드셰이크만 예외로 다른 위치에서 토큰을 읽는다
+    private final static String WEBSOCKET_PATH = "/api/rehearsal";
+    private final static String HEADER_WEBSOCKET_PROTOCOL = "Sec-WebSocket-Protocol";
+    public final static String WEBSOCKET_TOKEN_PROTOCOL = "bearer"; // new WebSocket(url, ["bearer", token])
+    private final static String WEBSOCKET_TOKEN_PARAM = "access_token";
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -42,6 +47,9 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
         String authorizationHeader = request.getHeader(HEADER_AUTHORIZATION);
         // 가져온 값에서 접두사 제거
         String token = getAccessToken(authorizationHeader);
+        if (token == null && path.equals(WEBSOCKET_PATH)) {
+            token = getWebSocketToken(request);
+        }
         // 토큰 유효성 검사
         if (token != null && tokenProvider.validToken(token)) {
             Authentication authentication = tokenProvider.getAuthentication(token);
@@ -51,6 +59,21 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // 리허설 WebSocket 핸드셰이크: Sec-WebSocket-Protocol "bearer, <토큰>" 또는 ?access_token=<토큰>
+    private String getWebSocketToken(HttpServletRequest request) {
+        String protocols = request.getHeader(HEADER_WEBSOCKET_PROTOCOL);
+        if (protocols != null) {
+            String[] values = protocols.split(",");
+            for (int i = 0; i + 1 < values.length; i++) {
+                if (values[i].trim().equalsIgnoreCase(WEBSOCKET_TOKEN_PROTOCOL)) {
+                    return values[i + 1].trim();
+                }
+            }
+        }
+        String param = request.getParameter(WEBSOCKET_TOKEN_PARAM);
+        return param != null && !param.isBlank() ? param : null;
+    }
+
     private String getAccessToken(String authorizationHeader) {
         if (authorizationHeader != null && authorizationHeader.startsWith(TOKEN_PREFIX)) {
             return authorizationHeader.substring(TOKEN_PREFIX.length());
@@ -0,0 +1,208 @@
+package com.pres.pres_server.service.analyse;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import com.pres.pres_server.config.AnalyseProperties;
+import com.pres.pres_server.exception.AnalyseBusyException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 분석 요청 입장 제어: 전체 동시 실행 수를 max-concurrent 로 제한하고,
+ * 자리가 없으면 사용자별 FIFO 대기열에 넣어 사용자 간 round-robin 으로 자리를 넘겨준다.
+ * 한 사용자가 요청을 몰아 보내도 다른 사용자의 대기 순서는 밀리지 않는다.
+ *
+ * 대기열이 가득 찼거나 max-wait-sec 안에 자리가 나지 않으면 AnalyseBusyException(429) 을 던진다.
+ */
+@Slf4j
+@Component
+public class AnalyseAdmission {
+    private final AnalyseProperties.Admission config;
+    final ReentrantLock lock = new ReentrantLock(); // 패키지 공개: 테스트에서 자리 배정/인터럽트 경합 재현
+    private final Map<String, ArrayDeque<Ticket>> queues = new HashMap<>(); // 사용자 → 대기 요청
+    private final ArrayDeque<String> turn = new ArrayDeque<>(); // 대기 중인 사용자 순번 (round-robin)
+    private volatile int running; // 게이지에서 락 없이 읽음
+    private volatile int queued;
+    private double avgRunSec = 30.0; // 실행 시간 이동 평균 (Retry-After 추정용)
+
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    public AnalyseAdmission(AnalyseProperties properties, MeterRegistry meterRegistry) {
+        this.config = properties.getAdmission();
+        this.waitTimer = Timer.builder("analyse.admission.wait")
+                .description("분석 요청이 실행 자리를 얻기까지 기다린 시간")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("analyse.admission.rejected")
+                .description("대기열 초과/대기 시간 초과로 거부된 분석 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("analyse.admission.queued", this, a -> a.queued)
+                .description("실행 자리를 기다리는 분석 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("analyse.admission.running", this, a -> a.running)
+                .description("실행 중인 분석 요청 수")
+                .register(meterRegistry);
+    }
+
+    private static final class Ticket {
+        final Condition ready;
+        boolean granted;
+
+        Ticket(Condition ready) {
+            this.ready = ready;
+        }
+    }
+
+    /** 실행 자리. 분석이 끝나면(실패 포함) 반드시 close() 한다. */
+    public final class Permit implements AutoCloseable {
+        private final long startNanos = System.nanoTime();
+        private boolean closed;
+
+        private Permit() {
+        }
+
+        @Override
+        public void close() {
+            release(this);
+        }
+    }
+
+    /** 현재 요청 사용자로 자리를 얻는다. (요청 스레드에서 호출) */
+    public Permit acquire() throws InterruptedException {
+        return acquire(currentUser());
+    }
+
+    public Permit acquire(String user) throws InterruptedException {
+        if (!config.isEnabled()) {
+            return new Permit();
+        }
+        long begin = System.nanoTime();
+        lock.lock();
+        try {
+            if (running < config.getMaxConcurrent() && queued == 0) {
+                running++;
+                waitTimer.record(0, TimeUnit.NANOSECONDS);
+                return new Permit();
+            }
+
+            ArrayDeque<Ticket> queue = queues.get(user);
+            if (queued >= config.getMaxQueue()
+                    || (queue != null && queue.size() >= config.getMaxQueuePerUser())) {
+                throw busy("분석 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.");
+            }
+
+            Ticket ticket = new Ticket(lock.newCondition());
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                queues.put(user, queue);
+                turn.addLast(user);
+            }
+            queue.addLast(ticket);
+            queued++;
+
+            long remaining = TimeUnit.SECONDS.toNanos(config.getMaxWaitSec());
+            try {
+                while (!ticket.granted && remaining > 0) {
+                    remaining = ticket.ready.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                if (ticket.granted) {
+                    // 자리를 넘겨받은 뒤 락을 다시 잡는 사이 인터럽트: Permit 을 돌려주지 못하므로 자리를 반납
+                    running--;
+                    dispatch();
+                } else {
+                    remove(user, ticket);
+                }
+                throw e;
+            }
+            if (!ticket.granted) {
+                remove(user, ticket); // 시간 초과
+                throw busy("분석 대기 시간이 초과되었습니다. 잠시 후 다시 시도해주세요.");
+            }
+            waitTimer.record(System.nanoTime() - begin, TimeUnit.NANOSECONDS);
+            return new Permit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(Permit permit) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (permit.closed) {
+                return;
+            }
+            permit.closed = true;
+            double sec = (System.nanoTime() - permit.startNanos) / 1e9;
+            avgRunSec = avgRunSec * 0.8 + sec * 0.2;
+            running--;
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 빈 자리를 사용자 순번대로 한 요청씩 넘겨준다.
+    private void dispatch() {
+        while (running < config.getMaxConcurrent() && !turn.isEmpty()) {
+            String user = turn.pollFirst();
+            ArrayDeque<Ticket> queue = queues.get(user);
+            Ticket ticket = queue.pollFirst();
+            if (queue.isEmpty()) {
+                queues.remove(user);
+            } else {
+                turn.addLast(user);
+            }
+            queued--;
+            running++;
+            ticket.granted = true;
+            ticket.ready.signal();
+        }
+    }
+
+    private void remove(String user, Ticket ticket) {
+        ArrayDeque<Ticket> queue = queues.get(user);
+        if (queue != null && queue.remove(ticket)) {
+            queued--;
+            if (queue.isEmpty()) {
+                queues.remove(user);
+                turn.remove(user);
+            }
+        }
+    }
+
+    // 앞선 대기 요청이 모두 빠지는 데 걸릴 시간 추정
+    private AnalyseBusyException busy(String message) {
+        rejected.increment();
+        long retryAfter = Math.round(avgRunSec * (queued / (double) config.getMaxConcurrent() + 1));
+        retryAfter = Math.max(1, Math.min(retryAfter, config.getMaxRetryAfterSec()));
+        log.warn("분석 요청 거부 (running={}, queued={}, retryAfter={}s)", running, queued, retryAfter);
+        return new AnalyseBusyException(message, retryAfter);
+    }
+
+    private static String currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth instanceof AnonymousAuthenticationToken) {
+            return "anonymous";
+        }
+        return auth.getName();
+    }
+}
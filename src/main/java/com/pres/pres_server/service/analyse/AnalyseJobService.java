@@ -0,0 +1,185 @@
+package com.pres.pres_server.service.analyse;
+
+import java.io.File;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.pres.pres_server.config.AnalyseProperties;
+import com.pres.pres_server.dto.AnalyseJobDto;
+import com.pres.pres_server.dto.AnalyseSummaryDto;
+import com.pres.pres_server.dto.WindowDto;
+import com.pres.pres_server.exception.AnalyseBusyException;
+import com.pres.pres_server.exception.AnalyseJobNotFoundException;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 비동기 분석 job: 제출 즉시 jobId를 반환하고, analyseJobExecutor 워커가
+ * ffmpeg 변환 → 윈도우 분석(analyseUpload)을 수행하면서 진행 상황과 부분 결과를 Redis에 기록한다.
+ *
+ * 대기/실행 중인 작업은 이 서버의 메모리(analyseJobExecutor)에만 있으므로, 맡은 job 마다
+ * 짧은 TTL 의 lease 를 주기적으로 갱신한다. 서버가 재시작/중단되어 lease 가 만료된 QUEUED/RUNNING job 은
+ * 조회 시 FAILED 로 바꿔 클라이언트가 끝없이 폴링하지 않게 한다.
+ */
+@Slf4j
+@Service
+public class AnalyseJobService {
+    public static final String QUEUED = "QUEUED";
+    public static final String RUNNING = "RUNNING";
+    public static final String DONE = "DONE";
+    public static final String FAILED = "FAILED";
+
+    private final AnalyseService analyseService;
+    private final AnalyseJobStore jobStore;
+    private final Executor jobExecutor;
+    private final Duration leaseTtl;
+    // 이 서버가 맡은 (아직 끝나지 않은) job id
+    private final Map<String, Boolean> inFlight = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService heartbeat;
+
+    public AnalyseJobService(
+            AnalyseService analyseService,
+            AnalyseJobStore jobStore,
+            @Qualifier("analyseJobExecutor") Executor jobExecutor,
+            AnalyseProperties properties) {
+        this.analyseService = analyseService;
+        this.jobStore = jobStore;
+        this.jobExecutor = jobExecutor;
+        long heartbeatSec = properties.getJobHeartbeatSec();
+        this.leaseTtl = Duration.ofSeconds(heartbeatSec * 4);
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "analyse-job-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+        heartbeat.scheduleAtFixedRate(this::renewLeases, heartbeatSec, heartbeatSec, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeat.shutdownNow();
+    }
+
+    // 업로드만 임시 저장하고 바로 반환 (변환/분석은 워커에서)
+    public AnalyseJobDto submit(MultipartFile audioFile) throws Exception {
+        File input = analyseService.saveUpload(audioFile);
+
+        AnalyseJobDto job = new AnalyseJobDto();
+        job.setJobId(UUID.randomUUID().toString());
+        job.setStatus(QUEUED);
+        job.setCreatedAt(LocalDateTime.now());
+        job.setUpdatedAt(job.getCreatedAt());
+        inFlight.put(job.getJobId(), Boolean.TRUE);
+        jobStore.saveLease(job.getJobId(), leaseTtl); // 상태보다 먼저 (조회 시 lease 없는 QUEUED 로 보이지 않도록)
+        jobStore.saveStatus(job);
+
+        try {
+            jobExecutor.execute(() -> run(job, input));
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(job.getJobId());
+            input.delete();
+            updateStatus(job, FAILED, "분석 대기열이 가득 찼습니다.");
+            throw new AnalyseBusyException("분석 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.",
+                    AnalyseBusyException.DEFAULT_RETRY_AFTER_SEC);
+        }
+
+        log.info("분석 job {} 제출 완료 ({})", job.getJobId(), audioFile.getOriginalFilename());
+        return job;
+    }
+
+    // 진행 상태 조회 (윈도우 결과 제외). 없거나 만료된 job 은 404
+    public AnalyseJobDto getStatus(String jobId) {
+        AnalyseJobDto job = jobStore.findStatus(jobId)
+                .orElseThrow(() -> new AnalyseJobNotFoundException(jobId));
+        // 완료 시 lease 는 지우지 않고 만료되게 두므로, lease 가 없으면 맡은 서버가 생존 신호 없이 사라진 것
+        if ((QUEUED.equals(job.getStatus()) || RUNNING.equals(job.getStatus())) && !jobStore.hasLease(jobId)) {
+            log.warn("분석 job {} 의 생존 신호가 끊겨 FAILED 로 표시 (상태 {})", jobId, job.getStatus());
+            updateStatus(job, FAILED, "분석 서버가 중단되어 작업이 끝나지 못했습니다. 다시 제출해주세요.");
+        }
+        return job;
+    }
+
+    // 상태 + 지금까지 완료된 윈도우 결과 조회 (진행 중이면 부분 결과)
+    public AnalyseJobDto getResult(String jobId) {
+        AnalyseJobDto job = getStatus(jobId);
+        job.setWindows(jobStore.findWindows(jobId));
+        return job;
+    }
+
+    private void run(AnalyseJobDto job, File input) {
+        try {
+            updateStatus(job, RUNNING, null);
+
+            AnalyseSummaryDto summary = analyseService.analyseUpload(input, new AnalyseService.WindowListener() {
+                @Override
+                public void onStart(int totalWindows) {
+                    synchronized (job) {
+                        job.setTotalWindows(totalWindows);
+                        touch(job);
+                    }
+                }
+
+                @Override
+                public void onWindow(int index, WindowDto window) {
+                    jobStore.saveWindow(job.getJobId(), index, window);
+                    synchronized (job) {
+                        job.setCompletedWindows(job.getCompletedWindows() + 1);
+                        touch(job);
+                    }
+                }
+            }).join();
+
+            synchronized (job) {
+                job.setSummary(summary);
+                updateStatus(job, DONE, null);
+            }
+            log.info("✅ 분석 job {} 완료: {} windows", job.getJobId(), summary.getWindowCount());
+
+        } catch (Exception e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            log.error("❌ 분석 job {} 실패", job.getJobId(), cause);
+            synchronized (job) {
+                updateStatus(job, FAILED, String.valueOf(cause.getMessage()));
+            }
+        } finally {
+            inFlight.remove(job.getJobId());
+            input.delete(); // 분석 시작 전에 예외가 난 경우 대비
+        }
+    }
+
+    // 예외가 나가면 scheduleAtFixedRate 가 이후 실행을 멈추므로 job 단위로 잡는다
+    private void renewLeases() {
+        for (String jobId : inFlight.keySet()) {
+            try {
+                jobStore.saveLease(jobId, leaseTtl);
+            } catch (RuntimeException e) {
+                log.warn("분석 job {} lease 갱신 실패: {}", jobId, e.getMessage());
+            }
+        }
+    }
+
+    private void updateStatus(AnalyseJobDto job, String status, String error) {
+        job.setStatus(status);
+        job.setError(error);
+        touch(job);
+    }
+
+    private void touch(AnalyseJobDto job) {
+        job.setUpdatedAt(LocalDateTime.now());
+        jobStore.saveStatus(job);
+    }
+}
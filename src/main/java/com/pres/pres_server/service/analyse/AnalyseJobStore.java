@@ -0,0 +1,99 @@
+package com.pres.pres_server.service.analyse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pres.pres_server.config.AnalyseProperties;
+import com.pres.pres_server.dto.AnalyseJobDto;
+import com.pres.pres_server.dto.WindowDto;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 분석 job 상태와 부분 결과를 Redis에 보관한다.
+ * - analyse:job:{id} → 상태 JSON (windows 제외)
+ * - analyse:job:{id}:windows → hash(윈도우 index → WindowDto JSON), 윈도우마다 O(1) 추가
+ * - analyse:job:{id}:lease → 진행 중 job 을 맡은 서버의 생존 신호 (짧은 TTL, 서버가 죽으면 만료)
+ */
+@Component
+@RequiredArgsConstructor
+public class AnalyseJobStore {
+    private static final String KEY_PREFIX = "analyse:job:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final AnalyseProperties properties;
+
+    public void saveStatus(AnalyseJobDto job) {
+        redisTemplate.opsForValue().set(statusKey(job.getJobId()), toJson(job), ttl());
+    }
+
+    public Optional<AnalyseJobDto> findStatus(String jobId) {
+        String json = redisTemplate.opsForValue().get(statusKey(jobId));
+        return Optional.ofNullable(json).map(j -> fromJson(j, AnalyseJobDto.class));
+    }
+
+    public void saveLease(String jobId, Duration ttl) {
+        redisTemplate.opsForValue().set(leaseKey(jobId), "1", ttl);
+    }
+
+    public boolean hasLease(String jobId) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(leaseKey(jobId)));
+    }
+
+    public void saveWindow(String jobId, int index, WindowDto window) {
+        String key = windowsKey(jobId);
+        redisTemplate.opsForHash().put(key, String.valueOf(index), toJson(window));
+        redisTemplate.expire(key, ttl());
+    }
+
+    // 저장된 윈도우를 index 순서대로 반환
+    public List<WindowDto> findWindows(String jobId) {
+        Map<Object, Object> entries = redisTemplate.opsForHash().entries(windowsKey(jobId));
+        TreeMap<Integer, WindowDto> ordered = new TreeMap<>();
+        entries.forEach((index, json) -> ordered.put(
+                Integer.parseInt((String) index), fromJson((String) json, WindowDto.class)));
+        return new ArrayList<>(ordered.values());
+    }
+
+    private Duration ttl() {
+        return Duration.ofHours(properties.getJobTtlHours());
+    }
+
+    private String statusKey(String jobId) {
+        return KEY_PREFIX + jobId;
+    }
+
+    private String windowsKey(String jobId) {
+        return KEY_PREFIX + jobId + ":windows";
+    }
+
+    private String leaseKey(String jobId) {
+        return KEY_PREFIX + jobId + ":lease";
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("분석 job 직렬화 실패: " + e.getMessage(), e);
+        }
+    }
+
+    private <T> T fromJson(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("분석 job 역직렬화 실패: " + e.getMessage(), e);
+        }
+    }
+}
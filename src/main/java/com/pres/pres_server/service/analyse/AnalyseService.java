@@ -0,0 +1,518 @@
+package com.pres.pres_server.service.analyse;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.pres.pres_server.config.AnalyseProperties;
+import com.pres.pres_server.dto.AnalyseSummaryDto;
+import com.pres.pres_server.dto.WindowDto;
+import com.pres.pres_server.exception.AnalyseBusyException;
+import com.pres.pres_server.service.transcription.FlacEncoder;
+import com.pres.pres_server.service.transcription.Transcript;
+import com.pres.pres_server.service.transcription.TranscriptionEngine;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class AnalyseService {
+    private final TranscriptionEngine transcriptionEngine;
+    private final FillerService filler;
+    private final SpeechSpeedService speedService;
+    private final TranscriptCache transcriptCache;
+    private final AudioTranscoder transcoder;
+    private final AnalyseProperties properties;
+    private final Executor analyseExecutor;
+    private final Executor streamExecutor;
+    private final VoiceActivityDetector vad;
+    private final ThreadLocal<ProsodyAnalyser> prosody; // 스크래치 버퍼 재사용 (워커 스레드마다 하나)
+    private final Timer flacEncodeTimer;
+    private final DistributionSummary wavUploadBytes;
+    private final DistributionSummary flacUploadBytes;
+
+    public AnalyseService(
+            TranscriptionEngine transcriptionEngine,
+            FillerService filler,
+            SpeechSpeedService speedService,
+            TranscriptCache transcriptCache,
+            AudioTranscoder transcoder,
+            AnalyseProperties properties,
+            @Qualifier("analyseExecutor") Executor analyseExecutor,
+            @Qualifier("analyseStreamExecutor") Executor streamExecutor,
+            MeterRegistry meterRegistry) {
+        this.transcriptionEngine = transcriptionEngine;
+        this.filler = filler;
+        this.speedService = speedService;
+        this.transcriptCache = transcriptCache;
+        this.transcoder = transcoder;
+        this.properties = properties;
+        this.analyseExecutor = analyseExecutor;
+        this.streamExecutor = streamExecutor;
+        this.flacEncodeTimer = Timer.builder("analyse.upload.encode")
+                .description("윈도우 FLAC 인코딩 시간")
+                .tag("format", "flac")
+                .register(meterRegistry);
+        this.wavUploadBytes = uploadBytes(meterRegistry, "wav");
+        this.flacUploadBytes = uploadBytes(meterRegistry, "flac");
+
+        AnalyseProperties.Vad v = properties.getVad();
+        this.vad = new VoiceActivityDetector(v.getFrameMs(), v.getThresholdRatio(), v.getMinRms(),
+                v.getMinPauseMs(), v.getPaddingMs(), v.getLongSilenceSec(), v.getMaxShiftSec());
+
+        AnalyseProperties.Prosody p = properties.getProsody();
+        this.prosody = p.isEnabled()
+                ? ThreadLocal.withInitial(() -> new ProsodyAnalyser(AudioTranscoder.TARGET_SAMPLE_RATE, p.getFrameMs(),
+                        p.getMinPitchHz(), p.getMaxPitchHz(), p.getYinThreshold(), p.getMinRms(), p.getMonotoneSt(),
+                        p.getExpressiveSt(), p.getFlatDb(), p.getExpressiveDb(), p.getMinVoicedFrames()))
+                : null;
+    }
+
+    /** 윈도우 하나의 분석이 끝날 때마다 호출된다. (워커 스레드에서 완료 순서대로 호출됨) */
+    @FunctionalInterface
+    public interface WindowListener {
+        void onWindow(int index, WindowDto window);
+
+        // 윈도우 개수가 정해진 직후, 첫 윈도우 제출 전에 한 번 호출된다.
+        // (스트리밍 모드에서 길이를 미리 알 수 없으면 마지막 윈도우를 읽은 뒤에 호출된다)
+        default void onStart(int totalWindows) {
+        }
+    }
+
+    /**
+     * 업로드된 음성을 16kHz mono WAV로 변환한 뒤 윈도우 단위로 나누어
+     * analyseExecutor에서 병렬로 분석한다. 결과는 윈도우 순서대로 반환된다.
+     */
+    public List<WindowDto> analyse(MultipartFile audioFile) throws Exception {
+        List<WindowDto> windows = Collections.synchronizedList(new ArrayList<>());
+        try {
+            analyseUpload(audioFile, (index, window) -> windows.add(window)).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof Exception ex ? ex : e;
+        }
+        windows.sort(Comparator.comparingDouble(WindowDto::getStartSec));
+
+        log.info("✅ analyse complete, returning {} windows", windows.size());
+        return windows;
+    }
+
+    /**
+     * 업로드를 바로 분석한다. MultipartFile은 요청이 끝나면 사라지므로 요청 스레드에서 호출해야 한다.
+     * - 기본 모드: 업로드 스트림을 ffmpeg stdin으로 흘려 WAV 파일 하나만 만든 뒤 analyseAsync()로 병렬 분석
+     * - 스트리밍 모드: 분석이 요청 이후에도 계속되므로 업로드를 저장한 뒤 analyseStreaming()
+     */
+    public CompletableFuture<AnalyseSummaryDto> analyseUpload(MultipartFile audioFile, WindowListener listener)
+            throws Exception {
+        log.info("▶ Received upload: originalName='{}', size={} bytes",
+                audioFile.getOriginalFilename(), audioFile.getSize());
+        if (properties.getStream().isEnabled()) {
+            return analyseStreaming(saveUpload(audioFile), listener);
+        }
+        return analyseWav(transcoder.toWav(audioFile), listener);
+    }
+
+    /**
+     * saveUpload()로 저장한 입력 파일을 분석한다. 입력 파일은 분석이 끝나면(실패 포함) 삭제된다.
+     * - 기본 모드: 호출 스레드에서 WAV 파일로 변환한 뒤 analyseAsync()로 윈도우를 병렬 분석
+     * - 스트리밍 모드(analyse.stream.enabled): ffmpeg 출력을 파이프로 받아 윈도우 단위로 바로 분석
+     *   (변환된 WAV 파일을 만들지 않고, 메모리에는 최대 buffered-windows 개의 윈도우만 유지)
+     */
+    public CompletableFuture<AnalyseSummaryDto> analyseUpload(File input, WindowListener listener) throws Exception {
+        if (properties.getStream().isEnabled()) {
+            return analyseStreaming(input, listener);
+        }
+
+        File wav;
+        try {
+            wav = transcoder.toWav(input);
+        } finally {
+            input.delete();
+        }
+        return analyseWav(wav, listener);
+    }
+
+    // 변환된 WAV 파일을 분석하고, 끝나면(실패 포함) 삭제
+    private CompletableFuture<AnalyseSummaryDto> analyseWav(File wav, WindowListener listener) throws Exception {
+        try {
+            return analyseAsync(wav, listener).whenComplete((summary, error) -> wav.delete());
+        } catch (Exception e) {
+            wav.delete();
+            throw e;
+        }
+    }
+
+    /**
+     * 업로드 파일을 임시 파일로 저장만 한다. (요청이 끝난 뒤에 분석하는 job / 스트리밍 모드용)
+     * MultipartFile은 요청이 끝나면 사라지므로 요청 스레드에서 호출하고, 반환된 파일은 analyseUpload()에 넘긴다.
+     */
+    public File saveUpload(MultipartFile audioFile) throws Exception {
+        String orig = audioFile.getOriginalFilename();
+        String ext = (orig != null && orig.contains("."))
+                ? orig.substring(orig.lastIndexOf("."))
+                : ".wav";
+        File tempInput = File.createTempFile("in_", ext);
+        try {
+            audioFile.transferTo(tempInput);
+        } catch (Exception e) {
+            tempInput.delete();
+            throw e;
+        }
+        log.info("  • Saved temp input: {}", tempInput.getAbsolutePath());
+        return tempInput;
+    }
+
+    /**
+     * 변환된 WAV를 윈도우로 나누어 executor에 제출하고, 각 윈도우가 끝나는 즉시 listener에 전달한다.
+     * 호출 스레드를 막지 않으며, 전체 윈도우가 끝나면 요약과 함께 완료되는 future를 반환한다.
+     * 윈도우 결과 목록은 보관하지 않는다. (WAV 파일 삭제는 호출자 책임)
+     */
+    public CompletableFuture<AnalyseSummaryDto> analyseAsync(File wav, WindowListener listener) throws Exception {
+        // 변환된 WAV를 한 번만 열고(mmap) 헤더에서 전체 길이(sec) 계산
+        WavWindowReader reader = WavWindowReader.open(wav);
+        try {
+            double totalSec = reader.getDurationSec();
+            log.info("  • Total audio duration: {} sec", String.format("%.2f", totalSec));
+
+            // 윈도우 분할 (VAD: 무음 제외 + 쉼 위치에서 분할) → 각 윈도우를 executor에 제출
+            List<AudioWindow> plan = planWindows(reader);
+            int numWins = plan.size();
+            listener.onStart(numWins);
+
+            AnalyseSummaryBuilder summary = newSummaryBuilder();
+            summary.setSkippedSilenceSec(totalSec - plan.stream().mapToDouble(AudioWindow::getDurationSec).sum());
+            List<CompletableFuture<WindowDto>> tasks = new ArrayList<>(numWins);
+            List<CompletableFuture<Void>> futures = new ArrayList<>(numWins);
+            for (AudioWindow window : plan) {
+                CompletableFuture<WindowDto> task = CompletableFuture
+                        .supplyAsync(() -> analyseWindowUnchecked(reader, window), analyseExecutor);
+                tasks.add(task);
+                futures.add(task.thenAccept(dto -> {
+                    summary.add(dto);
+                    listener.onWindow(window.getIndex(), dto);
+                }));
+            }
+
+            // 한 윈도우라도 실패하면 아직 시작하지 않은 윈도우는 취소 (불필요한 Whisper 호출 방지)
+            AtomicReference<Throwable> firstError = new AtomicReference<>();
+            futures.forEach(f -> f.whenComplete((ignored, error) -> {
+                if (error != null && firstError.compareAndSet(null, unwrap(error))) {
+                    tasks.forEach(t -> t.cancel(false));
+                }
+            }));
+
+            return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                    .handle((ignored, error) -> {
+                        closeQuietly(reader);
+                        if (firstError.get() != null) {
+                            throw new CompletionException(firstError.get());
+                        }
+                        if (error != null) {
+                            throw new CompletionException(unwrap(error));
+                        }
+                        return summary.build();
+                    });
+        } catch (Exception e) {
+            closeQuietly(reader);
+            throw e;
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private void closeQuietly(AutoCloseable resource) {
+        try {
+            resource.close();
+        } catch (Exception e) {
+            log.warn("{} close 실패: {}", resource.getClass().getSimpleName(), e.getMessage());
+        }
+    }
+
+    /**
+     * 스트리밍 분석: ffmpeg → stdout(WAV) → 윈도우 단위 읽기 → executor 제출을 하나의 파이프라인으로 처리한다.
+     * 읽기 루프는 analyseStreamExecutor에서 돌고, 아직 끝나지 않은 윈도우가 buffered-windows 개에 도달하면
+     * 다음 윈도우를 읽지 않고 기다린다. (ffmpeg도 파이프가 차면 멈추므로 메모리/디스크 사용량이 녹음 길이와 무관)
+     * 길이를 미리 알 수 없으므로 VAD 없이 고정 길이 윈도우로 나눈다.
+     */
+    public CompletableFuture<AnalyseSummaryDto> analyseStreaming(File input, WindowListener listener) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return streamWindows(input, listener);
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, streamExecutor);
+        } catch (RejectedExecutionException e) {
+            input.delete();
+            throw new AnalyseBusyException("분석 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.",
+                    AnalyseBusyException.DEFAULT_RETRY_AFTER_SEC);
+        }
+    }
+
+    private AnalyseSummaryDto streamWindows(File input, WindowListener listener) throws Exception {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        AtomicReference<Throwable> firstError = new AtomicReference<>();
+        // 16kHz mono WAV를 파일이 아닌 stdout으로 출력
+        try (AudioTranscoder.Pipe ffmpeg = transcoder.openWavPipe(input)) {
+            log.info("  • Streaming ffmpeg output: {}", input.getName());
+
+            AnalyseSummaryBuilder summary = newSummaryBuilder();
+            Semaphore inFlight = new Semaphore(properties.getStream().getBufferedWindows());
+            int index = 0;
+
+            try (WavStreamReader reader = WavStreamReader.open(ffmpeg.getOutput())) {
+                long windowFrames = Math.round(properties.getWindowSec() * reader.getSampleRate());
+                long totalFrames = reader.getTotalFrames();
+                boolean started = totalFrames >= 0;
+                if (started) {
+                    // 헤더에 길이가 있으면 바로 윈도우 개수 확정
+                    listener.onStart((int) ((totalFrames + windowFrames - 1) / windowFrames));
+                }
+
+                while (firstError.get() == null) {
+                    inFlight.acquire(); // 처리 중인 윈도우가 buffered-windows 개면 여기서 대기
+                    long startFrame = reader.getFramesRead();
+                    byte[] wav = reader.nextWindow(windowFrames);
+                    if (wav == null) {
+                        inFlight.release();
+                        break;
+                    }
+
+                    AudioWindow window = new AudioWindow(index++, startFrame, reader.getFramesRead(),
+                            reader.getSampleRate());
+                    futures.add(CompletableFuture
+                            .supplyAsync(() -> transcribeAndScoreUnchecked(window, wav), analyseExecutor)
+                            .thenAccept(dto -> {
+                                summary.add(dto);
+                                listener.onWindow(window.getIndex(), dto);
+                            })
+                            .whenComplete((ignored, error) -> {
+                                inFlight.release();
+                                if (error != null) {
+                                    firstError.compareAndSet(null, unwrap(error));
+                                }
+                            }));
+                }
+
+                if (!started) {
+                    listener.onStart(index);
+                }
+                log.info("  • Streamed {} sec of audio into {} windows",
+                        String.format("%.2f", reader.getSecondsRead()), index);
+            }
+
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).exceptionally(error -> null).join();
+            if (firstError.get() != null) {
+                throw firstError.get() instanceof Exception e ? e : new CompletionException(firstError.get());
+            }
+            ffmpeg.finish();
+            return summary.build();
+        } finally {
+            input.delete();
+        }
+    }
+
+    /** 설정(analyse.timeline, analyse.repetition)에 따라 타임라인/반복 구절을 포함하는 요약 누적기 */
+    public AnalyseSummaryBuilder newSummaryBuilder() {
+        return new AnalyseSummaryBuilder(properties);
+    }
+
+    /**
+     * 호출자가 이미 잘라 둔 윈도우 하나(44바이트 WAV 헤더 + PCM)를 analyseExecutor에서 전사/채점한다.
+     * (실시간 리허설처럼 윈도우가 도착하는 대로 하나씩 분석하는 경우)
+     *
+     * analyseExecutor 큐가 가득 차면 CallerRunsPolicy 대로 호출 스레드(WebSocket 컨테이너 스레드)에서 전사하지 않고
+     * RejectedExecutionException 으로 실패한 future 를 돌려준다. (호출 스레드가 막히면 세션의 다음 조각 수신이 멈춤)
+     * 실행 전에 future 가 취소되면(리허설 연결 종료) 전사하지 않는다.
+     */
+    public CompletableFuture<WindowDto> analyseWindowAsync(AudioWindow window, byte[] wav) {
+        CompletableFuture<WindowDto> future = new CompletableFuture<>();
+        Thread caller = Thread.currentThread();
+        try {
+            analyseExecutor.execute(() -> {
+                if (Thread.currentThread() == caller) {
+                    future.completeExceptionally(new RejectedExecutionException("분석 대기열이 가득 찼습니다."));
+                    return;
+                }
+                if (future.isDone()) {
+                    return; // 대기 중에 취소됨
+                }
+                try {
+                    future.complete(transcribeAndScoreUnchecked(window, wav));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e); // 종료 중
+        }
+        return future;
+    }
+
+    // VAD가 켜져 있으면 음성 구간 기준으로, 아니면 고정 길이로 윈도우를 나눈다.
+    private List<AudioWindow> planWindows(WavWindowReader reader) {
+        double windowSec = properties.getWindowSec();
+        if (properties.getVad().isEnabled() && reader.isPcm16()) {
+            VoiceActivityDetector.Result result = vad.detect(reader);
+            List<AudioWindow> plan = vad.planWindows(result, windowSec);
+            log.info("  • VAD: speech={} sec, silence={} sec, threshold={} → {} windows",
+                    String.format("%.1f", result.getSpeechSec()), String.format("%.1f", result.getSilenceSec()),
+                    String.format("%.0f", result.getThreshold()), plan.size());
+            return plan;
+        }
+
+        List<AudioWindow> plan = new ArrayList<>();
+        long totalFrames = reader.getTotalFrames();
+        long windowFrames = Math.round(windowSec * reader.getSampleRate());
+        for (long start = 0; start < totalFrames; start += windowFrames) {
+            plan.add(new AudioWindow(plan.size(), start, Math.min(totalFrames, start + windowFrames),
+                    reader.getSampleRate()));
+        }
+        log.info("  • Splitting into {} windows ({} sec each)", plan.size(), windowSec);
+        return plan;
+    }
+
+    private WindowDto analyseWindowUnchecked(WavWindowReader reader, AudioWindow window) {
+        try {
+            return analyseWindow(reader, window);
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    // 윈도우 하나: PCM 구간 잘라내기 → Whisper → filler 카운트 → spm 계산
+    private WindowDto analyseWindow(WavWindowReader reader, AudioWindow window) throws Exception {
+        // 헤더 + PCM 구간을 바로 업로드 바디로 사용 (ffmpeg 프로세스 / 임시 파일 없음)
+        return transcribeAndScore(window, reader.windowFrames(window.getStartFrame(), window.getEndFrame()));
+    }
+
+    private WindowDto transcribeAndScoreUnchecked(AudioWindow window, byte[] wav) {
+        try {
+            return transcribeAndScore(window, wav);
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private WindowDto transcribeAndScore(AudioWindow window, byte[] wav) throws Exception {
+        int i = window.getIndex();
+        double start = window.getStartSec();
+        double dur = window.getDurationSec();
+
+        // 같은 PCM을 이미 전사했다면 Whisper 호출 생략
+        String cacheKey = transcriptCache.keyOf(wav);
+        Transcript transcript = transcriptCache.get(cacheKey);
+        if (transcript != null) {
+            log.info("    • transcript cache hit for window {} ({})", i, cacheKey.substring(0, 12));
+        } else {
+            // 전사 엔진(Whisper 등) → text (+ 단어 타임스탬프) 얻기
+            log.info("    • calling {} for window {} ({} - {} sec)", transcriptionEngine.getModel(), i, start, start + dur);
+            transcript = transcribe(wav, i);
+            log.debug("    • transcription result (window {}): {}", i, transcript.getText());
+            transcriptCache.put(cacheKey, transcript);
+        }
+
+        WindowDto dto = scoreWindow(i, start, dur, transcript.getText());
+        if (transcript.hasWords()) {
+            setWords(dto, transcript, start);
+        }
+        // 전사에 보낸 같은 윈도우 버퍼로 쉼 통계 계산 (파일 재읽기 없음)
+        VoiceActivityDetector.Result activity = vad.detect(wav);
+        if (activity != null) {
+            dto.setPauses(activity.pauseStats());
+        }
+        if (prosody != null) {
+            dto.setProsody(prosody.get().analyse(wav));
+        }
+        return dto;
+    }
+
+    private static DistributionSummary uploadBytes(MeterRegistry meterRegistry, String format) {
+        return DistributionSummary.builder("analyse.upload.bytes")
+                .description("윈도우당 전사 업로드 크기")
+                .baseUnit("bytes")
+                .tag("format", format)
+                .register(meterRegistry);
+    }
+
+    // 설정에 따라 FLAC으로 압축해 업로드 (16bit가 아니면 WAV 그대로)
+    private Transcript transcribe(byte[] wav, int i) throws Exception {
+        byte[] body = wav;
+        String format = "wav";
+        DistributionSummary uploadBytes = wavUploadBytes;
+        if ("flac".equalsIgnoreCase(properties.getTranscription().getUploadFormat())) {
+            try {
+                long begin = System.nanoTime();
+                body = FlacEncoder.encode(wav);
+                flacEncodeTimer.record(System.nanoTime() - begin, TimeUnit.NANOSECONDS);
+                format = "flac";
+                uploadBytes = flacUploadBytes;
+                log.debug("    • FLAC encoded window {}: {} → {} bytes", i, wav.length, body.length);
+            } catch (IllegalArgumentException e) {
+                log.warn("    • FLAC 인코딩 불가, WAV로 업로드 (window {}): {}", i, e.getMessage());
+            }
+        }
+        uploadBytes.record(body.length);
+
+        return transcriptionEngine.transcribeWords(body, "win_" + i + "." + format);
+    }
+
+    // 윈도우 기준 단어 시각 → 녹음 전체 기준 ms (윈도우 길이를 넘는 값은 잘라냄)
+    private static void setWords(WindowDto dto, Transcript transcript, double startSec) {
+        int offsetMs = (int) Math.round(startSec * 1000);
+        int endMs = (int) Math.round(dto.getEndSec() * 1000);
+        int n = transcript.getWords().length;
+        int[] wordStart = new int[n];
+        int[] wordEnd = new int[n];
+        for (int k = 0; k < n; k++) {
+            wordStart[k] = Math.min(endMs, offsetMs + transcript.getStartMs()[k]);
+            wordEnd[k] = Math.min(endMs, Math.max(wordStart[k], offsetMs + transcript.getEndMs()[k]));
+        }
+        dto.setWords(transcript.getWords());
+        dto.setWordStartMs(wordStart);
+        dto.setWordEndMs(wordEnd);
+    }
+
+    // 전사 결과로 filler / SPM 점수를 계산해 DTO 생성
+    private WindowDto scoreWindow(int i, double start, double dur, String text) {
+        // Filler count
+        Map<String, Integer> counts = filler.countFillers(text);
+        log.info("    • Filler counts (window {}): {}", i, counts);
+
+        // “한글 음절” 개수 세기
+        int syllableCount = speedService.countKoreanSyllables(text);
+
+        // SPM 계산 (윈도우 길이를 사용)
+        int spm = speedService.calculateSpm(syllableCount, dur);
+        int spmScore = speedService.mapSpmToScore(spm);
+        log.info("    • Window {}: syllables={}, spm={}, spmScore={}", i, syllableCount, spm, spmScore);
+
+        return new WindowDto(
+                start,
+                start + dur,
+                text,
+                counts,
+                spm,
+                spmScore);
+    }
+}
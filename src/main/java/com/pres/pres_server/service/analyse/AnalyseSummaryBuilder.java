@@ -0,0 +1,239 @@
+package com.pres.pres_server.service.analyse;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.pres.pres_server.config.AnalyseProperties;
+import com.pres.pres_server.dto.AnalyseSummaryDto;
+import com.pres.pres_server.dto.PauseStatsDto;
+import com.pres.pres_server.dto.WindowDto;
+
+/**
+ * 윈도우 결과를 완료되는 순서대로 누적해 요약을 만든다.
+ * 전체 WindowDto 목록을 들고 있지 않아도 되도록 합계만 유지한다. (여러 워커 스레드에서 호출됨)
+ */
+public class AnalyseSummaryBuilder {
+    private int windowCount;
+    private double totalSec;
+    private double spokenSyllables;
+    private long spmScoreSum;
+    private final Map<String, Integer> fillers = new HashMap<>();
+    private double skippedSilenceSec;
+
+    // 슬라이딩 윈도우 SPM 타임라인 / 반복 구절 검출 (null이면 요약에 포함하지 않음)
+    private final SpeechTimeline timeline;
+    private final AnalyseProperties.Timeline timelineConfig;
+    private final RepetitionDetector repetition;
+    private final int topPhrases;
+
+    // 단어 타임스탬프 색인 (단어가 있는 윈도우만)
+    private final WordTimeline words;
+
+    // 쉼 통계: 윈도우 안쪽 쉼은 합계만, 경계를 잇는 무음은 윈도우별 앞뒤 무음을 기억했다가 build()에서 이어 붙인다
+    private final double minPauseSec;
+    private int pauseCount;
+    private double pauseTotalSec;
+    private double pauseLongestSec;
+    private int edgeCount;
+    private int pauseWindows; // 쉼 통계가 있는 윈도우 수
+    private double[] edgeStart = new double[16];
+    private double[] edgeEnd = new double[16];
+    private double[] edgeLeading = new double[16];
+    private double[] edgeTrailing = new double[16];
+
+    public AnalyseSummaryBuilder() {
+        this(null);
+    }
+
+    public AnalyseSummaryBuilder(AnalyseProperties properties) {
+        AnalyseProperties.Timeline t = properties != null ? properties.getTimeline() : null;
+        boolean timelineEnabled = t != null && t.isEnabled();
+        this.timelineConfig = timelineEnabled ? t : null;
+        this.timeline = timelineEnabled ? new SpeechTimeline(t.getSegmentSec()) : null;
+
+        AnalyseProperties.Repetition r = properties != null ? properties.getRepetition() : null;
+        boolean repetitionEnabled = r != null && r.isEnabled();
+        this.repetition = repetitionEnabled
+                ? new RepetitionDetector(r.getNgram(), r.getMaxOffsets(), properties.getFillers())
+                : null;
+        this.topPhrases = repetitionEnabled ? r.getTopPhrases() : 0;
+
+        this.words = new WordTimeline(properties != null ? properties.getFillers() : new AnalyseProperties().getFillers());
+
+        AnalyseProperties.Vad v = properties != null ? properties.getVad() : null;
+        this.minPauseSec = (v != null ? v.getMinPauseMs() : new AnalyseProperties.Vad().getMinPauseMs()) / 1000.0;
+    }
+
+    // VAD로 어느 윈도우에도 포함되지 않은 무음 길이 (윈도우 제출 전에 한 번 설정)
+    public synchronized void setSkippedSilenceSec(double skippedSilenceSec) {
+        this.skippedSilenceSec = Math.max(0, skippedSilenceSec);
+    }
+
+    public synchronized void add(WindowDto window) {
+        double dur = window.getEndSec() - window.getStartSec();
+        windowCount++;
+        totalSec += dur;
+        double syllables = window.getSpm() * dur / 60.0;
+        spokenSyllables += syllables;
+        spmScoreSum += window.getSpmScore();
+        int fillerCount = 0;
+        if (window.getFillers() != null) {
+            for (Map.Entry<String, Integer> e : window.getFillers().entrySet()) {
+                fillers.merge(e.getKey(), e.getValue(), Integer::sum);
+                fillerCount += e.getValue();
+            }
+        }
+        boolean hasWords = window.getWords() != null && window.getWords().length > 0;
+        if (hasWords) {
+            words.add(window.getWords(), window.getWordStartMs(), window.getWordEndMs());
+        }
+        if (timeline != null && hasWords) {
+            // 음절/추임새는 단어 위치에, 발화 시간은 윈도우 전체에
+            timeline.addSpan(window.getStartSec(), window.getEndSec(), 0, 0);
+            addWordsToTimeline(window);
+        } else if (timeline != null) {
+            timeline.addSpan(window.getStartSec(), window.getEndSec(), syllables, fillerCount);
+        }
+        if (repetition != null) {
+            repetition.add(window.getTranscript(), window.getStartSec(), window.getEndSec());
+        }
+        if (window.getPauses() != null) {
+            addPauses(window.getStartSec(), window.getEndSec(), window.getPauses());
+        }
+    }
+
+    private void addWordsToTimeline(WindowDto window) {
+        String[] w = window.getWords();
+        for (int k = 0; k < w.length; k++) {
+            double mid = (window.getWordStartMs()[k] + window.getWordEndMs()[k]) / 2000.0;
+            timeline.addAt(mid, koreanSyllables(w[k]), words.matchesFiller(w[k]) ? 1 : 0);
+        }
+    }
+
+    // SpeechSpeedService.countKoreanSyllables 와 같은 기준 (완성형 한글 음절)
+    private static int koreanSyllables(String word) {
+        int count = 0;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c >= 0xAC00 && c <= 0xD7A3) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // 분석하지 못하고 건너뛴 구간 (실시간 리허설). 이 구간을 사이에 둔 무음은 쉼으로 잇지 않는다.
+    public synchronized void addUnanalysed(double startSec, double endSec) {
+        addEdge(startSec, endSec, Double.NaN, Double.NaN);
+    }
+
+    private void addPauses(double start, double end, PauseStatsDto p) {
+        pauseCount += p.getCount();
+        pauseTotalSec += p.getTotalSec();
+        pauseLongestSec = Math.max(pauseLongestSec, p.getLongestSec());
+        pauseWindows++;
+        addEdge(start, end, p.getLeadingSec(), p.getTrailingSec());
+    }
+
+    private void addEdge(double start, double end, double leading, double trailing) {
+        if (edgeCount == edgeStart.length) {
+            int capacity = edgeCount * 2;
+            edgeStart = Arrays.copyOf(edgeStart, capacity);
+            edgeEnd = Arrays.copyOf(edgeEnd, capacity);
+            edgeLeading = Arrays.copyOf(edgeLeading, capacity);
+            edgeTrailing = Arrays.copyOf(edgeTrailing, capacity);
+        }
+        edgeStart[edgeCount] = start;
+        edgeEnd[edgeCount] = end;
+        edgeLeading[edgeCount] = leading;
+        edgeTrailing[edgeCount] = trailing;
+        edgeCount++;
+    }
+
+    /**
+     * 세션 전체 쉼 통계. 윈도우를 시작 시각 순으로 훑으며 "앞 윈도우 끝 무음 + 윈도우 사이 간격(VAD로 생략된 무음)
+     * + 다음 윈도우 앞 무음" 을 하나의 쉼으로 잇는다. 윈도우 안쪽 쉼은 add() 시점에 이미 합산돼 있다.
+     */
+    private PauseStatsDto sessionPauses() {
+        if (edgeCount == 0 || pauseWindows == 0) {
+            return null;
+        }
+        Integer[] order = new Integer[edgeCount];
+        for (int k = 0; k < edgeCount; k++) {
+            order[k] = k;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(edgeStart[a], edgeStart[b]));
+
+        int count = pauseCount;
+        double total = pauseTotalSec;
+        double longest = pauseLongestSec;
+        double leading = 0;
+        double run = edgeStart[order[0]]; // 첫 윈도우 이전 무음
+        double prevEnd = edgeStart[order[0]];
+        boolean spoken = false;
+        boolean broken = false; // 지금 무음 구간 중간에 건너뛴 구간이 있음
+        for (int k : order) {
+            double dur = edgeEnd[k] - edgeStart[k];
+            if (Double.isNaN(edgeLeading[k])) {
+                run = 0; // 내용을 모르는 구간: 앞뒤 무음을 잇지 않음
+                broken = true;
+                prevEnd = edgeEnd[k];
+                continue;
+            }
+            run += Math.max(0, edgeStart[k] - prevEnd) + edgeLeading[k];
+            prevEnd = edgeEnd[k];
+            if (edgeLeading[k] >= dur) {
+                continue; // 발화 없는 윈도우: 무음이 다음 윈도우로 이어짐
+            }
+            if (!spoken) {
+                leading = run;
+                spoken = true;
+            } else if (!broken && run >= minPauseSec) {
+                count++;
+                total += run;
+                longest = Math.max(longest, run);
+            }
+            run = edgeTrailing[k];
+            broken = false;
+        }
+        if (!spoken) {
+            leading = run;
+            run = 0;
+        }
+        return new PauseStatsDto(count, total, longest, leading, run);
+    }
+
+    /** 전체 요약 (타임라인, 반복 구절 포함) */
+    public synchronized AnalyseSummaryDto build() {
+        AnalyseSummaryDto summary = buildRolling();
+        if (timeline != null) {
+            summary.setTimeline(timeline.compute(timelineConfig.getWindowSec(), timelineConfig.getStrideSec(),
+                    timelineConfig.getMinSpokenRatio()));
+        }
+        if (repetition != null) {
+            summary.setRepeatedPhrases(repetition.topPhrases(topPhrases));
+        }
+        summary.setPauses(sessionPauses());
+        if (words.size() > 0) {
+            summary.setFillerTimesMs(words.fillerStartsMs());
+        }
+        return summary;
+    }
+
+    /**
+     * 합계만으로 만드는 중간 요약 (타임라인/반복 구절 목록 제외, 윈도우마다 호출해도 비용이 일정).
+     * 쉼 통계는 윈도우 안쪽 쉼만 담는다.
+     */
+    public synchronized AnalyseSummaryDto buildRolling() {
+        int avgSpm = totalSec > 0 ? (int) Math.round(spokenSyllables / totalSec * 60.0) : 0;
+        int avgSpmScore = windowCount > 0 ? (int) Math.round((double) spmScoreSum / windowCount) : 0;
+        int repeatScore = repetition != null ? repetition.score() : 100;
+        return new AnalyseSummaryDto(windowCount, totalSec, avgSpm, avgSpmScore, new HashMap<>(fillers),
+                skippedSilenceSec, null, repeatScore, null, rollingPauses(), null);
+    }
+
+    private PauseStatsDto rollingPauses() {
+        return pauseWindows > 0 ? new PauseStatsDto(pauseCount, pauseTotalSec, pauseLongestSec, 0, 0) : null;
+    }
+}
@@ -0,0 +1,245 @@
+package com.pres.pres_server.service.analyse;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.pres.pres_server.config.AnalyseProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ffmpeg로 업로드 음성을 16kHz mono 16bit PCM WAV로 변환한다.
+ *
+ * 업로드 스트림은 ffmpeg stdin으로 바로 흘려보내므로 원본을 임시 파일로 저장하지 않는다.
+ * 출력은 WAV 파일 하나(mmap 분석용) 또는 stdout 파이프(스트리밍 분석용)이다.
+ * 실패/타임아웃 시 프로세스를 종료하고 만들어 둔 임시 파일을 지운다.
+ *
+ * 입력이 이미 16kHz mono 16bit PCM WAV이면 RIFF 헤더만 확인하고 ffmpeg를 실행하지 않는다.
+ */
+@Slf4j
+@Component
+public class AudioTranscoder {
+    // moov atom이 파일 끝에 올 수 있는 MP4 계열은 파이프(non-seekable)로 디코딩할 수 없어 임시 파일로 받는다.
+    private static final Set<String> SEEKABLE_ONLY = Set.of(".m4a", ".mp4", ".mov", ".3gp", ".m4v");
+    static final int TARGET_SAMPLE_RATE = 16000;
+
+    private final AnalyseProperties properties;
+    private final Executor ioExecutor;
+
+    public AudioTranscoder(AnalyseProperties properties, @Qualifier("ffmpegIoExecutor") Executor ioExecutor) {
+        this.properties = properties;
+        this.ioExecutor = ioExecutor;
+    }
+
+    /** 업로드를 stdin 파이프로 변환해 WAV 임시 파일을 만든다. 반환된 파일은 호출자가 삭제한다. */
+    public File toWav(MultipartFile upload) throws Exception {
+        if (isTargetWav(upload.getInputStream())) {
+            // 변환 불필요: 업로드를 그대로 WAV 파일로 저장
+            File wav = File.createTempFile("wavout_", ".wav");
+            try {
+                upload.transferTo(wav);
+            } catch (Exception e) {
+                wav.delete();
+                throw e;
+            }
+            log.info("  • Upload is already 16kHz mono PCM, skipping ffmpeg: {}", wav.getName());
+            return wav;
+        }
+
+        String ext = extensionOf(upload.getOriginalFilename());
+        if (SEEKABLE_ONLY.contains(ext)) {
+            File input = File.createTempFile("in_", ext);
+            try {
+                upload.transferTo(input);
+                return toWav(input);
+            } finally {
+                input.delete();
+            }
+        }
+        return convert("pipe:0", upload::getInputStream);
+    }
+
+    /**
+     * 저장된 입력 파일을 WAV 임시 파일로 변환한다.
+     * 이미 16kHz mono PCM WAV이면 복사 없이 입력 파일을 WAV 임시 파일로 이동(rename)하므로
+     * 호출자는 이후 입력 파일이 없을 수 있음을 전제로 한다. (입력 파일 삭제는 호출자 책임)
+     */
+    public File toWav(File input) throws Exception {
+        if (isTargetWav(new FileInputStream(input))) {
+            File wav = File.createTempFile("wavout_", ".wav");
+            Files.move(input.toPath(), wav.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            log.info("  • Input is already 16kHz mono PCM, skipping ffmpeg: {}", wav.getName());
+            return wav;
+        }
+        return convert(input.getAbsolutePath(), null);
+    }
+
+    /** 입력 파일을 변환한 WAV를 stdout 파이프로 받는다. (스트리밍 분석용, 디스크 출력 없음) */
+    public Pipe openWavPipe(File input) throws IOException {
+        if (isTargetWav(new FileInputStream(input))) {
+            log.info("  • Input is already 16kHz mono PCM, streaming without ffmpeg: {}", input.getName());
+            return new Pipe(null, new FileInputStream(input), 0);
+        }
+        Process process = new ProcessBuilder(command(input.getAbsolutePath(), "-f", "wav", "pipe:1"))
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        return new Pipe(process, process.getInputStream(), properties.getFfmpegTimeoutSec());
+    }
+
+    @FunctionalInterface
+    private interface InputSource {
+        InputStream open() throws IOException;
+    }
+
+    private File convert(String inputArg, InputSource stdin) throws Exception {
+        File wav = File.createTempFile("wavout_", ".wav");
+        Process process = null;
+        boolean ok = false;
+        try {
+            process = new ProcessBuilder(command(inputArg, "-y", wav.getAbsolutePath()))
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            log.info("  • Running ffmpeg convert: {} → {}", inputArg, wav.getName());
+
+            CompletableFuture<Void> feeder;
+            if (stdin != null) {
+                feeder = feed(process, stdin);
+            } else {
+                process.getOutputStream().close();
+                feeder = CompletableFuture.completedFuture(null);
+            }
+
+            int exit = waitFor(process, properties.getFfmpegTimeoutSec());
+            if (exit != 0) {
+                throw new IOException("ffmpeg 변환 실패 (exit code " + exit + ")");
+            }
+            // ffmpeg가 정상 종료해도 업로드 읽기가 중간에 실패했다면 잘린 결과이므로 실패 처리
+            try {
+                feeder.join();
+            } catch (CompletionException e) {
+                throw new IOException("업로드 스트림 읽기 실패: " + e.getCause().getMessage(), e.getCause());
+            }
+
+            log.info("  • Converted to WAV: {} ({} bytes)", wav.getName(), wav.length());
+            ok = true;
+            return wav;
+        } finally {
+            if (process != null && process.isAlive()) {
+                process.destroyForcibly();
+            }
+            if (!ok) {
+                wav.delete();
+            }
+        }
+    }
+
+    // 업로드 스트림 → ffmpeg stdin 복사 (별도 스레드, ffmpeg가 stdout/파일 쓰기와 동시에 읽도록)
+    private CompletableFuture<Void> feed(Process process, InputSource source) {
+        return CompletableFuture.runAsync(() -> {
+            try (OutputStream stdin = process.getOutputStream(); InputStream in = source.open()) {
+                in.transferTo(stdin);
+            } catch (IOException e) {
+                if (process.isAlive()) {
+                    throw new CompletionException(e);
+                }
+                // ffmpeg가 먼저 종료해 파이프가 닫힌 경우 → 종료 코드로 판단
+                log.debug("ffmpeg stdin 닫힘: {}", e.getMessage());
+            }
+        }, ioExecutor);
+    }
+
+    // RIFF 헤더(fmt 청크)만 읽어 이미 분석 포맷(16kHz mono 16bit PCM)인지 확인. 스트림은 닫는다.
+    static boolean isTargetWav(InputStream in) {
+        try (WavStreamReader reader = WavStreamReader.open(in)) {
+            return reader.getSampleRate() == TARGET_SAMPLE_RATE
+                    && reader.getChannels() == 1
+                    && reader.getBitsPerSample() == 16;
+        } catch (IOException e) {
+            return false; // WAV가 아니거나 헤더가 깨짐 → ffmpeg에 맡김
+        }
+    }
+
+    private List<String> command(String input, String... output) {
+        List<String> cmd = new ArrayList<>(List.of(properties.getFfmpegPath(), "-hide_banner", "-loglevel", "error"));
+        if (!"pipe:0".equals(input)) {
+            cmd.add("-nostdin");
+        }
+        cmd.addAll(List.of("-i", input, "-vn", "-ar", String.valueOf(TARGET_SAMPLE_RATE), "-ac", "1", "-c:a", "pcm_s16le", "-map_metadata", "-1"));
+        cmd.addAll(List.of(output));
+        return cmd;
+    }
+
+    private static int waitFor(Process process, long timeoutSec) throws IOException, InterruptedException {
+        if (!process.waitFor(timeoutSec, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            throw new IOException("ffmpeg 변환 시간 초과 (" + timeoutSec + "초)");
+        }
+        return process.exitValue();
+    }
+
+    private static String extensionOf(String fileName) {
+        return fileName != null && fileName.contains(".")
+                ? fileName.substring(fileName.lastIndexOf('.')).toLowerCase(Locale.ROOT)
+                : "";
+    }
+
+    /**
+     * 분석 포맷 WAV 스트림 (ffmpeg stdout 또는 변환이 필요 없는 입력 파일).
+     * 다 읽은 뒤 finish()로 종료 코드를 확인하고, close()는 항상 호출한다.
+     */
+    public static class Pipe implements AutoCloseable {
+        private final Process process; // null: ffmpeg 없이 입력 파일을 그대로 읽음
+        private final InputStream output;
+        private final long timeoutSec;
+
+        private Pipe(Process process, InputStream output, long timeoutSec) {
+            this.process = process;
+            this.output = output;
+            this.timeoutSec = timeoutSec;
+        }
+
+        public InputStream getOutput() {
+            return output;
+        }
+
+        public void finish() throws IOException, InterruptedException {
+            if (process == null) {
+                return;
+            }
+            int exit = waitFor(process, timeoutSec);
+            if (exit != 0) {
+                throw new IOException("ffmpeg 변환 실패 (exit code " + exit + ")");
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                output.close();
+            } catch (IOException e) {
+                log.debug("WAV 스트림 close 실패: {}", e.getMessage());
+            }
+            if (process != null && process.isAlive()) {
+                process.destroyForcibly();
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.pres.pres_server.service.analyse;
+
+/**
+ * 분석 윈도우 하나: 샘플(frame) 인덱스 기준 [startFrame, endFrame) 구간.
+ */
+public class AudioWindow {
+    private final int index;
+    private final long startFrame;
+    private final long endFrame;
+    private final int sampleRate;
+
+    public AudioWindow(int index, long startFrame, long endFrame, int sampleRate) {
+        this.index = index;
+        this.startFrame = startFrame;
+        this.endFrame = endFrame;
+        this.sampleRate = sampleRate;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public long getStartFrame() {
+        return startFrame;
+    }
+
+    public long getEndFrame() {
+        return endFrame;
+    }
+
+    public double getStartSec() {
+        return (double) startFrame / sampleRate;
+    }
+
+    public double getEndSec() {
+        return (double) endFrame / sampleRate;
+    }
+
+    public double getDurationSec() {
+        return (double) (endFrame - startFrame) / sampleRate;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("#%d [%.2f - %.2f]", index, getStartSec(), getEndSec());
+    }
+}
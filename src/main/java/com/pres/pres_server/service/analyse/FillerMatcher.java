@@ -0,0 +1,288 @@
+package com.pres.pres_server.service.analyse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 추임새 사전을 미리 컴파일한 Aho-Corasick 오토마톤.
+ *
+ * 텍스트를 한 번만 훑으면서 정규화(문장부호/공백 → 단일 공백)와 매칭을 동시에 수행한다.
+ * 사전 단어는 앞뒤에 공백을 붙여(" 음 ") 등록하고, 입력 스트림도 앞뒤를 공백으로 감싸므로
+ * "앞뒤가 공백 혹은 문장 시작/끝" 경계 조건이 별도 검사 없이 오토마톤에서 처리된다.
+ * 비용은 텍스트 길이에 비례하며 사전 단어 수와는 무관하다.
+ *
+ * 컴파일 후에는 불변이므로 여러 스레드에서 공유해도 안전하다.
+ */
+public class FillerMatcher {
+    private static final char SEP = ' ';
+
+    private final String[] words; // 패턴 id → 원래 사전 단어
+    private final int[] patternLength; // 패턴 id → 앞뒤 공백 포함 길이
+
+    // 노드별 자식 전이 (CSR: childStart[n] ~ childStart[n+1] 구간, label 정렬됨)
+    private final int[] childStart;
+    private final char[] labels;
+    private final int[] targets;
+
+    private final int[] fail; // 실패 링크
+    private final int[] output; // 이 노드에서 끝나는 패턴 id (-1: 없음)
+    private final int[] outputLink; // 실패 링크를 따라 가장 가까운 출력 노드 (-1: 없음)
+    private final int maxPatternLength;
+
+    public FillerMatcher(Collection<String> fillers) {
+        // 1) 정규화 + 중복 제거
+        LinkedHashSet<String> unique = new LinkedHashSet<>();
+        for (String filler : fillers) {
+            String normalized = normalize(filler);
+            if (!normalized.isEmpty()) {
+                unique.add(normalized);
+            }
+        }
+        this.words = unique.toArray(new String[0]);
+        this.patternLength = new int[words.length];
+
+        // 2) 임시 trie 구성
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> out = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        out.add(-1);
+        int maxLen = 1;
+        for (int id = 0; id < words.length; id++) {
+            String pattern = SEP + words[id] + SEP;
+            patternLength[id] = pattern.length();
+            maxLen = Math.max(maxLen, pattern.length());
+            int node = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                Integer next = trie.get(node).get(pattern.charAt(i));
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    out.add(-1);
+                    trie.get(node).put(pattern.charAt(i), next);
+                }
+                node = next;
+            }
+            out.set(node, id);
+        }
+        this.maxPatternLength = maxLen;
+
+        // 3) CSR 배열로 압축
+        int nodes = trie.size();
+        this.childStart = new int[nodes + 1];
+        this.labels = new char[nodes - 1];
+        this.targets = new int[nodes - 1];
+        int edge = 0;
+        for (int n = 0; n < nodes; n++) {
+            childStart[n] = edge;
+            for (Map.Entry<Character, Integer> e : trie.get(n).entrySet()) {
+                labels[edge] = e.getKey();
+                targets[edge] = e.getValue();
+                edge++;
+            }
+        }
+        childStart[nodes] = edge;
+        this.output = out.stream().mapToInt(Integer::intValue).toArray();
+
+        // 4) BFS로 실패 링크 / 출력 링크 계산
+        this.fail = new int[nodes];
+        this.outputLink = new int[nodes];
+        Arrays.fill(outputLink, -1);
+        int[] queue = new int[nodes];
+        int head = 0;
+        int tail = 0;
+        for (int e = childStart[0]; e < childStart[1]; e++) {
+            fail[targets[e]] = 0;
+            queue[tail++] = targets[e];
+        }
+        while (head < tail) {
+            int n = queue[head++];
+            for (int e = childStart[n]; e < childStart[n + 1]; e++) {
+                int child = targets[e];
+                int f = fail[n];
+                int next;
+                while ((next = child(f, labels[e])) < 0 && f != 0) {
+                    f = fail[f];
+                }
+                fail[child] = next >= 0 && next != child ? next : 0;
+                int fc = fail[child];
+                outputLink[child] = output[fc] >= 0 ? fc : outputLink[fc];
+                queue[tail++] = child;
+            }
+        }
+    }
+
+    private int child(int node, char c) {
+        int lo = childStart[node];
+        int hi = childStart[node + 1] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            char label = labels[mid];
+            if (label < c) {
+                lo = mid + 1;
+            } else if (label > c) {
+                hi = mid - 1;
+            } else {
+                return targets[mid];
+            }
+        }
+        return -1;
+    }
+
+    private int step(int state, char c) {
+        int next;
+        while ((next = child(state, c)) < 0 && state != 0) {
+            state = fail[state];
+        }
+        return Math.max(next, 0);
+    }
+
+    // 문자/숫자가 아닌 모든 문자(공백, 문장부호, 따옴표, 줄임표 등)는 단어 구분자로 취급
+    private static boolean isSeparator(char c) {
+        return !Character.isLetterOrDigit(c);
+    }
+
+    private static String normalize(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean pendingSep = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isSeparator(c)) {
+                pendingSep = sb.length() > 0;
+            } else {
+                if (pendingSep) {
+                    sb.append(SEP);
+                    pendingSep = false;
+                }
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    public List<String> getWords() {
+        return List.of(words);
+    }
+
+    /**
+     * 텍스트를 한 번 훑어 추임새 등장 위치(원문 기준 char offset)를 모두 찾는다.
+     */
+    public Result match(String text) {
+        Result result = new Result(words);
+        if (text == null || text.isEmpty() || words.length == 0) {
+            return result;
+        }
+
+        // 최근 maxPatternLength개 스트림 문자의 원문 위치 (매칭 시작 offset 복원용)
+        int[] ring = new int[maxPatternLength];
+        long pos = 0; // 정규화 스트림상의 위치
+        int state = step(0, SEP); // 가상의 시작 공백
+        ring[0] = -1;
+        boolean inSeparator = true;
+
+        int n = text.length();
+        for (int i = 0; i <= n; i++) {
+            char c;
+            if (i == n) {
+                if (inSeparator) {
+                    // 이미 공백이 들어간 상태: 끝 공백은 중복으로 넣지 않음
+                    break;
+                }
+                c = SEP; // 가상의 끝 공백
+            } else {
+                char raw = text.charAt(i);
+                if (isSeparator(raw)) {
+                    if (inSeparator) {
+                        continue; // 연속된 구분자는 공백 하나로 축약
+                    }
+                    inSeparator = true;
+                    c = SEP;
+                } else {
+                    inSeparator = false;
+                    c = Character.toLowerCase(raw);
+                }
+            }
+
+            pos++;
+            ring[(int) (pos % maxPatternLength)] = i;
+            state = step(state, c);
+
+            for (int node = output[state] >= 0 ? state : outputLink[state]; node >= 0; node = outputLink[node]) {
+                int id = output[node];
+                int len = patternLength[id];
+                // 패턴 = 공백 + 단어 + 공백 → 단어는 [pos-len+2, pos-1]
+                int start = ring[(int) ((pos - len + 2) % maxPatternLength)];
+                int end = ring[(int) ((pos - 1) % maxPatternLength)] + 1;
+                result.add(id, start, end);
+            }
+        }
+        return result;
+    }
+
+    /** 매칭 결과: 패턴별 개수 + 등장 위치를 primitive 배열로 보관한다. */
+    public static class Result {
+        private final String[] words;
+        private final int[] counts;
+        private int size;
+        private int[] ids = new int[8];
+        private int[] starts = new int[8];
+        private int[] ends = new int[8];
+
+        private Result(String[] words) {
+            this.words = words;
+            this.counts = new int[words.length];
+        }
+
+        private void add(int id, int start, int end) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            ids[size] = id;
+            starts[size] = start;
+            ends[size] = end;
+            size++;
+            counts[id]++;
+        }
+
+        // 등장한 추임새만 담은 카운트 맵
+        public Map<String, Integer> getCounts() {
+            Map<String, Integer> map = new HashMap<>();
+            for (int id = 0; id < counts.length; id++) {
+                if (counts[id] > 0) {
+                    map.put(words[id], counts[id]);
+                }
+            }
+            return map;
+        }
+
+        public int getTotal() {
+            return size;
+        }
+
+        /** 등장 개수 (텍스트 내 매칭 끝 위치 순) */
+        public int size() {
+            return size;
+        }
+
+        public String word(int i) {
+            return words[ids[i]];
+        }
+
+        /** i번째 등장의 원문 시작 offset (inclusive) */
+        public int start(int i) {
+            return starts[i];
+        }
+
+        /** i번째 등장의 원문 끝 offset (exclusive) */
+        public int end(int i) {
+            return ends[i];
+        }
+    }
+}
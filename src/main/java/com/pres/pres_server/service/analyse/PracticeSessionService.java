@@ -0,0 +1,296 @@
+package com.pres.pres_server.service.analyse;
+
+import java.sql.Time;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pres.pres_server.config.AnalyseProperties;
+import com.pres.pres_server.domain.ExtractedText;
+import com.pres.pres_server.domain.Feedback;
+import com.pres.pres_server.domain.PracticeSession;
+import com.pres.pres_server.domain.PracticeWindow;
+import com.pres.pres_server.domain.Project;
+import com.pres.pres_server.domain.WorkSpace;
+import com.pres.pres_server.dto.AnalyseSummaryDto;
+import com.pres.pres_server.dto.FeedbackDto;
+import com.pres.pres_server.dto.PracticeSessionDto;
+import com.pres.pres_server.dto.SlideTimingDto;
+import com.pres.pres_server.dto.WindowDto;
+import com.pres.pres_server.dto.WordRangeDto;
+import com.pres.pres_server.repository.ExtractedTextRepository;
+import com.pres.pres_server.repository.FeedbackRepository;
+import com.pres.pres_server.repository.PracticeSessionRepository;
+import com.pres.pres_server.repository.PracticeWindowRepository;
+import com.pres.pres_server.repository.ProjectRepository;
+import com.pres.pres_server.repository.TeamMemberRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 분석 결과를 연습 세션(PracticeSession) + 윈도우 행(PracticeWindow) + Feedback 으로 저장하고,
+ * 이후 조회는 다시 전사하지 않고 저장된 윈도우로 요약을 계산해 돌려준다.
+ *
+ * 저장은 한 트랜잭션이다. 키 생성이 IDENTITY 라 Hibernate 의 insert batching 이 꺼지므로
+ * 윈도우 행은 JdbcTemplate batch insert 로 같은 커넥션/트랜잭션에서 한 번에 보낸다.
+ *
+ * 저장/조회는 프로젝트가 속한 워크스페이스의 소유자나 팀원만 할 수 있다 (아니면 AccessDeniedException → 403).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PracticeSessionService {
+    private static final String INSERT_WINDOW = "INSERT INTO practice_window "
+            + "(session_id, window_index, start_ms, end_ms, transcript, spm, spm_score, filler_count, detail) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final PracticeSessionRepository sessionRepository;
+    private final PracticeWindowRepository windowRepository;
+    private final FeedbackRepository feedbackRepository;
+    private final ProjectRepository projectRepository;
+    private final ExtractedTextRepository extractedTextRepository;
+    private final TeamMemberRepository teamMemberRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final AnalyseProperties properties;
+
+    /** 분석을 시작하기 전에 저장할 프로젝트가 있고 접근 권한이 있는지 확인한다. (전사 비용을 쓰고 나서 실패하지 않도록) */
+    @Transactional(readOnly = true)
+    public void checkProject(Long userId, Long projectId) {
+        findProject(userId, projectId);
+    }
+
+    /** 완료된 분석(윈도우 목록)을 프로젝트의 연습 세션으로 저장한다. */
+    @Transactional
+    public PracticeSessionDto save(Long userId, Long projectId, List<WindowDto> windows) {
+        Project project = findProject(userId, projectId);
+        if (windows.isEmpty()) {
+            throw new IllegalArgumentException("저장할 분석 결과가 없습니다.");
+        }
+        List<WindowDto> ordered = new ArrayList<>(windows);
+        ordered.sort(Comparator.comparingDouble(WindowDto::getStartSec));
+        FeedbackDto scores = score(summarize(ordered));
+        double durationSec = ordered.get(ordered.size() - 1).getEndSec();
+
+        PracticeSession session = new PracticeSession();
+        session.setProjectId(project);
+        session.setPracticedAt(LocalDateTime.now());
+        session.setDuration(Time.valueOf(LocalTime.ofSecondOfDay(Math.min(86399, Math.round(durationSec)))));
+        session.setSttText(ordered.stream()
+                .map(WindowDto::getTranscript)
+                .filter(t -> t != null && !t.isBlank())
+                .collect(Collectors.joining(" ")));
+        sessionRepository.save(session); // IDENTITY: 바로 insert 되어 sessionId 확보
+
+        List<Object[]> rows = new ArrayList<>(ordered.size());
+        for (int i = 0; i < ordered.size(); i++) {
+            WindowDto w = ordered.get(i);
+            int fillerCount = w.getFillers() == null ? 0
+                    : w.getFillers().values().stream().mapToInt(Integer::intValue).sum();
+            rows.add(new Object[] { session.getSessionId(), i, toMs(w.getStartSec()), toMs(w.getEndSec()),
+                    w.getTranscript(), w.getSpm(), w.getSpmScore(), fillerCount, toJson(w) });
+        }
+        jdbcTemplate.batchUpdate(INSERT_WINDOW, rows);
+
+        Feedback feedback = new Feedback();
+        feedback.setPracticeSessionId(session);
+        feedback.setSpmScore(scores.getSpmScore());
+        feedback.setFillerScore(scores.getFillerScore());
+        feedback.setRepeatScore(scores.getRepeatScore());
+        feedback.setTotalScore(scores.getTotalScore());
+        feedback.setGrade(scores.getGrade());
+        feedbackRepository.save(feedback);
+
+        log.info("💾 연습 세션 {} 저장: project={}, {} windows, total={} ({})", session.getSessionId(), projectId,
+                rows.size(), scores.getTotalScore(), scores.getGrade());
+        return toDto(session, scores);
+    }
+
+    /** 저장된 세션 (윈도우 + 다시 계산한 요약 포함) */
+    @Transactional(readOnly = true)
+    public PracticeSessionDto get(Long userId, Long sessionId) {
+        PracticeSession session = findSession(userId, sessionId);
+        List<WindowDto> windows = loadWindows(sessionId);
+        PracticeSessionDto dto = toDto(session, feedbackRepository.findByPracticeSessionId_SessionId(sessionId)
+                .map(PracticeSessionService::toFeedbackDto)
+                .orElse(null));
+        dto.setSummary(summarize(windows));
+        dto.setWindows(windows);
+        return dto;
+    }
+
+    /** 프로젝트의 연습 기록 (최근 순, 윈도우 제외) */
+    @Transactional(readOnly = true)
+    public List<PracticeSessionDto> list(Long userId, Long projectId) {
+        findProject(userId, projectId);
+        List<PracticeSession> sessions = sessionRepository.findByProjectId_ProjectIdOrderByPracticedAtDesc(projectId);
+        Map<Long, Feedback> feedbacks = feedbackRepository
+                .findByPracticeSessionId_SessionIdIn(sessions.stream().map(PracticeSession::getSessionId).toList())
+                .stream()
+                .collect(Collectors.toMap(f -> f.getPracticeSessionId().getSessionId(), Function.identity()));
+        return sessions.stream()
+                .map(s -> toDto(s, feedbacks.containsKey(s.getSessionId())
+                        ? toFeedbackDto(feedbacks.get(s.getSessionId()))
+                        : null))
+                .toList();
+    }
+
+    /** [fromSec, toSec) 구간의 단어/추임새 (단어 타임스탬프가 있는 윈도우만 대상) */
+    @Transactional(readOnly = true)
+    public WordRangeDto words(Long userId, Long sessionId, double fromSec, double toSec) {
+        findSession(userId, sessionId);
+        WordTimeline timeline = new WordTimeline(properties.getFillers());
+        for (WindowDto w : loadWindows(sessionId)) {
+            if (w.getWords() != null) {
+                timeline.add(w.getWords(), w.getWordStartMs(), w.getWordEndMs());
+            }
+        }
+        int from = toMs(fromSec);
+        int to = toMs(toSec);
+        return new WordRangeDto(fromSec, toSec, timeline.countBetween(from, to),
+                timeline.fillerCountBetween(from, to), timeline.fillerStartsMs(from, to));
+    }
+
+    /** 저장된 전사문을 발표 파일의 슬라이드 텍스트에 맞춰 슬라이드별 시간/SPM/추임새 수를 구한다. */
+    @Transactional(readOnly = true)
+    public List<SlideTimingDto> slides(Long userId, Long sessionId, Long fileId) {
+        PracticeSession session = findSession(userId, sessionId);
+        ExtractedText extracted = extractedTextRepository.findByPresentationFile_FileId(fileId)
+                .orElseThrow(() -> new IllegalArgumentException("추출된 텍스트를 찾을 수 없습니다: " + fileId));
+        if (!extracted.getPresentationFile().getProject().getProjectId()
+                .equals(session.getProjectId().getProjectId())) {
+            throw new IllegalArgumentException("연습 세션과 다른 프로젝트의 파일입니다: " + fileId);
+        }
+        AnalyseProperties.Alignment config = properties.getAlignment();
+        List<String> slideTexts = new ArrayList<>(extracted.getSlideTexts()); // LAZY 컬렉션을 트랜잭션 안에서 로드
+        SlideAligner aligner = new SlideAligner(slideTexts, properties.getFillers(), config.getShingle(),
+                config.getHashes(), config.getBandRows(), config.getSegmentSec(), config.getSwitchPenalty(),
+                config.getSkipPenalty(), config.getMaxSkip());
+        return aligner.align(loadWindows(sessionId));
+    }
+
+    private Project findProject(Long userId, Long projectId) {
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new IllegalArgumentException("프로젝트를 찾을 수 없습니다: " + projectId));
+        checkAccess(userId, project);
+        return project;
+    }
+
+    private PracticeSession findSession(Long userId, Long sessionId) {
+        PracticeSession session = sessionRepository.findById(sessionId)
+                .orElseThrow(() -> new IllegalArgumentException("연습 세션을 찾을 수 없습니다: " + sessionId));
+        checkAccess(userId, session.getProjectId());
+        return session;
+    }
+
+    // 워크스페이스 소유자는 팀원 목록에 없을 수 있으므로 따로 확인
+    private void checkAccess(Long userId, Project project) {
+        WorkSpace workspace = project.getWorkspaceId();
+        boolean owner = workspace.getOwnerUserId() != null && workspace.getOwnerUserId().getId().equals(userId);
+        if (!owner && !teamMemberRepository.existsByUser_IdAndWorkspace_WorkspaceId(userId,
+                workspace.getWorkspaceId())) {
+            throw new AccessDeniedException("프로젝트에 접근 권한이 없습니다: " + project.getProjectId());
+        }
+    }
+
+    private List<WindowDto> loadWindows(Long sessionId) {
+        List<WindowDto> windows = new ArrayList<>();
+        for (PracticeWindow row : windowRepository.findByPracticeSession_SessionIdOrderByWindowIndex(sessionId)) {
+            windows.add(fromJson(row));
+        }
+        return windows;
+    }
+
+    private AnalyseSummaryDto summarize(List<WindowDto> windows) {
+        AnalyseSummaryBuilder builder = new AnalyseSummaryBuilder(properties);
+        windows.forEach(builder::add);
+        return builder.build();
+    }
+
+    // spm: 윈도우 점수 평균, filler: 분당 추임새 수 감점, repeat: 반복 구절 점수 → 가중 평균과 등급
+    FeedbackDto score(AnalyseSummaryDto summary) {
+        AnalyseProperties.Feedback config = properties.getFeedback();
+        int fillers = summary.getFillers() == null ? 0
+                : summary.getFillers().values().stream().mapToInt(Integer::intValue).sum();
+        double minutes = summary.getTotalSec() / 60.0;
+        double fillersPerMin = minutes > 0 ? fillers / minutes : 0;
+        int fillerScore = clamp(100 - fillersPerMin * config.getFillerPenaltyPerMin());
+
+        double weights = config.getSpmWeight() + config.getFillerWeight() + config.getRepeatWeight();
+        int total = weights > 0
+                ? clamp((summary.getAvgSpmScore() * config.getSpmWeight() + fillerScore * config.getFillerWeight()
+                        + summary.getRepeatScore() * config.getRepeatWeight()) / weights)
+                : 0;
+        return new FeedbackDto(summary.getAvgSpmScore(), fillerScore, summary.getRepeatScore(), total, grade(total));
+    }
+
+    private static String grade(int total) {
+        if (total >= 90) {
+            return "A";
+        } else if (total >= 80) {
+            return "B";
+        } else if (total >= 70) {
+            return "C";
+        } else if (total >= 60) {
+            return "D";
+        }
+        return "F";
+    }
+
+    private static int clamp(double score) {
+        return (int) Math.max(0, Math.min(100, Math.round(score)));
+    }
+
+    private static int toMs(double sec) {
+        return (int) Math.round(sec * 1000);
+    }
+
+    private PracticeSessionDto toDto(PracticeSession session, FeedbackDto feedback) {
+        PracticeSessionDto dto = new PracticeSessionDto();
+        dto.setSessionId(session.getSessionId());
+        dto.setProjectId(session.getProjectId().getProjectId());
+        dto.setPracticedAt(session.getPracticedAt());
+        dto.setDurationSec(session.getDuration() != null ? session.getDuration().toLocalTime().toSecondOfDay() : 0);
+        dto.setFeedback(feedback);
+        return dto;
+    }
+
+    private static FeedbackDto toFeedbackDto(Feedback f) {
+        return new FeedbackDto(f.getSpmScore(), f.getFillerScore(), f.getRepeatScore(), f.getTotalScore(),
+                f.getGrade());
+    }
+
+    private String toJson(WindowDto window) {
+        try {
+            return objectMapper.writeValueAsString(window);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("분석 윈도우 직렬화 실패: " + e.getMessage(), e);
+        }
+    }
+
+    // detail JSON 이 없으면 (다른 경로로 넣은 행) 컬럼 값만으로 복원
+    private WindowDto fromJson(PracticeWindow row) {
+        if (row.getDetail() != null) {
+            try {
+                return objectMapper.readValue(row.getDetail(), WindowDto.class);
+            } catch (JsonProcessingException e) {
+                log.warn("연습 윈도우 {} detail 파싱 실패: {}", row.getWindowId(), e.getMessage());
+            }
+        }
+        return new WindowDto(row.getStartMs() / 1000.0, row.getEndMs() / 1000.0, row.getTranscript(), Map.of(),
+                row.getSpm(), row.getSpmScore());
+    }
+}
@@ -0,0 +1,191 @@
+package com.pres.pres_server.service.analyse;
+
+import java.util.Arrays;
+
+import com.pres.pres_server.dto.ProsodyDto;
+
+/**
+ * 윈도우 PCM(44바이트 WAV 헤더 + 16bit mono)에서 프레임별 음량(RMS dB)과 음높이(YIN)를 구해
+ * 억양/음량 변화 폭을 점수로 만든다. ("단조로운 발표" 피드백)
+ *
+ * 프레임 버퍼, YIN 차분 버퍼, 프레임별 결과 배열은 인스턴스가 들고 재사용하므로 프레임 루프 안에서는
+ * 객체를 만들지 않는다. 윈도우가 이전보다 길 때만 결과 배열을 한 번 늘린다.
+ * 스레드 안전하지 않다. (분석 워커 스레드마다 하나씩 사용)
+ */
+public class ProsodyAnalyser {
+    private static final double REFERENCE_HZ = 55.0; // 반음 환산 기준 (A1)
+
+    private final int sampleRate;
+    private final int frameSamples;
+    private final int minLag;
+    private final int maxLag;
+    private final int integration; // YIN 적분 구간 길이 (frameSamples - maxLag)
+    private final double yinThreshold;
+    private final double minRms;
+    private final double monotoneSt;
+    private final double expressiveSt;
+    private final double flatDb;
+    private final double expressiveDb;
+    private final int minVoicedFrames;
+
+    // 재사용 버퍼
+    private final float[] frame;
+    private final float[] diff;
+    private float[] pitchSt = new float[0];
+    private float[] loudnessDb = new float[0];
+
+    public ProsodyAnalyser(int sampleRate, int frameMs, double minPitchHz, double maxPitchHz, double yinThreshold,
+            int minRms, double monotoneSt, double expressiveSt, double flatDb, double expressiveDb,
+            int minVoicedFrames) {
+        this.sampleRate = sampleRate;
+        this.frameSamples = sampleRate * frameMs / 1000;
+        this.minLag = Math.max(2, (int) Math.floor(sampleRate / maxPitchHz));
+        this.maxLag = (int) Math.ceil(sampleRate / minPitchHz);
+        if (frameSamples <= maxLag + minLag) {
+            throw new IllegalArgumentException("frame-ms 가 최저 음높이 주기보다 충분히 길어야 합니다: " + frameMs);
+        }
+        this.integration = frameSamples - maxLag;
+        this.yinThreshold = yinThreshold;
+        this.minRms = minRms;
+        this.monotoneSt = monotoneSt;
+        this.expressiveSt = expressiveSt;
+        this.flatDb = flatDb;
+        this.expressiveDb = expressiveDb;
+        this.minVoicedFrames = Math.max(2, minVoicedFrames);
+        this.frame = new float[frameSamples];
+        this.diff = new float[maxLag + 1];
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * 윈도우 하나를 분석한다. 16bit mono가 아니거나, 다른 샘플레이트이거나,
+     * 음높이를 잡은 프레임이 min-voiced-frames 보다 적으면 null.
+     */
+    public ProsodyDto analyse(byte[] wav) {
+        if (wav.length < WavWindowReader.HEADER_SIZE || le16(wav, 22) != 1 || le16(wav, 34) != 16
+                || le32(wav, 24) != sampleRate) {
+            return null;
+        }
+        int frames = (wav.length - WavWindowReader.HEADER_SIZE) / 2 / frameSamples;
+        if (pitchSt.length < frames) {
+            pitchSt = new float[frames];
+            loudnessDb = new float[frames];
+        }
+
+        int voiced = 0; // 음량 기준 발화 프레임
+        int pitched = 0; // 그중 음높이를 잡은 프레임
+        int pos = WavWindowReader.HEADER_SIZE;
+        for (int f = 0; f < frames; f++) {
+            double sum = 0;
+            for (int j = 0; j < frameSamples; j++, pos += 2) {
+                float v = (short) le16(wav, pos);
+                frame[j] = v;
+                sum += v * v;
+            }
+            double rms = Math.sqrt(sum / frameSamples);
+            if (rms < minRms) {
+                continue;
+            }
+            loudnessDb[voiced++] = (float) (20 * Math.log10(rms / 32768.0));
+            double hz = pitch();
+            if (hz > 0) {
+                pitchSt[pitched++] = (float) (12 * Math.log(hz / REFERENCE_HZ) / Math.log(2));
+            }
+        }
+        if (pitched < minVoicedFrames) {
+            return null;
+        }
+
+        double pitchStd = std(pitchSt, pitched);
+        double loudnessStd = std(loudnessDb, voiced);
+        // 옥타브 오검출에 덜 민감하도록 범위는 p10~p90
+        Arrays.sort(pitchSt, 0, pitched);
+        double rangeSt = pitchSt[(int) (pitched * 0.9)] - pitchSt[(int) (pitched * 0.1)];
+        double medianHz = REFERENCE_HZ * Math.pow(2, pitchSt[pitched / 2] / 12.0);
+
+        return new ProsodyDto(
+                (double) voiced * frameSamples / sampleRate,
+                Math.round(medianHz * 10) / 10.0,
+                round2(pitchStd),
+                round2(rangeSt),
+                round2(loudnessStd),
+                score(pitchStd, monotoneSt, expressiveSt),
+                score(loudnessStd, flatDb, expressiveDb));
+    }
+
+    // YIN: 누적 평균 정규화 차분 함수가 임계값 아래로 처음 내려간 지점의 극소 → 포물선 보간. 무성음이면 0.
+    private double pitch() {
+        for (int tau = 1; tau <= maxLag; tau++) {
+            double d = 0;
+            for (int j = 0; j < integration; j++) {
+                float delta = frame[j] - frame[j + tau];
+                d += delta * delta;
+            }
+            diff[tau] = (float) d;
+        }
+        double running = 0;
+        diff[0] = 1;
+        for (int tau = 1; tau <= maxLag; tau++) {
+            running += diff[tau];
+            diff[tau] = running > 0 ? (float) (diff[tau] * tau / running) : 1;
+        }
+
+        int tau = minLag;
+        while (tau <= maxLag && diff[tau] >= yinThreshold) {
+            tau++;
+        }
+        if (tau > maxLag) {
+            return 0;
+        }
+        while (tau + 1 <= maxLag && diff[tau + 1] < diff[tau]) {
+            tau++;
+        }
+
+        double refined = tau;
+        if (tau > minLag && tau < maxLag) {
+            double a = diff[tau - 1];
+            double b = diff[tau];
+            double c = diff[tau + 1];
+            double denom = a - 2 * b + c;
+            if (denom > 0) {
+                refined = tau + 0.5 * (a - c) / denom;
+            }
+        }
+        return sampleRate / refined;
+    }
+
+    // 변화 폭이 low 이하면 0점, high 이상이면 100점, 사이는 선형
+    private static int score(double value, double low, double high) {
+        double ratio = (value - low) / (high - low);
+        return (int) Math.round(100 * Math.max(0, Math.min(1, ratio)));
+    }
+
+    private static double std(float[] values, int n) {
+        double mean = 0;
+        for (int i = 0; i < n; i++) {
+            mean += values[i];
+        }
+        mean /= n;
+        double var = 0;
+        for (int i = 0; i < n; i++) {
+            double d = values[i] - mean;
+            var += d * d;
+        }
+        return Math.sqrt(var / n);
+    }
+
+    private static double round2(double v) {
+        return Math.round(v * 100) / 100.0;
+    }
+
+    private static int le16(byte[] b, int i) {
+        return (b[i] & 0xff) | (b[i + 1] & 0xff) << 8;
+    }
+
+    private static int le32(byte[] b, int i) {
+        return le16(b, i) | le16(b, i + 2) << 16;
+    }
+}
@@ -0,0 +1,178 @@
+package com.pres.pres_server.service.analyse;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.pres.pres_server.dto.AnalyseSummaryDto;
+import com.pres.pres_server.dto.WindowDto;
+
+/**
+ * 실시간 리허설 세션 하나: 클라이언트가 보내는 16kHz mono 16bit PCM 조각을 윈도우 버퍼에 이어 붙이고,
+ * 윈도우가 찰 때마다 분석을 제출한다. 결과는 완료 순서대로 listener에 누적 요약과 함께 전달된다.
+ *
+ * 조각 하나의 처리 비용은 조각 크기에만 비례하고(버퍼 복사), 누적 요약도 합계만 유지하므로
+ * 세션이 길어져도 조각당 비용은 일정하다. 메모리에는 채우는 중인 윈도우와 분석 중인 윈도우만 남는다.
+ *
+ * append()/finish()는 한 스레드에서 순서대로 호출해야 한다. (WebSocket 메시지는 세션마다 순차 전달됨)
+ * 클라이언트가 끊기면 close()로 아직 시작하지 않은 윈도우 분석을 취소한다.
+ */
+public class RehearsalSession {
+    public static final int SAMPLE_RATE = 16000;
+    private static final int BYTES_PER_FRAME = 2; // mono 16bit
+
+    /** 윈도우 하나를 분석하는 함수 (AnalyseService::analyseWindowAsync). 반환한 future 가 취소되면 분석을 시작하지 않아야 한다. */
+    @FunctionalInterface
+    public interface WindowAnalyser {
+        CompletableFuture<WindowDto> analyse(AudioWindow window, byte[] wav);
+    }
+
+    /** 분석 결과 콜백. 워커 스레드에서 호출된다. */
+    public interface Listener {
+        void onWindow(int index, WindowDto window, AnalyseSummaryDto rolling);
+
+        // 분석 중인 윈도우가 너무 많거나 분석 큐가 가득 차 건너뛴 윈도우 (전사가 실시간을 따라가지 못하는 경우)
+        void onSkipped(AudioWindow window);
+
+        // 윈도우 하나의 분석 실패. 세션은 계속된다.
+        void onError(int index, Throwable error);
+    }
+
+    private final WindowAnalyser analyser;
+    private final Listener listener;
+    private final int windowBytes;
+    private final long minWindowFrames;
+    private final long maxFrames;
+    private final int maxPendingWindows;
+
+    private final AnalyseSummaryBuilder summary;
+    // 결과 전달까지 끝나는 future → 분석기가 돌려준 future (close() 시 취소 대상)
+    private final Map<CompletableFuture<Void>, CompletableFuture<WindowDto>> pending = new ConcurrentHashMap<>();
+
+    private byte[] buffer; // WAV 헤더 + 채우는 중인 윈도우 PCM
+    private int filled; // buffer에 채운 PCM 바이트 수
+    private long framesSubmitted; // 이미 윈도우로 넘긴 frame 수 (= 다음 윈도우 시작 위치)
+    private int nextIndex;
+    private boolean finished;
+    private volatile boolean closed; // 연결 종료 (다른 스레드에서 호출될 수 있음)
+
+    public RehearsalSession(double windowSec, double minWindowSec, double maxSessionSec, int maxPendingWindows,
+            AnalyseSummaryBuilder summary, WindowAnalyser analyser, Listener listener) {
+        if (windowSec <= 0) {
+            throw new IllegalArgumentException("windowSec must be positive: " + windowSec);
+        }
+        this.summary = summary;
+        this.analyser = analyser;
+        this.listener = listener;
+        this.windowBytes = (int) Math.round(windowSec * SAMPLE_RATE) * BYTES_PER_FRAME;
+        this.minWindowFrames = Math.round(minWindowSec * SAMPLE_RATE);
+        this.maxFrames = Math.round(maxSessionSec * SAMPLE_RATE);
+        this.maxPendingWindows = Math.max(1, maxPendingWindows);
+        this.buffer = new byte[WavWindowReader.HEADER_SIZE + windowBytes];
+    }
+
+    /** PCM 조각을 이어 붙이고, 찬 윈도우는 바로 분석에 제출한다. (조각 경계가 샘플 중간이어도 됨) */
+    public void append(ByteBuffer chunk) {
+        if (finished || closed) {
+            throw new IllegalStateException("이미 종료된 리허설 세션입니다.");
+        }
+        if (framesSubmitted + (filled + chunk.remaining()) / BYTES_PER_FRAME > maxFrames) {
+            throw new IllegalStateException("리허설 최대 길이(" + maxFrames / SAMPLE_RATE + "초)를 넘었습니다.");
+        }
+        while (chunk.hasRemaining()) {
+            int n = Math.min(chunk.remaining(), windowBytes - filled);
+            chunk.get(buffer, WavWindowReader.HEADER_SIZE + filled, n);
+            filled += n;
+            if (filled == windowBytes) {
+                submit();
+            }
+        }
+    }
+
+    /**
+     * 남은 조각을 마지막 윈도우로 제출하고(min-window-sec 이상일 때), 분석 중인 윈도우가 모두 끝나면
+     * 전체 요약(타임라인 포함)과 함께 완료되는 future를 반환한다.
+     */
+    public CompletableFuture<AnalyseSummaryDto> finish() {
+        if (!finished) {
+            finished = true;
+            if (!closed && filled / BYTES_PER_FRAME >= minWindowFrames) {
+                submit();
+            }
+            filled = 0;
+        }
+        return CompletableFuture.allOf(pending.keySet().toArray(new CompletableFuture[0]))
+                .handle((ignored, error) -> summary.build());
+    }
+
+    /**
+     * 클라이언트 연결이 끊긴 세션을 닫는다: 아직 시작하지 않은 윈도우 분석은 취소해 전사하지 않고,
+     * 이미 전사 중인 윈도우는 끝나도 listener 로 전달하지 않는다. (받을 클라이언트가 없음)
+     */
+    public void close() {
+        closed = true;
+        pending.values().forEach(analysis -> analysis.cancel(false));
+    }
+
+    public int getWindowCount() {
+        return nextIndex;
+    }
+
+    public double getSecondsReceived() {
+        return (double) (framesSubmitted + filled / BYTES_PER_FRAME) / SAMPLE_RATE;
+    }
+
+    private void submit() {
+        int frames = filled / BYTES_PER_FRAME;
+        AudioWindow window = new AudioWindow(nextIndex++, framesSubmitted, framesSubmitted + frames, SAMPLE_RATE);
+        framesSubmitted += frames;
+        filled = 0;
+
+        if (pending.size() >= maxPendingWindows) {
+            summary.addUnanalysed(window.getStartSec(), window.getEndSec());
+            listener.onSkipped(window); // 버퍼는 다음 윈도우에 그대로 재사용
+            return;
+        }
+        byte[] wav = buffer;
+        buffer = new byte[WavWindowReader.HEADER_SIZE + windowBytes];
+        int pcmLength = frames * BYTES_PER_FRAME;
+        WavWindowReader.writeHeader(wav, SAMPLE_RATE, 1, 16, pcmLength);
+        if (wav.length != WavWindowReader.HEADER_SIZE + pcmLength) {
+            wav = Arrays.copyOf(wav, WavWindowReader.HEADER_SIZE + pcmLength); // 마지막 짧은 윈도우
+        }
+
+        CompletableFuture<WindowDto> analysis = analyser.analyse(window, wav);
+        CompletableFuture<Void> task = analysis
+                .thenAccept(dto -> {
+                    if (closed) {
+                        return;
+                    }
+                    summary.add(dto);
+                    listener.onWindow(window.getIndex(), dto, summary.buildRolling());
+                })
+                .exceptionally(error -> {
+                    if (closed) {
+                        return null; // 취소된 윈도우 포함
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause()
+                            : error;
+                    if (cause instanceof RejectedExecutionException) {
+                        summary.addUnanalysed(window.getStartSec(), window.getEndSec());
+                        listener.onSkipped(window);
+                    } else {
+                        listener.onError(window.getIndex(), cause);
+                    }
+                    return null;
+                });
+        pending.put(task, analysis);
+        task.whenComplete((ignored, error) -> pending.remove(task));
+        if (closed) {
+            analysis.cancel(false); // close() 와 경합해 취소 대상에서 빠진 경우
+        }
+    }
+}
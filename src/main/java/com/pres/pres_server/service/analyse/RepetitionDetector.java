@@ -0,0 +1,258 @@
+package com.pres.pres_server.service.analyse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import com.pres.pres_server.dto.RepeatedPhraseDto;
+
+/**
+ * 윈도우 전사문을 받는 대로 단어 n-gram 을 세어 반복되는 구절을 찾는다.
+ *
+ * 단어는 substring 없이 문자 단위로 해시하고(FNV-1a), n-gram 해시는 단어 해시의 다항식 rolling hash로
+ * 한 단어마다 O(1)로 갱신한다. 개수는 long 키 → int 카운트의 open addressing(선형 탐사) 배열 맵에 담는다.
+ * 구절 문자열과 위치 목록은 두 번째 등장 시점에만 만들므로, 반복이 없는 대부분의 n-gram 은 객체를 만들지 않는다.
+ *
+ * 추임새 단어는 건너뛰고(“음 음 음” 은 추임새 점수에서 다룸), n-gram 은 윈도우 경계를 넘지 않는다.
+ * 윈도우 도착 순서와 무관하게 같은 결과를 낸다. (위치 목록 정렬 제외) 스레드 안전하지 않다.
+ */
+public class RepetitionDetector {
+    private static final long BASE = 0x9E3779B97F4A7C15L; // 홀수 곱셈 상수 (mod 2^64 다항식 해시)
+    private static final int INITIAL_CAPACITY = 1024;
+    // 반복 n-gram 비율 1%당 감점 (10% → 80점, 50% 이상 → 0점)
+    private static final double PENALTY_PER_PERCENT = 2.0;
+
+    private final int n;
+    private final int maxOffsets;
+    private final long[] fillerHashes; // 정렬됨
+    private final long basePow; // BASE^(n-1)
+
+    // 슬롯 배열 (keys[i] == 0 이면 빈 슬롯)
+    private long[] keys;
+    private int[] counts;
+    private double[] firstSec;
+    private String[] phrases; // 반복된 n-gram 만
+    private double[][] offsets; // 반복된 n-gram 의 등장 위치(초), 최대 maxOffsets 개
+    private int used;
+
+    // 윈도우 하나를 훑는 동안 쓰는 최근 n개 단어 (재사용)
+    private final long[] ringHash;
+    private final int[] ringStart;
+    private final int[] ringEnd;
+
+    private long totalNgrams;
+    private long repeatedNgrams;
+
+    public RepetitionDetector(int n, int maxOffsets, Collection<String> fillers) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n must be positive: " + n);
+        }
+        this.n = n;
+        this.maxOffsets = Math.max(2, maxOffsets);
+        this.fillerHashes = fillers.stream().mapToLong(RepetitionDetector::wordHash).sorted().toArray();
+        long pow = 1;
+        for (int i = 1; i < n; i++) {
+            pow *= BASE;
+        }
+        this.basePow = pow;
+        this.ringHash = new long[n];
+        this.ringStart = new int[n];
+        this.ringEnd = new int[n];
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * 윈도우 전사문 하나를 훑는다. 등장 위치(초)는 윈도우 안에서 글자 위치 비율로 추정한다.
+     */
+    public void add(String text, double startSec, double endSec) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        int len = text.length();
+        double secPerChar = (endSec - startSec) / len;
+        long rolling = 0;
+        int tokens = 0;
+        int i = 0;
+        while (i < len) {
+            char c = text.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                i++;
+                continue;
+            }
+            int wordStart = i;
+            long h = 0xcbf29ce484222325L;
+            while (i < len && Character.isLetterOrDigit(c = text.charAt(i))) {
+                h = (h ^ Character.toLowerCase(c)) * 0x100000001b3L;
+                i++;
+            }
+            h = finish(h);
+            if (Arrays.binarySearch(fillerHashes, h) >= 0) {
+                continue;
+            }
+
+            int slot = tokens % n;
+            if (tokens >= n) {
+                rolling -= ringHash[slot] * basePow; // 가장 오래된 단어 제거
+            }
+            rolling = rolling * BASE + h;
+            ringHash[slot] = h;
+            ringStart[slot] = wordStart;
+            ringEnd[slot] = i;
+            tokens++;
+
+            if (tokens >= n) {
+                int oldest = tokens % n;
+                record(rolling, text, oldest, startSec + ringStart[oldest] * secPerChar);
+            }
+        }
+    }
+
+    /** 반복 n-gram 비율로 매긴 0~100 점수 (n-gram 이 없으면 100) */
+    public int score() {
+        if (totalNgrams == 0) {
+            return 100;
+        }
+        double percent = 100.0 * repeatedNgrams / totalNgrams;
+        return (int) Math.max(0, Math.round(100 - percent * PENALTY_PER_PERCENT));
+    }
+
+    public long getTotalNgrams() {
+        return totalNgrams;
+    }
+
+    public long getRepeatedNgrams() {
+        return repeatedNgrams;
+    }
+
+    /** 가장 많이 반복된 구절 limit 개 (횟수 내림차순, 같으면 먼저 나온 순) */
+    public List<RepeatedPhraseDto> topPhrases(int limit) {
+        int[] best = new int[Math.max(0, limit)];
+        int size = 0;
+        for (int s = 0; s < keys.length; s++) {
+            if (keys[s] == 0 || counts[s] < 2) {
+                continue;
+            }
+            // 삽입 정렬로 상위 limit 개만 유지
+            int pos = size < best.length ? size++ : best.length;
+            while (pos > 0 && ranksBefore(s, best[pos - 1])) {
+                if (pos < best.length) {
+                    best[pos] = best[pos - 1];
+                }
+                pos--;
+            }
+            if (pos < best.length) {
+                best[pos] = s;
+            }
+        }
+
+        List<RepeatedPhraseDto> result = new ArrayList<>(size);
+        for (int k = 0; k < size; k++) {
+            int s = best[k];
+            int stored = Math.min(counts[s], maxOffsets);
+            double[] sec = Arrays.copyOf(offsets[s], stored);
+            Arrays.sort(sec);
+            result.add(new RepeatedPhraseDto(phrases[s], counts[s], sec));
+        }
+        return result;
+    }
+
+    private boolean ranksBefore(int a, int b) {
+        return counts[a] != counts[b] ? counts[a] > counts[b] : firstSec[a] < firstSec[b];
+    }
+
+    private void record(long key, String text, int oldest, double sec) {
+        if (key == 0) {
+            key = 1; // 0은 빈 슬롯 표시
+        }
+        totalNgrams++;
+        int s = find(key);
+        if (keys[s] == 0) {
+            keys[s] = key;
+            counts[s] = 1;
+            firstSec[s] = sec;
+            if (++used * 2 > keys.length) {
+                allocate(keys.length * 2);
+            }
+            return;
+        }
+
+        repeatedNgrams++;
+        int count = ++counts[s];
+        if (phrases[s] == null) {
+            phrases[s] = phraseOf(text, oldest);
+            offsets[s] = new double[maxOffsets];
+            offsets[s][0] = firstSec[s];
+        }
+        if (count <= maxOffsets) {
+            offsets[s][count - 1] = sec;
+        }
+    }
+
+    // 링에 있는 n개 단어를 공백 하나로 이어 붙인 구절 (사이에 건너뛴 추임새/문장부호 제외)
+    private String phraseOf(String text, int oldest) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < n; k++) {
+            int slot = (oldest + k) % n;
+            if (k > 0) {
+                sb.append(' ');
+            }
+            sb.append(text, ringStart[slot], ringEnd[slot]);
+        }
+        return sb.toString();
+    }
+
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int s = (int) (key ^ (key >>> 32)) & mask;
+        while (keys[s] != 0 && keys[s] != key) {
+            s = (s + 1) & mask;
+        }
+        return s;
+    }
+
+    // 용량 변경 (기존 항목 재배치)
+    private void allocate(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        double[] oldFirst = firstSec;
+        String[] oldPhrases = phrases;
+        double[][] oldOffsets = offsets;
+
+        keys = new long[capacity];
+        counts = new int[capacity];
+        firstSec = new double[capacity];
+        phrases = new String[capacity];
+        offsets = new double[capacity][];
+        if (oldKeys == null) {
+            return;
+        }
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == 0) {
+                continue;
+            }
+            int s = find(oldKeys[i]);
+            keys[s] = oldKeys[i];
+            counts[s] = oldCounts[i];
+            firstSec[s] = oldFirst[i];
+            phrases[s] = oldPhrases[i];
+            offsets[s] = oldOffsets[i];
+        }
+    }
+
+    // 추임새 사전 단어를 본문 단어와 같은 방식으로 해시
+    private static long wordHash(String word) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < word.length(); i++) {
+            h = (h ^ Character.toLowerCase(word.charAt(i))) * 0x100000001b3L;
+        }
+        return finish(h);
+    }
+
+    private static long finish(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
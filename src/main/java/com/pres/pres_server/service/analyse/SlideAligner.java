@@ -0,0 +1,334 @@
+package com.pres.pres_server.service.analyse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import com.pres.pres_server.dto.SlideTimingDto;
+import com.pres.pres_server.dto.WindowDto;
+
+/**
+ * 전사문을 슬라이드 텍스트에 맞춰 슬라이드별 시작/끝 시각, SPM, 추임새 수를 구한다.
+ *
+ * 1) 슬라이드와 발화 구간(segment-sec 단위)을 공백/문장부호를 뺀 글자 k-gram 집합으로 바꾸고 MinHash 서명을 만든다.
+ * 2) 슬라이드 서명을 LSH 밴드(band-rows 개씩 묶은 해시) 버킷에 넣어 두고, 구간마다 같은 버킷에 든 슬라이드만 후보로 본다.
+ *    문자열 비교 없이 서명 일치 비율로 Jaccard 를 추정하고, 집합 크기로 "구간 k-gram 이 슬라이드에 포함된 비율"로 바꾼다.
+ * 3) 발표는 슬라이드 순서대로 진행된다고 보고 동적 계획법으로 단조 증가 경로를 찾는다.
+ *    다음 슬라이드로 넘어갈 때 switch-penalty, 슬라이드를 건너뛸 때 한 장마다 skip-penalty 를 뺀다.
+ *
+ * 비용은 슬라이드 색인 O(전체 슬라이드 글자 수 × 해시 수), 구간당 O(구간 글자 수 × 해시 수 + 후보 수 × 해시 수),
+ * DP O(구간 수 × 슬라이드 수 × max-skip) 으로 40장 / 1시간 발표도 수십 ms 안에 끝난다.
+ * 인스턴스는 덱 하나에 대해 만들고, 스레드 안전하지 않다.
+ */
+public class SlideAligner {
+    private final int shingle;
+    private final int bandRows;
+    private final double segmentSec;
+    private final double switchPenalty;
+    private final double skipPenalty;
+    private final int maxSkip;
+    private final WordTimeline fillers;
+
+    private final long[] hashA;
+    private final long[] hashB;
+    private final int slideCount;
+    private final int[][] slideSignatures;
+    private final int[] slideSizes;
+    private final Set<Long> deckShingles = new HashSet<>(); // 슬라이드에 없는 k-gram 은 구간 집합에서 제외
+    private final Map<Long, int[]> buckets = new HashMap<>(); // (밴드, 밴드 해시) → 슬라이드 목록
+
+    public SlideAligner(List<String> slideTexts, Collection<String> fillerWords, int shingle, int hashes,
+            int bandRows, double segmentSec, double switchPenalty, double skipPenalty, int maxSkip) {
+        if (shingle < 1 || hashes < 1 || bandRows < 1 || hashes % bandRows != 0) {
+            throw new IllegalArgumentException("hashes must be a multiple of band-rows: " + hashes + "/" + bandRows);
+        }
+        this.shingle = shingle;
+        this.bandRows = bandRows;
+        this.segmentSec = segmentSec;
+        this.switchPenalty = switchPenalty;
+        this.skipPenalty = skipPenalty;
+        this.maxSkip = Math.max(1, maxSkip);
+        this.fillers = new WordTimeline(fillerWords);
+
+        // 고정 seed → 같은 덱은 항상 같은 서명
+        SplittableRandom random = new SplittableRandom(0x5EEDL);
+        this.hashA = new long[hashes];
+        this.hashB = new long[hashes];
+        for (int h = 0; h < hashes; h++) {
+            hashA[h] = random.nextLong() | 1; // 홀수 곱셈 상수
+            hashB[h] = random.nextLong();
+        }
+
+        this.slideCount = slideTexts.size();
+        this.slideSignatures = new int[slideCount][];
+        this.slideSizes = new int[slideCount];
+        for (int s = 0; s < slideCount; s++) {
+            long[] shingles = shingles(slideTexts.get(s) == null ? "" : slideTexts.get(s));
+            slideSizes[s] = shingles.length;
+            for (long x : shingles) {
+                deckShingles.add(x);
+            }
+            slideSignatures[s] = signature(shingles);
+            if (shingles.length == 0) {
+                continue; // 글자가 없는 슬라이드(이미지 등)는 후보로 나오지 않음 → 건너뛰기로만 지나감
+            }
+            for (int band = 0; band < hashes / bandRows; band++) {
+                long key = bandKey(slideSignatures[s], band);
+                int[] list = buckets.get(key);
+                int[] grown = list == null ? new int[1] : Arrays.copyOf(list, list.length + 1);
+                grown[grown.length - 1] = s;
+                buckets.put(key, grown);
+            }
+        }
+    }
+
+    /** 윈도우(녹음 순서 무관)를 발화 구간으로 나눠 슬라이드에 맞춘다. 슬라이드 번호는 1부터. */
+    public List<SlideTimingDto> align(List<WindowDto> windows) {
+        List<Segment> segments = segments(windows);
+        int n = segments.size();
+        List<SlideTimingDto> result = new ArrayList<>(slideCount);
+        if (n == 0 || slideCount == 0) {
+            for (int s = 0; s < slideCount; s++) {
+                result.add(new SlideTimingDto(s + 1, null, null, 0, 0, 0, 0));
+            }
+            return result;
+        }
+
+        // 구간 × 후보 슬라이드 유사도 (후보가 아니면 0)
+        double[][] sim = new double[n][slideCount];
+        for (int t = 0; t < n; t++) {
+            similarities(segments.get(t).text.toString(), sim[t]);
+        }
+
+        // DP: score[t][s] = 구간 t 가 슬라이드 s 일 때 최고 점수, from[t][s] = 직전 구간의 슬라이드
+        double[] prev = new double[slideCount];
+        double[] cur = new double[slideCount];
+        int[][] from = new int[n][slideCount];
+        for (int s = 0; s < slideCount; s++) {
+            prev[s] = sim[0][s] - skipPenalty * s;
+        }
+        for (int t = 1; t < n; t++) {
+            for (int s = 0; s < slideCount; s++) {
+                double best = prev[s];
+                int arg = s;
+                for (int jump = 1; jump <= maxSkip + 1 && s - jump >= 0; jump++) {
+                    double v = prev[s - jump] - switchPenalty - skipPenalty * (jump - 1);
+                    if (v > best) {
+                        best = v;
+                        arg = s - jump;
+                    }
+                }
+                cur[s] = best + sim[t][s];
+                from[t][s] = arg;
+            }
+            double[] swap = prev;
+            prev = cur;
+            cur = swap;
+        }
+        int last = 0;
+        for (int s = 1; s < slideCount; s++) {
+            if (prev[s] > prev[last]) {
+                last = s;
+            }
+        }
+        int[] path = new int[n];
+        path[n - 1] = last;
+        for (int t = n - 1; t > 0; t--) {
+            path[t - 1] = from[t][path[t]];
+        }
+
+        // 슬라이드별 집계
+        double[] start = new double[slideCount];
+        double[] end = new double[slideCount];
+        double[] syllables = new double[slideCount];
+        int[] fillerCounts = new int[slideCount];
+        double[] simSum = new double[slideCount];
+        int[] segs = new int[slideCount];
+        Arrays.fill(start, Double.NaN);
+        for (int t = 0; t < n; t++) {
+            Segment seg = segments.get(t);
+            int s = path[t];
+            if (Double.isNaN(start[s])) {
+                start[s] = seg.startSec;
+            }
+            end[s] = seg.endSec;
+            syllables[s] += seg.syllables;
+            fillerCounts[s] += seg.fillers;
+            simSum[s] += sim[t][s];
+            segs[s]++;
+        }
+        for (int s = 0; s < slideCount; s++) {
+            if (segs[s] == 0) {
+                result.add(new SlideTimingDto(s + 1, null, null, 0, 0, 0, 0));
+                continue;
+            }
+            double dur = end[s] - start[s];
+            int spm = dur > 0 ? (int) Math.round(syllables[s] / dur * 60.0) : 0;
+            result.add(new SlideTimingDto(s + 1, start[s], end[s], dur, spm, fillerCounts[s],
+                    Math.round(simSum[s] / segs[s] * 100) / 100.0));
+        }
+        return result;
+    }
+
+    // LSH 후보 슬라이드에 대해서만 포함 비율 추정값을 채운다
+    private void similarities(String text, double[] out) {
+        long[] all = shingles(text);
+        // 덱에 없는 k-gram 은 어떤 슬라이드와도 겹치지 않으므로 서명에서 빼 Jaccard 를 키운다 (LSH 후보에 잘 걸리도록)
+        long[] shingles = new long[all.length];
+        int kept = 0;
+        for (long x : all) {
+            if (deckShingles.contains(x)) {
+                shingles[kept++] = x;
+            }
+        }
+        if (kept == 0) {
+            return;
+        }
+        shingles = Arrays.copyOf(shingles, kept);
+        int[] sig = signature(shingles);
+        int hashes = sig.length;
+        for (int band = 0; band < hashes / bandRows; band++) {
+            int[] candidates = buckets.get(bandKey(sig, band));
+            if (candidates == null) {
+                continue;
+            }
+            for (int s : candidates) {
+                if (out[s] > 0) {
+                    continue; // 이미 다른 밴드에서 계산함
+                }
+                int same = 0;
+                for (int h = 0; h < hashes; h++) {
+                    if (sig[h] == slideSignatures[s][h]) {
+                        same++;
+                    }
+                }
+                double jaccard = (double) same / hashes;
+                // |A∩B| = J(|A|+|B|)/(1+J) → 구간 전체 k-gram 중 슬라이드에 있는 비율
+                double containment = jaccard * (kept + slideSizes[s]) / ((1 + jaccard) * all.length);
+                out[s] = Math.max(1e-6, Math.min(1, containment));
+            }
+        }
+    }
+
+    // 공백/문장부호를 뺀 소문자 글자열의 k-gram 해시 (중복 제거)
+    private long[] shingles(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        Set<Long> set = new HashSet<>();
+        for (int i = 0; i + shingle <= sb.length(); i++) {
+            long h = 0xcbf29ce484222325L;
+            for (int k = 0; k < shingle; k++) {
+                h = (h ^ sb.charAt(i + k)) * 0x100000001b3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            set.add(h);
+        }
+        long[] result = new long[set.size()];
+        int i = 0;
+        for (long h : set) {
+            result[i++] = h;
+        }
+        return result;
+    }
+
+    private int[] signature(long[] shingles) {
+        int[] sig = new int[hashA.length];
+        Arrays.fill(sig, Integer.MAX_VALUE);
+        for (long x : shingles) {
+            for (int h = 0; h < sig.length; h++) {
+                long m = (x ^ hashB[h]) * hashA[h]; // 해시마다 다른 순열 (multiply-shift)
+                int v = (int) (m >>> 33);
+                if (v < sig[h]) {
+                    sig[h] = v;
+                }
+            }
+        }
+        return sig;
+    }
+
+    private long bandKey(int[] sig, int band) {
+        long key = band;
+        for (int r = band * bandRows; r < (band + 1) * bandRows; r++) {
+            key = key * 0x9E3779B97F4A7C15L + sig[r];
+        }
+        return key;
+    }
+
+    /** 발화 구간 하나 (segment-sec 단위로 이어 붙인 단어들) */
+    private static class Segment {
+        final StringBuilder text = new StringBuilder();
+        double startSec;
+        double endSec;
+        double syllables;
+        int fillers;
+    }
+
+    // 단어 시각은 타임스탬프가 있으면 그대로, 없으면 윈도우 안 글자 위치 비율로 추정한다
+    private List<Segment> segments(List<WindowDto> windows) {
+        List<WindowDto> ordered = new ArrayList<>(windows);
+        ordered.sort((a, b) -> Double.compare(a.getStartSec(), b.getStartSec()));
+        List<Segment> segments = new ArrayList<>();
+        for (WindowDto w : ordered) {
+            Segment current = null; // 구간은 윈도우 경계를 넘지 않음 (윈도우는 쉼 위치에서 잘림)
+            String[] words;
+            double[] at;
+            if (w.getWords() != null && w.getWords().length > 0) {
+                words = w.getWords();
+                at = new double[words.length];
+                for (int k = 0; k < words.length; k++) {
+                    at[k] = w.getWordStartMs()[k] / 1000.0;
+                }
+            } else {
+                String text = w.getTranscript() == null ? "" : w.getTranscript().trim();
+                words = text.isEmpty() ? new String[0] : text.split("\\s+");
+                at = new double[words.length];
+                double secPerChar = text.isEmpty() ? 0 : (w.getEndSec() - w.getStartSec()) / text.length();
+                int pos = 0;
+                for (int k = 0; k < words.length; k++) {
+                    pos = text.indexOf(words[k], pos);
+                    at[k] = w.getStartSec() + pos * secPerChar;
+                    pos += words[k].length();
+                }
+            }
+            for (int k = 0; k < words.length; k++) {
+                if (current == null || at[k] - current.startSec >= segmentSec) {
+                    current = new Segment();
+                    current.startSec = at[k];
+                    segments.add(current);
+                }
+                current.text.append(words[k]).append(' ');
+                current.syllables += koreanSyllables(words[k]);
+                if (fillers.matchesFiller(words[k])) {
+                    current.fillers++;
+                }
+                current.endSec = k + 1 < words.length ? at[k + 1] : w.getEndSec();
+            }
+        }
+        return segments;
+    }
+
+    // SpeechSpeedService.countKoreanSyllables 와 같은 기준
+    private static int koreanSyllables(String word) {
+        int count = 0;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c >= 0xAC00 && c <= 0xD7A3) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
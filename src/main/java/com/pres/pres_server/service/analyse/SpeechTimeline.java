@@ -0,0 +1,146 @@
+package com.pres.pres_server.service.analyse;
+
+import java.util.Arrays;
+
+import com.pres.pres_server.dto.TimelineDto;
+
+/**
+ * 녹음 전체를 segment-sec 단위 구간으로 나누어 음절 수 / 추임새 수 / 발화 시간을 primitive 배열에 누적하고,
+ * 슬라이딩 윈도우 SPM과 분당 추임새 수를 계산한다.
+ *
+ * 분석 윈도우(30초 등)의 결과는 윈도우가 걸친 구간에 시간 비율대로 나누어 담는다.
+ * 단어 타임스탬프가 있으면 음절/추임새는 단어가 있는 구간에 그대로 담고, 발화 시간만 윈도우 비율로 나눈다.
+ * 슬라이딩 합계는 구간 하나를 더하고 하나를 빼는 방식이라 한 step 이 O(1)이며, 추가 전사 호출은 없다.
+ * VAD로 잘라낸 무음 구간은 발화 시간이 0으로 남아 SPM 분모에서 빠진다.
+ *
+ * 스레드 안전하지 않다. (AnalyseSummaryBuilder 안에서 동기화되어 사용됨)
+ */
+public class SpeechTimeline {
+    private static final int INITIAL_SEGMENTS = 256;
+
+    private final double segmentSec;
+    private double[] syllables = new double[INITIAL_SEGMENTS];
+    private double[] fillers = new double[INITIAL_SEGMENTS];
+    private double[] spokenSec = new double[INITIAL_SEGMENTS];
+    private int size; // 값이 들어간 마지막 구간 + 1
+
+    public SpeechTimeline(double segmentSec) {
+        if (segmentSec <= 0) {
+            throw new IllegalArgumentException("segmentSec must be positive: " + segmentSec);
+        }
+        this.segmentSec = segmentSec;
+    }
+
+    /** [startSec, endSec) 구간의 음절/추임새 수를 겹치는 구간들에 시간 비율대로 나누어 더한다. */
+    public void addSpan(double startSec, double endSec, double syllableCount, double fillerCount) {
+        double dur = endSec - startSec;
+        if (dur <= 0) {
+            return;
+        }
+        int first = (int) Math.floor(startSec / segmentSec);
+        int last = (int) Math.ceil(endSec / segmentSec) - 1;
+        ensureCapacity(last + 1);
+        for (int seg = Math.max(0, first); seg <= last; seg++) {
+            double overlap = Math.min(endSec, (seg + 1) * segmentSec) - Math.max(startSec, seg * segmentSec);
+            if (overlap <= 0) {
+                continue;
+            }
+            double ratio = overlap / dur;
+            syllables[seg] += syllableCount * ratio;
+            fillers[seg] += fillerCount * ratio;
+            spokenSec[seg] += overlap;
+        }
+        size = Math.max(size, last + 1);
+    }
+
+    /** 단어 하나의 음절/추임새 수를 그 시각이 속한 구간에 더한다. (발화 시간은 addSpan 으로 따로 더함) */
+    public void addAt(double sec, double syllableCount, double fillerCount) {
+        if (sec < 0) {
+            return;
+        }
+        int seg = (int) Math.floor(sec / segmentSec);
+        ensureCapacity(seg + 1);
+        syllables[seg] += syllableCount;
+        fillers[seg] += fillerCount;
+        size = Math.max(size, seg + 1);
+    }
+
+    /**
+     * windowSec 길이의 윈도우를 strideSec 간격으로 밀면서 SPM / 분당 추임새 수를 계산한다.
+     * 발화 시간이 윈도우의 minSpokenRatio 미만인 지점(긴 쉼)은 0으로 두고 통계에서 제외한다.
+     * 녹음이 windowSec보다 짧으면 전체를 한 지점으로 계산한다.
+     */
+    public TimelineDto compute(double windowSec, double strideSec, double minSpokenRatio) {
+        int window = Math.max(1, (int) Math.round(windowSec / segmentSec));
+        int stride = Math.max(1, (int) Math.round(strideSec / segmentSec));
+        int points = size == 0 ? 0 : size < window ? 1 : (size - window) / stride + 1;
+        double minSpoken = Math.min(window, size) * segmentSec * minSpokenRatio;
+
+        int[] spm = new int[points];
+        double[] fillersPerMin = new double[points];
+        int[] valid = new int[points];
+        int validCount = 0;
+        double maxFillerRate = 0;
+
+        double syl = 0;
+        double fil = 0;
+        double spoken = 0;
+        int point = 0;
+        for (int i = 0; i < size && point < points; i++) {
+            syl += syllables[i];
+            fil += fillers[i];
+            spoken += spokenSec[i];
+            if (i >= window) {
+                syl -= syllables[i - window];
+                fil -= fillers[i - window];
+                spoken -= spokenSec[i - window];
+            }
+
+            boolean emit = size < window
+                    ? i == size - 1
+                    : i + 1 >= window && (i + 1 - window) % stride == 0;
+            if (!emit) {
+                continue;
+            }
+            if (spoken > 1e-9 && spoken >= minSpoken) {
+                spm[point] = (int) Math.round(Math.max(0, syl) / spoken * 60.0);
+                fillersPerMin[point] = Math.round(Math.max(0, fil) / spoken * 600.0) / 10.0;
+                maxFillerRate = Math.max(maxFillerRate, fillersPerMin[point]);
+                valid[validCount++] = spm[point];
+            }
+            point++;
+        }
+
+        Arrays.sort(valid, 0, validCount);
+        return new TimelineDto(
+                Math.min(window, Math.max(size, 1)) * segmentSec,
+                stride * segmentSec,
+                spm,
+                fillersPerMin,
+                validCount > 0 ? valid[0] : 0,
+                validCount > 0 ? valid[validCount - 1] : 0,
+                percentile(valid, validCount, 0.10),
+                percentile(valid, validCount, 0.50),
+                percentile(valid, validCount, 0.90),
+                maxFillerRate);
+    }
+
+    // nearest-rank 백분위수 (sorted[0..count) 오름차순)
+    static int percentile(int[] sorted, int count, double p) {
+        if (count == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p * count);
+        return sorted[Math.min(count, Math.max(1, rank)) - 1];
+    }
+
+    private void ensureCapacity(int segments) {
+        if (segments <= syllables.length) {
+            return;
+        }
+        int capacity = Math.max(segments, syllables.length * 2);
+        syllables = Arrays.copyOf(syllables, capacity);
+        fillers = Arrays.copyOf(fillers, capacity);
+        spokenSec = Arrays.copyOf(spokenSec, capacity);
+    }
+}
@@ -0,0 +1,57 @@
+package com.pres.pres_server.service.analyse;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pres.pres_server.config.AnalyseProperties;
+import com.pres.pres_server.service.transcription.Transcript;
+import com.pres.pres_server.service.transcription.TranscriptionEngine;
+import com.pres.pres_server.util.HashUtil;
+import com.pres.pres_server.util.RedisUtil;
+import com.pres.pres_server.util.TwoTierCache;
+
+/**
+ * 윈도우 PCM의 SHA-256 → 전사 결과(텍스트 + 단어 타임스탬프) 캐시 (TwoTierCache, Redis 에는 JSON).
+ * 같은 녹음을 다시 올리거나 실패 후 재분석할 때 이미 전사한 윈도우는 전사 엔진(Whisper)을 다시 호출하지 않는다.
+ */
+@Component
+public class TranscriptCache {
+    private static final String KEY_PREFIX = "analyse:transcript:v2:"; // v2: 단어 타임스탬프를 담은 JSON
+
+    private final TwoTierCache<Transcript> cache;
+
+    public TranscriptCache(AnalyseProperties properties, RedisUtil redisUtil, ObjectMapper objectMapper,
+            TranscriptionEngine engine) {
+        // 엔진/모델별로 분리 (가짜 엔진 결과가 실제 캐시에 섞이지 않도록)
+        String redisPrefix = KEY_PREFIX + engine.getModel() + ":";
+        this.cache = new TwoTierCache<>("전사", redisPrefix, properties.getCache(), redisUtil,
+                new TwoTierCache.Codec<>() {
+                    @Override
+                    public String encode(Transcript value) throws Exception {
+                        return objectMapper.writeValueAsString(value);
+                    }
+
+                    @Override
+                    public Transcript decode(String data) throws Exception {
+                        return objectMapper.readValue(data, Transcript.class);
+                    }
+                });
+    }
+
+    /** WAV 바이트(44바이트 헤더 포함)에서 PCM 구간만 해시한 캐시 키 */
+    public String keyOf(byte[] wav) {
+        int offset = WavWindowReader.HEADER_SIZE;
+        return HashUtil.sha256Hex(wav, offset, wav.length - offset);
+    }
+
+    /** 캐시된 전사 결과, 없으면 null */
+    public Transcript get(String key) {
+        return cache.get(key);
+    }
+
+    public void put(String key, Transcript transcript) {
+        if (transcript != null && transcript.getText() != null) {
+            cache.put(key, transcript);
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.pres.pres_server.service.analyse;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.pres.pres_server.dto.PauseStatsDto;
+
+/**
+ * 짧은 프레임 RMS 에너지 기반 음성 구간 검출(VAD).
+ *
+ * 16kHz PCM을 한 번 훑어 프레임별 RMS를 구하고, 잡음 바닥(하위 10% RMS)에 비례한 임계값으로
+ * 음성/무음을 판정한다. 이 결과로 앞뒤 무음과 긴 무음 구간은 윈도우에서 제외하고,
+ * 윈도우 경계는 단어 중간이 아닌 쉼(무음) 위치로 옮긴다.
+ */
+public class VoiceActivityDetector {
+    private final int frameMs;
+    private final double thresholdRatio;
+    private final int minRms;
+    private final int minPauseMs;
+    private final int paddingMs;
+    private final double longSilenceSec;
+    private final double maxShiftSec;
+
+    public VoiceActivityDetector(int frameMs, double thresholdRatio, int minRms, int minPauseMs,
+            int paddingMs, double longSilenceSec, double maxShiftSec) {
+        this.frameMs = frameMs;
+        this.thresholdRatio = thresholdRatio;
+        this.minRms = minRms;
+        this.minPauseMs = minPauseMs;
+        this.paddingMs = paddingMs;
+        this.longSilenceSec = longSilenceSec;
+        this.maxShiftSec = maxShiftSec;
+    }
+
+    /** 프레임별 RMS / 음성 여부 (한 번의 PCM 패스 결과) */
+    public static class Result {
+        private final int sampleRate;
+        private final int frameSamples;
+        private final long totalSamples;
+        private final float[] rms;
+        private final boolean[] speech;
+        private final float threshold;
+
+        Result(int sampleRate, int frameSamples, long totalSamples, float[] rms, boolean[] speech, float threshold) {
+            this.sampleRate = sampleRate;
+            this.frameSamples = frameSamples;
+            this.totalSamples = totalSamples;
+            this.rms = rms;
+            this.speech = speech;
+            this.threshold = threshold;
+        }
+
+        public int getFrameCount() {
+            return rms.length;
+        }
+
+        public int getFrameSamples() {
+            return frameSamples;
+        }
+
+        public int getSampleRate() {
+            return sampleRate;
+        }
+
+        public float getThreshold() {
+            return threshold;
+        }
+
+        public float rms(int frame) {
+            return rms[frame];
+        }
+
+        public boolean isSpeech(int frame) {
+            return speech[frame];
+        }
+
+        public double getSpeechSec() {
+            int count = 0;
+            for (boolean s : speech) {
+                if (s) {
+                    count++;
+                }
+            }
+            return (double) count * frameSamples / sampleRate;
+        }
+
+        public double getSilenceSec() {
+            return (double) totalSamples / sampleRate - getSpeechSec();
+        }
+
+        /**
+         * 음성 사이의 무음 구간(짧은 쉼은 이미 음성으로 메워져 min-pause-ms 이상만 남음) 통계.
+         * 앞뒤 가장자리 무음은 다음/이전 윈도우의 쉼과 이어질 수 있으므로 개수에 넣지 않고 따로 돌려준다.
+         * 음성이 전혀 없으면 leading = trailing = 전체 길이.
+         */
+        public PauseStatsDto pauseStats() {
+            double frameSec = (double) frameSamples / sampleRate;
+            double totalSec = (double) totalSamples / sampleRate;
+            int first = 0;
+            while (first < speech.length && !speech[first]) {
+                first++;
+            }
+            if (first == speech.length) {
+                return new PauseStatsDto(0, 0, 0, totalSec, totalSec);
+            }
+            int last = speech.length - 1;
+            while (!speech[last]) {
+                last--;
+            }
+
+            int count = 0;
+            int silentFrames = 0;
+            int longest = 0;
+            int run = 0;
+            for (int f = first; f <= last; f++) {
+                if (!speech[f]) {
+                    run++;
+                    continue;
+                }
+                if (run > 0) {
+                    count++;
+                    silentFrames += run;
+                    longest = Math.max(longest, run);
+                    run = 0;
+                }
+            }
+            double leading = first * frameSec;
+            double trailing = Math.max(0, totalSec - (last + 1) * frameSec);
+            return new PauseStatsDto(count, silentFrames * frameSec, longest * frameSec, leading, trailing);
+        }
+    }
+
+    /** PCM을 한 번 훑어 프레임별 RMS와 음성 여부를 계산한다. (16bit mono 기준) */
+    public Result detect(WavWindowReader reader) {
+        int sampleRate = reader.getSampleRate();
+        int frameSamples = Math.max(1, sampleRate * frameMs / 1000);
+        long totalSamples = reader.getTotalFrames();
+        int frames = (int) ((totalSamples + frameSamples - 1) / frameSamples);
+
+        float[] rms = new float[frames];
+        long sample = 0;
+        for (int f = 0; f < frames; f++) {
+            long end = Math.min(totalSamples, sample + frameSamples);
+            double sum = 0;
+            int n = 0;
+            for (; sample < end; sample++, n++) {
+                int v = reader.sample(sample);
+                sum += (double) v * v;
+            }
+            rms[f] = n > 0 ? (float) Math.sqrt(sum / n) : 0f;
+        }
+        return classify(sampleRate, frameSamples, totalSamples, rms);
+    }
+
+    /**
+     * 이미 메모리에 있는 윈도우 바이트(44바이트 WAV 헤더 + 16bit mono PCM)를 한 번 훑는다.
+     * 전사 업로드에 쓰는 버퍼를 그대로 읽으므로 파일을 다시 읽지 않는다. 16bit mono가 아니면 null.
+     */
+    public Result detect(byte[] wav) {
+        ByteBuffer pcm = ByteBuffer.wrap(wav).order(ByteOrder.LITTLE_ENDIAN);
+        if (wav.length < WavWindowReader.HEADER_SIZE || pcm.getShort(22) != 1 || pcm.getShort(34) != 16) {
+            return null;
+        }
+        int sampleRate = pcm.getInt(24);
+        int frameSamples = Math.max(1, sampleRate * frameMs / 1000);
+        int totalSamples = (wav.length - WavWindowReader.HEADER_SIZE) / 2;
+        int frames = (totalSamples + frameSamples - 1) / frameSamples;
+
+        float[] rms = new float[frames];
+        int pos = WavWindowReader.HEADER_SIZE;
+        int sample = 0;
+        for (int f = 0; f < frames; f++) {
+            int end = Math.min(totalSamples, sample + frameSamples);
+            double sum = 0;
+            int n = 0;
+            for (; sample < end; sample++, n++, pos += 2) {
+                int v = pcm.getShort(pos);
+                sum += (double) v * v;
+            }
+            rms[f] = n > 0 ? (float) Math.sqrt(sum / n) : 0f;
+        }
+        return classify(sampleRate, frameSamples, totalSamples, rms);
+    }
+
+    // 프레임 RMS → 임계값 판정 → 짧은 쉼 메우기
+    private Result classify(int sampleRate, int frameSamples, long totalSamples, float[] rms) {
+        int frames = rms.length;
+        float threshold = threshold(rms);
+        boolean[] speech = new boolean[frames];
+        for (int f = 0; f < frames; f++) {
+            speech[f] = rms[f] >= threshold;
+        }
+        fillShortPauses(speech, Math.max(1, minPauseMs / frameMs));
+
+        return new Result(sampleRate, frameSamples, totalSamples, rms, speech, threshold);
+    }
+
+    // 잡음 바닥(하위 10%) × 배수, 단 발화가 대부분인 녹음에서 과도하게 높아지지 않도록 중앙값의 절반으로 제한
+    private float threshold(float[] rms) {
+        if (rms.length == 0) {
+            return minRms;
+        }
+        float[] sorted = Arrays.copyOf(rms, rms.length);
+        Arrays.sort(sorted);
+        float floor = sorted[sorted.length / 10];
+        float median = sorted[sorted.length / 2];
+        return Math.max(minRms, Math.min(floor * (float) thresholdRatio, median * 0.5f));
+    }
+
+    // minPauseFrames보다 짧은 무음(음절 사이 간격)은 음성으로 메운다. (앞뒤 가장자리 무음은 유지)
+    private static void fillShortPauses(boolean[] speech, int minPauseFrames) {
+        int f = 0;
+        while (f < speech.length && !speech[f]) {
+            f++;
+        }
+        while (f < speech.length) {
+            if (speech[f]) {
+                f++;
+                continue;
+            }
+            int runStart = f;
+            while (f < speech.length && !speech[f]) {
+                f++;
+            }
+            if (f < speech.length && f - runStart < minPauseFrames) {
+                Arrays.fill(speech, runStart, f, true);
+            }
+        }
+    }
+
+    /**
+     * VAD 결과로 분석 윈도우를 나눈다.
+     * - 앞뒤 무음과 longSilenceSec 이상의 무음 구간은 어느 윈도우에도 포함하지 않는다.
+     * - 윈도우가 windowSec에 도달하면 직전 maxShiftSec 안에서 가장 긴 쉼의 가운데에서 자른다.
+     */
+    public List<AudioWindow> planWindows(Result vad, double windowSec) {
+        List<AudioWindow> windows = new ArrayList<>();
+        boolean[] speech = vad.speech;
+        int total = speech.length;
+        int frameSamples = vad.frameSamples;
+
+        int winFrames = Math.max(1, (int) Math.round(windowSec * 1000 / frameMs));
+        int shiftFrames = (int) Math.round(maxShiftSec * 1000 / frameMs);
+        int longFrames = Math.max(1, (int) Math.round(longSilenceSec * 1000 / frameMs));
+        int padFrames = paddingMs / frameMs;
+
+        int pos = 0;
+        while (pos < total) {
+            // 윈도우 시작 전 무음 건너뛰기 (음성 직전 padding은 남김)
+            int s = pos;
+            while (s < total && !speech[s]) {
+                s++;
+            }
+            if (s >= total) {
+                break; // 남은 구간은 모두 무음
+            }
+            int start = Math.max(pos, s - padFrames);
+            int target = start + winFrames;
+
+            int end;
+            int longStart = findLongSilence(speech, start, target, longFrames);
+            if (longStart >= 0) {
+                end = Math.min(longStart + padFrames, total); // 긴 무음 직전에서 자름
+            } else if (target >= total) {
+                end = lastSpeechEnd(speech, start, total, padFrames);
+            } else {
+                end = bestCut(vad, Math.max(start + 1, target - shiftFrames), target);
+            }
+            end = Math.max(end, start + 1); // 항상 앞으로 진행
+
+            long startSample = (long) start * frameSamples;
+            long endSample = Math.min(vad.totalSamples, (long) end * frameSamples);
+            windows.add(new AudioWindow(windows.size(), startSample, endSample, vad.sampleRate));
+            pos = end;
+        }
+        return windows;
+    }
+
+    // [start, target) 안에서 시작하는 longFrames 이상 무음 구간의 시작 프레임, 없으면 -1
+    private static int findLongSilence(boolean[] speech, int start, int target, int longFrames) {
+        int runStart = -1;
+        for (int f = start; f < speech.length; f++) {
+            if (!speech[f]) {
+                if (runStart < 0) {
+                    if (f >= target) {
+                        return -1;
+                    }
+                    runStart = f;
+                }
+                if (f - runStart + 1 >= longFrames) {
+                    return runStart;
+                }
+            } else {
+                if (f >= target) {
+                    return -1;
+                }
+                runStart = -1;
+            }
+        }
+        return -1;
+    }
+
+    // 마지막 음성 프레임 + padding (끝의 무음 제외)
+    private static int lastSpeechEnd(boolean[] speech, int start, int total, int padFrames) {
+        int last = total - 1;
+        while (last > start && !speech[last]) {
+            last--;
+        }
+        return Math.min(total, last + 1 + padFrames);
+    }
+
+    // [lo, hi] 에서 가장 긴 무음 구간의 가운데 (같으면 hi에 가까운 쪽), 무음이 없으면 RMS 최소 프레임
+    private static int bestCut(Result vad, int lo, int hi) {
+        int bestLen = 0;
+        int bestCut = -1;
+        int runStart = -1;
+        for (int f = lo; f <= hi; f++) {
+            boolean silent = !vad.speech[f];
+            if (silent && runStart < 0) {
+                runStart = f;
+            }
+            if (runStart >= 0 && (!silent || f == hi)) {
+                int runEnd = silent ? f + 1 : f;
+                int len = runEnd - runStart;
+                if (len >= bestLen) {
+                    bestLen = len;
+                    bestCut = (runStart + runEnd) / 2;
+                }
+                runStart = -1;
+            }
+        }
+        if (bestCut >= 0) {
+            return Math.max(lo, bestCut);
+        }
+
+        int minFrame = hi;
+        for (int f = hi; f >= lo; f--) {
+            if (vad.rms[f] < vad.rms[minFrame]) {
+                minFrame = f;
+            }
+        }
+        return minFrame;
+    }
+}
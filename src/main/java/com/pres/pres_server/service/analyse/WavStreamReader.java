@@ -0,0 +1,159 @@
+package com.pres.pres_server.service.analyse;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * ffmpeg stdout(pipe)으로 흘러나오는 PCM WAV를 앞에서부터 윈도우 단위로 읽는다.
+ * 전체 파일을 디스크에 쓰거나 메모리에 올리지 않고, 한 번에 윈도우 하나 분량만 읽어
+ * 44바이트 헤더 + PCM 바이트(byte[])로 돌려준다.
+ *
+ * 파이프로 기록된 WAV는 data 청크 크기가 0 또는 0xFFFFFFFF(미정)일 수 있으므로
+ * 이 경우 전체 길이는 스트림 끝까지 읽어야 알 수 있다. (getTotalFrames() == -1)
+ * 단일 스레드(읽기 루프)에서만 사용한다.
+ */
+public class WavStreamReader implements AutoCloseable {
+    private static final int MIN_FMT_SIZE = 16; // PCMWAVEFORMAT
+    private static final int MAX_FMT_SIZE = 1024; // WAVE_FORMAT_EXTENSIBLE(40) + 여유
+
+    private final InputStream in;
+    private final int sampleRate;
+    private final int channels;
+    private final int bitsPerSample;
+    private final int blockAlign;
+    private final long declaredDataLength; // -1: 알 수 없음
+    private long framesRead;
+
+    private WavStreamReader(InputStream in, int sampleRate, int channels, int bitsPerSample,
+            long declaredDataLength) {
+        this.in = in;
+        this.sampleRate = sampleRate;
+        this.channels = channels;
+        this.bitsPerSample = bitsPerSample;
+        this.blockAlign = channels * bitsPerSample / 8;
+        this.declaredDataLength = declaredDataLength;
+    }
+
+    /**
+     * RIFF 헤더를 data 청크 시작까지 읽는다. 이후 스트림 위치는 첫 PCM 바이트.
+     * 헤더가 깨졌으면 (fmt 청크 크기/값이 비정상 등) 런타임 예외 대신 IOException.
+     */
+    public static WavStreamReader open(InputStream stream) throws IOException {
+        InputStream in = stream instanceof BufferedInputStream ? stream : new BufferedInputStream(stream, 64 * 1024);
+        try {
+            ByteBuffer head = ByteBuffer.wrap(readBytes(in, 12)).order(ByteOrder.LITTLE_ENDIAN);
+            if (head.getInt(0) != 0x46464952 /* RIFF */ || head.getInt(8) != 0x45564157 /* WAVE */) {
+                throw new IOException("RIFF/WAVE 형식이 아닙니다.");
+            }
+
+            int sampleRate = -1;
+            int channels = -1;
+            int bits = -1;
+            while (true) {
+                ByteBuffer chunk = ByteBuffer.wrap(readBytes(in, 8)).order(ByteOrder.LITTLE_ENDIAN);
+                int id = chunk.getInt(0);
+                long size = Integer.toUnsignedLong(chunk.getInt(4));
+
+                if (id == 0x20746d66 /* "fmt " */) {
+                    if (size < MIN_FMT_SIZE || size > MAX_FMT_SIZE) {
+                        throw new IOException("fmt 청크 크기가 올바르지 않습니다: " + size);
+                    }
+                    ByteBuffer fmt = ByteBuffer.wrap(readBytes(in, (int) size)).order(ByteOrder.LITTLE_ENDIAN);
+                    int audioFormat = fmt.getShort(0) & 0xffff;
+                    channels = fmt.getShort(2) & 0xffff;
+                    sampleRate = fmt.getInt(4);
+                    bits = fmt.getShort(14) & 0xffff;
+                    if (audioFormat != 1 && audioFormat != 0xFFFE) {
+                        throw new IOException("PCM WAV가 아닙니다 (format=" + audioFormat + ")");
+                    }
+                    if (channels == 0 || sampleRate <= 0 || bits == 0 || bits % 8 != 0) {
+                        throw new IOException("fmt 청크 값이 올바르지 않습니다 (channels=" + channels
+                                + ", sampleRate=" + sampleRate + ", bits=" + bits + ")");
+                    }
+                    in.skipNBytes(size & 1);
+                } else if (id == 0x61746164 /* "data" */) {
+                    if (sampleRate <= 0) {
+                        throw new IOException("fmt 청크가 data 청크보다 뒤에 있습니다.");
+                    }
+                    long declared = size == 0 || size == 0xFFFFFFFFL ? -1 : size;
+                    return new WavStreamReader(in, sampleRate, channels, bits, declared);
+                } else {
+                    in.skipNBytes(size + (size & 1)); // LIST 등 부가 청크
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    private static byte[] readBytes(InputStream in, int n) throws IOException {
+        byte[] buf = in.readNBytes(n);
+        if (buf.length < n) {
+            throw new EOFException("WAV 헤더를 읽는 중 스트림 끝에 도달했습니다.");
+        }
+        return buf;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public int getChannels() {
+        return channels;
+    }
+
+    public int getBitsPerSample() {
+        return bitsPerSample;
+    }
+
+    /** 헤더에 기록된 전체 frame 수, 파이프 출력처럼 미정이면 -1 */
+    public long getTotalFrames() {
+        return declaredDataLength < 0 ? -1 : declaredDataLength / blockAlign;
+    }
+
+    /** 지금까지 읽은 frame 수 (스트림 끝까지 읽은 뒤에는 전체 길이) */
+    public long getFramesRead() {
+        return framesRead;
+    }
+
+    public double getSecondsRead() {
+        return (double) framesRead / sampleRate;
+    }
+
+    /**
+     * 다음 최대 frames 분량을 독립된 WAV 바이트(헤더 포함)로 읽는다.
+     * 스트림 끝이면 null, 마지막 윈도우는 frames보다 짧을 수 있다.
+     */
+    public byte[] nextWindow(long frames) throws IOException {
+        long remaining = declaredDataLength < 0 ? Long.MAX_VALUE : declaredDataLength / blockAlign - framesRead;
+        int pcmLength = (int) (Math.min(frames, remaining) * blockAlign);
+        if (pcmLength <= 0) {
+            return null;
+        }
+
+        byte[] out = new byte[WavWindowReader.HEADER_SIZE + pcmLength];
+        int read = in.readNBytes(out, WavWindowReader.HEADER_SIZE, pcmLength);
+        read -= read % blockAlign; // 잘린 마지막 frame은 버림
+        if (read <= 0) {
+            return null;
+        }
+        if (read < pcmLength) {
+            byte[] shorter = new byte[WavWindowReader.HEADER_SIZE + read];
+            System.arraycopy(out, WavWindowReader.HEADER_SIZE, shorter, WavWindowReader.HEADER_SIZE, read);
+            out = shorter;
+        }
+        WavWindowReader.writeHeader(out, sampleRate, channels, bitsPerSample, read);
+        framesRead += read / blockAlign;
+        return out;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,181 @@
+package com.pres.pres_server.service.analyse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * ffmpeg로 변환된 PCM WAV 파일을 한 번만 열어(memory-mapped) 윈도우 단위로 잘라낸다.
+ * 윈도우마다 ffmpeg 프로세스와 임시 파일을 만들지 않고, 44바이트 헤더 + PCM 구간을
+ * 바로 업로드 바디(byte[])로 만들어 준다.
+ *
+ * 매핑된 버퍼는 절대 위치(get(index, ...))로만 읽으므로 여러 스레드에서 동시에 window()를 호출해도 안전하다.
+ */
+public class WavWindowReader implements AutoCloseable {
+    public static final int HEADER_SIZE = 44;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer data;
+    private final int sampleRate;
+    private final int channels;
+    private final int bitsPerSample;
+    private final int blockAlign;
+    private final long dataLength;
+
+    private WavWindowReader(FileChannel channel, MappedByteBuffer data, int sampleRate, int channels,
+            int bitsPerSample, long dataLength) {
+        this.channel = channel;
+        this.data = data;
+        this.data.order(ByteOrder.LITTLE_ENDIAN); // 공유 전에 한 번만 설정 (이후 절대 위치 읽기만 사용)
+        this.sampleRate = sampleRate;
+        this.channels = channels;
+        this.bitsPerSample = bitsPerSample;
+        this.blockAlign = channels * bitsPerSample / 8;
+        this.dataLength = dataLength;
+    }
+
+    public static WavWindowReader open(File wavFile) throws IOException {
+        FileChannel channel = FileChannel.open(wavFile.toPath(), StandardOpenOption.READ);
+        try {
+            long fileSize = channel.size();
+            ByteBuffer head = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, head, 0);
+            if (head.getInt(0) != 0x46464952 /* RIFF */ || head.getInt(8) != 0x45564157 /* WAVE */) {
+                throw new IOException("RIFF/WAVE 형식이 아닙니다: " + wavFile.getName());
+            }
+
+            int sampleRate = -1;
+            int channels = -1;
+            int bits = -1;
+            long pos = 12;
+            ByteBuffer chunk = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+            while (pos + 8 <= fileSize) {
+                chunk.clear();
+                readFully(channel, chunk, pos);
+                int id = chunk.getInt(0);
+                long size = Integer.toUnsignedLong(chunk.getInt(4));
+                long body = pos + 8;
+
+                if (id == 0x20746d66 /* "fmt " */) {
+                    ByteBuffer fmt = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+                    readFully(channel, fmt, body);
+                    int audioFormat = fmt.getShort(0) & 0xffff;
+                    channels = fmt.getShort(2) & 0xffff;
+                    sampleRate = fmt.getInt(4);
+                    bits = fmt.getShort(14) & 0xffff;
+                    // 1 = PCM, 0xFFFE = WAVE_FORMAT_EXTENSIBLE (ffmpeg가 다채널에서 사용)
+                    if (audioFormat != 1 && audioFormat != 0xFFFE) {
+                        throw new IOException("PCM WAV가 아닙니다 (format=" + audioFormat + ")");
+                    }
+                } else if (id == 0x61746164 /* "data" */) {
+                    if (sampleRate <= 0) {
+                        throw new IOException("fmt 청크가 data 청크보다 뒤에 있습니다.");
+                    }
+                    // 스트리밍으로 기록된 WAV는 크기가 0 또는 0xFFFFFFFF일 수 있으므로 파일 크기로 보정
+                    long length = Math.min(size == 0 ? Long.MAX_VALUE : size, fileSize - body);
+                    if (length > Integer.MAX_VALUE) {
+                        throw new IOException("WAV 데이터가 너무 큽니다: " + length + " bytes");
+                    }
+                    MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, body, length);
+                    return new WavWindowReader(channel, mapped, sampleRate, channels, bits, length);
+                }
+                pos = body + size + (size & 1); // 청크는 짝수 바이트로 패딩됨
+            }
+            throw new IOException("data 청크를 찾을 수 없습니다: " + wavFile.getName());
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer dst, long position) throws IOException {
+        while (dst.hasRemaining()) {
+            int n = channel.read(dst, position + dst.position());
+            if (n < 0) {
+                throw new IOException("WAV 헤더를 읽는 중 파일 끝에 도달했습니다.");
+            }
+        }
+    }
+
+    /** 전체 길이(초) — 헤더 정보만으로 계산한다. */
+    public double getDurationSec() {
+        return (double) getTotalFrames() / sampleRate;
+    }
+
+    public long getTotalFrames() {
+        return dataLength / blockAlign;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public int getChannels() {
+        return channels;
+    }
+
+    public int getBitsPerSample() {
+        return bitsPerSample;
+    }
+
+    /** 16bit PCM 여부 (VAD 등 샘플 단위 분석 가능 여부) */
+    public boolean isPcm16() {
+        return bitsPerSample == 16;
+    }
+
+    /**
+     * frame 위치의 첫 번째 채널 16bit 샘플 값. (mono 16bit 변환 결과 기준, 버퍼 복사 없이 직접 읽음)
+     */
+    public short sample(long frame) {
+        return data.getShort((int) (frame * blockAlign));
+    }
+
+    /**
+     * [startSec, startSec + durSec) 구간을 독립된 WAV 파일 바이트(헤더 포함)로 반환한다.
+     */
+    public byte[] window(double startSec, double durSec) {
+        long startFrame = Math.round(startSec * sampleRate);
+        long endFrame = Math.min(getTotalFrames(), Math.round((startSec + durSec) * sampleRate));
+        return windowFrames(startFrame, endFrame);
+    }
+
+    /** 프레임(샘플) 인덱스 기준 [startFrame, endFrame) 구간을 WAV 바이트로 반환한다. */
+    public byte[] windowFrames(long startFrame, long endFrame) {
+        startFrame = Math.max(0, startFrame);
+        endFrame = Math.min(getTotalFrames(), endFrame);
+        int pcmLength = (int) Math.max(0, (endFrame - startFrame) * blockAlign);
+
+        byte[] out = new byte[HEADER_SIZE + pcmLength];
+        writeHeader(out, sampleRate, channels, bitsPerSample, pcmLength);
+        data.get((int) (startFrame * blockAlign), out, HEADER_SIZE, pcmLength);
+        return out;
+    }
+
+    /** 표준 44바이트 PCM WAV 헤더를 dst 앞부분에 기록한다. */
+    public static void writeHeader(byte[] dst, int sampleRate, int channels, int bitsPerSample, int pcmLength) {
+        int blockAlign = channels * bitsPerSample / 8;
+        ByteBuffer h = ByteBuffer.wrap(dst, 0, HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        h.putInt(0x46464952); // RIFF
+        h.putInt(36 + pcmLength);
+        h.putInt(0x45564157); // WAVE
+        h.putInt(0x20746d66); // "fmt "
+        h.putInt(16);
+        h.putShort((short) 1); // PCM
+        h.putShort((short) channels);
+        h.putInt(sampleRate);
+        h.putInt(sampleRate * blockAlign);
+        h.putShort((short) blockAlign);
+        h.putShort((short) bitsPerSample);
+        h.putInt(0x61746164); // "data"
+        h.putInt(pcmLength);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,183 @@
+package com.pres.pres_server.service.analyse;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 세션 전체의 단어 타임스탬프를 시작 시각 순 primitive 배열(start/end ms)로 모은 색인.
+ *
+ * 윈도우는 완료 순서대로 들어오므로 추가는 뒤에 이어 붙이기만 하고, 순서가 어긋났으면 첫 조회 때 한 번 정렬한다.
+ * 추임새 여부는 누적 개수 배열로 들고 있어 "3분대 추임새 수" 같은 구간 질의가 이진 탐색 두 번으로 끝난다.
+ *
+ * 스레드 안전하지 않다. (AnalyseSummaryBuilder 안에서 동기화되어 사용됨)
+ */
+public class WordTimeline {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final Set<String> fillers;
+    private String[] words = new String[INITIAL_CAPACITY];
+    private int[] startMs = new int[INITIAL_CAPACITY];
+    private int[] endMs = new int[INITIAL_CAPACITY];
+    private int size;
+    private boolean sorted = true;
+    private int[] fillerPrefix; // fillerPrefix[i] = [0, i) 구간 추임새 수 (조회 시 계산, 추가하면 무효화)
+
+    public WordTimeline(Collection<String> fillers) {
+        this.fillers = new HashSet<>();
+        for (String f : fillers) {
+            this.fillers.add(normalize(f));
+        }
+    }
+
+    /** 윈도우 하나의 단어들 (시작 시각 순, 녹음 기준 ms) */
+    public void add(String[] windowWords, int[] windowStartMs, int[] windowEndMs) {
+        int n = windowWords.length;
+        if (n == 0) {
+            return;
+        }
+        ensureCapacity(size + n);
+        if (size > 0 && windowStartMs[0] < startMs[size - 1]) {
+            sorted = false;
+        }
+        System.arraycopy(windowWords, 0, words, size, n);
+        System.arraycopy(windowStartMs, 0, startMs, size, n);
+        System.arraycopy(windowEndMs, 0, endMs, size, n);
+        size += n;
+        fillerPrefix = null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String word(int i) {
+        index();
+        return words[i];
+    }
+
+    public int startMs(int i) {
+        index();
+        return startMs[i];
+    }
+
+    public int endMs(int i) {
+        index();
+        return endMs[i];
+    }
+
+    public boolean isFiller(int i) {
+        index();
+        return fillerPrefix[i + 1] > fillerPrefix[i];
+    }
+
+    /** 시작 시각이 ms 이상인 첫 단어 위치 (없으면 size) */
+    public int indexAt(int ms) {
+        index();
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (startMs[mid] < ms) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /** [fromMs, toMs) 에서 시작하는 단어 수 */
+    public int countBetween(int fromMs, int toMs) {
+        return Math.max(0, indexAt(toMs) - indexAt(fromMs));
+    }
+
+    /** [fromMs, toMs) 에서 시작하는 추임새 수 */
+    public int fillerCountBetween(int fromMs, int toMs) {
+        int from = indexAt(fromMs);
+        int to = Math.max(from, indexAt(toMs));
+        return fillerPrefix[to] - fillerPrefix[from];
+    }
+
+    /** 추임새 단어의 시작 시각 (ms, 오름차순) */
+    public int[] fillerStartsMs() {
+        return fillerStartsMs(Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /** [fromMs, toMs) 에서 시작하는 추임새 단어의 시작 시각 */
+    public int[] fillerStartsMs(int fromMs, int toMs) {
+        int from = indexAt(fromMs);
+        int to = Math.max(from, indexAt(toMs));
+        int[] result = new int[fillerPrefix[to] - fillerPrefix[from]];
+        for (int i = from, k = 0; i < to; i++) {
+            if (fillerPrefix[i + 1] > fillerPrefix[i]) {
+                result[k++] = startMs[i];
+            }
+        }
+        return result;
+    }
+
+    /** 단어의 앞뒤 문장부호를 떼고 소문자로 바꾼 값이 추임새 사전에 있는지 */
+    public boolean matchesFiller(String word) {
+        return fillers.contains(normalize(word));
+    }
+
+    // 정렬(필요할 때만) + 추임새 누적 개수
+    private void index() {
+        if (!sorted) {
+            sortByStart();
+            sorted = true;
+        }
+        if (fillerPrefix == null) {
+            fillerPrefix = new int[size + 1];
+            for (int i = 0; i < size; i++) {
+                fillerPrefix[i + 1] = fillerPrefix[i] + (matchesFiller(words[i]) ? 1 : 0);
+            }
+        }
+    }
+
+    // (시작 ms << 32 | 원래 위치) 를 정렬해 같은 시각은 들어온 순서를 유지
+    private void sortByStart() {
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = (long) startMs[i] << 32 | i;
+        }
+        Arrays.sort(keys);
+        String[] w = new String[words.length];
+        int[] s = new int[startMs.length];
+        int[] e = new int[endMs.length];
+        for (int k = 0; k < size; k++) {
+            int i = (int) keys[k];
+            w[k] = words[i];
+            s[k] = startMs[i];
+            e[k] = endMs[i];
+        }
+        words = w;
+        startMs = s;
+        endMs = e;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= startMs.length) {
+            return;
+        }
+        int grown = Math.max(capacity, startMs.length * 2);
+        words = Arrays.copyOf(words, grown);
+        startMs = Arrays.copyOf(startMs, grown);
+        endMs = Arrays.copyOf(endMs, grown);
+    }
+
+    private static String normalize(String word) {
+        int from = 0;
+        int to = word.length();
+        while (from < to && !Character.isLetterOrDigit(word.charAt(from))) {
+            from++;
+        }
+        while (to > from && !Character.isLetterOrDigit(word.charAt(to - 1))) {
+            to--;
+        }
+        return word.substring(from, to).toLowerCase(Locale.ROOT);
+    }
+}
@@ -8,18 +8,22 @@ import com.pres.pres_server.repository.ExtractedTextRepository;
 import com.pres.pres_server.dto.file.SlideContentInfo;
 import com.pres.pres_server.dto.file.PdfPageInfo;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
 import org.apache.poi.xslf.usermodel.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ExtractTextService {
@@ -65,12 +69,13 @@ public class ExtractTextService {
                 throw new IllegalArgumentException("지원하지 않는 파일 형식입니다: " + fileName);
             }
 
-            // DB 저장 (기존 방식 사용)
-            ExtractedText extractedText = new ExtractedText(presentationFile, fullText, slideTexts);
-            extractedTextRepository.save(extractedText);
+            // DB 저장 (같은 파일을 다시 추출하면 기존 행 갱신)
+            SavedText saved = saveExtractedText(fileId, presentationFile, fullText, slideTexts);
+            ExtractedText extractedText = saved.extractedText();
 
             // 텍스트 부족한 슬라이드 검증
             ExtractedTextDto result = validateSlideContent(new ExtractedTextDto(fullText, slideTexts));
+            result.setChangedSlides(saved.changedSlides());
 
             // 검증 결과를 ExtractedText에 업데이트
             extractedText
@@ -131,12 +136,13 @@ public class ExtractTextService {
         PresentationFile presentationFile = presentationFileRepository.findById(fileId)
                 .orElseThrow(() -> new RuntimeException("파일을 찾을 수 없습니다: " + fileId));
 
-        // ExtractedText 엔티티 생성 및 저장
-        ExtractedText extractedText = new ExtractedText(presentationFile, fullText, slideTexts);
-        extractedTextRepository.save(extractedText);
+        // ExtractedText 엔티티 생성(또는 기존 행 갱신) 및 저장
+        SavedText saved = saveExtractedText(fileId, presentationFile, fullText, slideTexts);
+        ExtractedText extractedText = saved.extractedText();
 
         // 텍스트 부족한 슬라이드 검증
         ExtractedTextDto result = validateSlideContent(new ExtractedTextDto(fullText, slideTexts));
+        result.setChangedSlides(saved.changedSlides());
 
         // 검증 결과를 ExtractedText에 업데이트
         extractedText
@@ -149,11 +155,53 @@ public class ExtractTextService {
         return result;
     }
 
-    // 기존 파일 ID로 슬라이드 텍스트 조회
+    private record SavedText(ExtractedText extractedText, List<Integer> changedSlides) {
+    }
+
+    // 파일당 ExtractedText 하나: 다시 추출하면 기존 행을 갱신하고, 슬라이드별 해시로 직전 버전 대비 바뀐 슬라이드를 구한다
+    // (직전 버전 = 같은 파일의 이전 추출, 없으면 같은 프로젝트에서 직전에 올린 파일)
+    private SavedText saveExtractedText(Long fileId, PresentationFile presentationFile, String fullText,
+            List<String> slideTexts) {
+        List<String> hashes = SlideDiff.hashesOf(slideTexts);
+        ExtractedText extractedText = extractedTextRepository.findByPresentationFile_FileId(fileId).orElse(null);
+
+        String previousHashes = null;
+        if (extractedText != null) {
+            previousHashes = extractedText.getSlideHashes();
+        } else if (presentationFile.getProject() != null) {
+            previousHashes = presentationFileRepository
+                    .findFirstByProject_ProjectIdAndFileIdLessThanOrderByFileIdDesc(
+                            presentationFile.getProject().getProjectId(), fileId)
+                    .flatMap(previous -> extractedTextRepository.findByPresentationFile_FileId(previous.getFileId()))
+                    .map(ExtractedText::getSlideHashes)
+                    .orElse(null);
+        }
+
+        if (extractedText == null) {
+            extractedText = new ExtractedText(presentationFile, fullText, slideTexts);
+        } else {
+            extractedText.setFullText(fullText);
+            extractedText.setSlideTexts(slideTexts);
+            extractedText.setExtractedAt(LocalDateTime.now());
+        }
+        extractedText.setSlideHashes(SlideDiff.join(hashes));
+        extractedTextRepository.save(extractedText);
+
+        List<Integer> changed = previousHashes != null
+                ? SlideDiff.changedSlides(SlideDiff.split(previousHashes), hashes)
+                : null;
+        if (changed != null) {
+            log.info("파일 ID {} 슬라이드 {}장 중 변경/추가 {}장: {}", fileId, hashes.size(), changed.size(), changed);
+        }
+        return new SavedText(extractedText, changed);
+    }
+
+    // 기존 파일 ID로 슬라이드 텍스트 조회 (LAZY 컬렉션을 트랜잭션 안에서 복사)
+    @Transactional(readOnly = true)
     public List<String> getSlideTextsByFileId(Long fileId) {
         ExtractedText extractedText = extractedTextRepository.findByPresentationFile_FileId(fileId)
                 .orElseThrow(() -> new IllegalArgumentException("추출된 텍스트를 찾을 수 없습니다: " + fileId));
-        return extractedText.getSlideTexts();
+        return new ArrayList<>(extractedText.getSlideTexts());
     }
 
     // PDF 페이지별 텍스트 추출 및 전체 텍스트 반환
@@ -287,12 +335,14 @@ public class ExtractTextService {
         return currentSlideInfos;
     }
 
-    // 파일 ID로 ExtractedText 전체 조회
+    // 파일 ID로 ExtractedText 전체 조회 (LAZY 컬렉션을 트랜잭션 안에서 복사)
+    @Transactional(readOnly = true)
     public ExtractedTextDto getExtractedTextByFileId(Long fileId) {
         ExtractedText extractedText = extractedTextRepository.findByPresentationFile_FileId(fileId)
                 .orElseThrow(() -> new IllegalArgumentException("추출된 텍스트를 찾을 수 없습니다: " + fileId));
 
-        ExtractedTextDto dto = new ExtractedTextDto(extractedText.getFullText(), extractedText.getSlideTexts());
+        ExtractedTextDto dto = new ExtractedTextDto(extractedText.getFullText(),
+                new ArrayList<>(extractedText.getSlideTexts()));
 
         // 검증 결과 정보도 포함
         if (extractedText.getInsufficientSlides() != null) {
@@ -4,14 +4,19 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.regex.Pattern;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 
 import com.pres.pres_server.dto.CueCardDto;
@@ -21,13 +26,18 @@ import com.pres.pres_server.domain.PresentationFile;
 import com.pres.pres_server.repository.CueCardRepository;
 import com.pres.pres_server.repository.PresentationFileRepository;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class GenerateCueService {
+    // 응답 캐시 키에 들어가는 값 (프롬프트 템플릿을 고치면 버전을 올려 이전 응답을 무효화)
+    private static final String PROMPT_VERSION = "cue-v1";
+    private static final String MODEL = "gpt-4o-mini";
+    private static final double TEMPERATURE = 0.7;
+    // 재사용한 카드의 슬라이드 번호 줄 ("슬라이드 N") → 새 번호로 교체
+    private static final Pattern SLIDE_HEADER = Pattern.compile("(?m)^슬라이드 \\d+$");
+
     @Value("${openai.api.key}")
     private String OPENAI_API_KEY;
 
@@ -35,9 +45,35 @@ public class GenerateCueService {
     private final ExtractTextService extractTextService;
     private final CueCardRepository cueCardRepository;
     private final PresentationFileRepository presentationFileRepository;
+    private final Executor llmExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final LlmResponseCache llmCache;
+
+    public GenerateCueService(
+            RestTemplate restTemplate,
+            ExtractTextService extractTextService,
+            CueCardRepository cueCardRepository,
+            PresentationFileRepository presentationFileRepository,
+            @Qualifier("llmExecutor") Executor llmExecutor,
+            TransactionTemplate transactionTemplate,
+            LlmResponseCache llmCache) {
+        this.restTemplate = restTemplate;
+        this.extractTextService = extractTextService;
+        this.cueCardRepository = cueCardRepository;
+        this.presentationFileRepository = presentationFileRepository;
+        this.llmExecutor = llmExecutor;
+        this.transactionTemplate = transactionTemplate;
+        this.llmCache = llmCache;
+    }
 
-    @Transactional
     public CueCardDto generateCueCards(Long fileId) {
+        return generateCueCards(fileId, false);
+    }
+
+    // 트랜잭션 없음: 텍스트 조회(짧은 읽기 트랜잭션) → LLM 호출(커넥션 미사용) → 저장(짧은 쓰기 트랜잭션)
+    // 텍스트가 바뀌지 않은 슬라이드는 기존 큐카드(이 파일 또는 같은 프로젝트의 직전 업로드)를 그대로 쓰고, 새로/바뀐 슬라이드만 생성한다.
+    // regenerate: 기존 카드와 캐시된 응답을 쓰지 않고 모두 새로 생성 (새 응답으로 캐시 갱신)
+    public CueCardDto generateCueCards(Long fileId, boolean regenerate) {
         // 입력 값 검증
         if (fileId == null || fileId <= 0) {
             throw new IllegalArgumentException("유효하지 않은 파일 ID입니다: " + fileId);
@@ -62,34 +98,53 @@ public class GenerateCueService {
                 log.info("텍스트 부족 슬라이드: {}", insufficientSlides);
             }
 
-            List<String> cueCards = new ArrayList<>();
-            List<String> failedSlides = new ArrayList<>();
+            Map<String, String> reusable = regenerate ? Map.of()
+                    : transactionTemplate.execute(status -> reusableCueCards(fileId));
 
+            // 슬라이드별 요청을 llmExecutor 로 동시에 보내고, 결과는 슬라이드 순서대로 모은다
+            List<CompletableFuture<String>> pending = new ArrayList<>(slideTexts.size());
+            List<String> sourceHashes = new ArrayList<>(slideTexts.size());
+            int reused = 0;
             for (int i = 0; i < slideTexts.size(); i++) {
                 int slideNumber = i + 1;
                 String slideText = slideTexts.get(i);
                 log.info("슬라이드 {} 텍스트 길이: {}", slideNumber, slideText.length());
+                String sourceHash = SlideDiff.hashOf(slideText);
+                sourceHashes.add(sourceHash);
+
+                // 이미 검증된 결과 활용 - TextValidationService에서 부족하다고 판단된 슬라이드
+                if (insufficientSlides != null && insufficientSlides.contains(slideNumber)) {
+                    pending.add(CompletableFuture.completedFuture(
+                            "슬라이드 " + slideNumber + "\n[기본버전]\n(내용 부족 - 요약 생략)\n\n[심화버전]\n(내용 부족 – 요약 생략)"));
+                    sourceHashes.set(i, null); // 기본 문구는 재사용 대상 아님
+                    continue;
+                }
 
+                // 텍스트가 그대로인 슬라이드는 기존 큐카드 재사용
+                String previous = reusable.get(sourceHash);
+                if (previous != null) {
+                    pending.add(CompletableFuture.completedFuture(
+                            SLIDE_HEADER.matcher(previous).replaceAll("슬라이드 " + slideNumber)));
+                    reused++;
+                    continue;
+                }
+
+                // 새로/바뀐 슬라이드는 큐카드 생성
+                pending.add(CompletableFuture.supplyAsync(() -> generateCueCard(slideText, slideNumber, regenerate),
+                        llmExecutor));
+            }
+
+            List<String> cueCards = new ArrayList<>(pending.size());
+            List<String> failedSlides = new ArrayList<>();
+            for (int i = 0; i < pending.size(); i++) {
+                int slideNumber = i + 1;
                 try {
-                    // 이미 검증된 결과 활용 - TextValidationService에서 부족하다고 판단된 슬라이드
-                    if (insufficientSlides != null && insufficientSlides.contains(slideNumber)) {
-                        cueCards.add(
-                                "슬라이드 " + slideNumber + "\n[기본버전]\n(내용 부족 - 요약 생략)\n\n[심화버전]\n(내용 부족 – 요약 생략)");
-                        continue;
-                    }
-
-                    // 정상 텍스트는 큐카드 생성
-                    String prompt = buildCueCardPrompt(slideText, slideNumber);
-                    String cueCard = callAiModel(prompt);
-
-                    if (cueCard == null || cueCard.trim().isEmpty()) {
-                        throw new RuntimeException("AI 모델에서 빈 응답을 받았습니다.");
-                    }
-
-                    cueCards.add(cueCard);
-                } catch (Exception e) {
-                    log.error("슬라이드 {} 큐카드 생성 실패: {}", slideNumber, e.getMessage());
+                    cueCards.add(pending.get(i).join());
+                } catch (CompletionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    log.error("슬라이드 {} 큐카드 생성 실패: {}", slideNumber, cause.getMessage());
                     failedSlides.add("슬라이드 " + slideNumber);
+                    sourceHashes.set(i, null); // 다음 생성 때 재사용하지 않음
                     // 실패한 슬라이드는 기본 메시지로 대체
                     cueCards.add("슬라이드 " + slideNumber + "\n[기본버전]\n큐카드 생성에 실패했습니다. 다시 시도해주세요.\n\n[심화버전]\n큐카드 생성 실패");
                 }
@@ -100,8 +155,10 @@ public class GenerateCueService {
                 log.warn("파일 ID {}에서 실패한 슬라이드: {}", fileId, String.join(", ", failedSlides));
             }
 
-            // DB에 저장
-            saveCueCardsToDatabase(fileId, cueCards);
+            log.info("파일 ID {} 큐카드 {}장 중 재사용 {}장", fileId, slideTexts.size(), reused);
+
+            // DB에 저장 (이 구간만 트랜잭션)
+            transactionTemplate.executeWithoutResult(status -> saveCueCardsToDatabase(fileId, cueCards, sourceHashes));
 
             CueCardDto cueCardDto = new CueCardDto();
             cueCardDto.setFileId(fileId);
@@ -119,9 +176,49 @@ public class GenerateCueService {
         }
     }
 
-    // 큐카드를 DB에 저장 (Update 방식)
-    @Transactional
-    private void saveCueCardsToDatabase(Long fileId, List<String> cueCards) {
+    // 슬라이드 하나의 큐카드 (llmExecutor 스레드에서 실행). 프롬프트에 슬라이드 번호가 들어가므로 키에도 포함
+    private String generateCueCard(String slideText, int slideNumber, boolean regenerate) {
+        String key = llmCache.keyOf(PROMPT_VERSION, MODEL, TEMPERATURE, slideNumber + "\0" + slideText);
+        if (!regenerate) {
+            String cached = llmCache.get(key);
+            if (cached != null) {
+                log.info("슬라이드 {} 큐카드 캐시 사용", slideNumber);
+                return cached;
+            }
+        }
+
+        String prompt = buildCueCardPrompt(slideText, slideNumber);
+        String cueCard = callAiModel(prompt);
+
+        if (cueCard == null || cueCard.trim().isEmpty()) {
+            throw new RuntimeException("AI 모델에서 빈 응답을 받았습니다.");
+        }
+        llmCache.put(key, cueCard);
+        return cueCard;
+    }
+
+    // 재사용할 수 있는 큐카드 (슬라이드 텍스트 해시 → 내용): 같은 프로젝트 직전 업로드 파일의 카드 + 이 파일의 기존 카드(우선)
+    private Map<String, String> reusableCueCards(Long fileId) {
+        Map<String, String> reusable = new HashMap<>();
+        presentationFileRepository.findById(fileId)
+                .filter(file -> file.getProject() != null)
+                .flatMap(file -> presentationFileRepository.findFirstByProject_ProjectIdAndFileIdLessThanOrderByFileIdDesc(
+                        file.getProject().getProjectId(), fileId))
+                .ifPresent(previous -> collectCueCards(previous.getFileId(), reusable));
+        collectCueCards(fileId, reusable);
+        return reusable;
+    }
+
+    private void collectCueCards(Long fileId, Map<String, String> into) {
+        for (CueCard card : cueCardRepository.findByPresentationFile_FileIdOrderBySlideNumber(fileId)) {
+            if (card.getSourceHash() != null && card.getContent() != null) {
+                into.put(card.getSourceHash(), card.getContent());
+            }
+        }
+    }
+
+    // 큐카드를 DB에 저장 (Update 방식, transactionTemplate 안에서 호출). 내용이 그대로인 카드는 UPDATE 되지 않음
+    private void saveCueCardsToDatabase(Long fileId, List<String> cueCards, List<String> sourceHashes) {
         try {
             // PresentationFile 조회
             PresentationFile presentationFile = presentationFileRepository.findById(fileId)
@@ -161,6 +258,7 @@ public class GenerateCueService {
                     cueCard.setContent(content);
                     createCount++;
                 }
+                cueCard.setSourceHash(sourceHashes.get(i));
 
                 cueCardRepository.save(cueCard);
             }
@@ -299,11 +397,11 @@ public class GenerateCueService {
         headers.setBearerAuth(OPENAI_API_KEY);
 
         Map<String, Object> requestBody = new HashMap<>();
-        requestBody.put("model", "gpt-4o-mini"); // 가능하면 JSON 모드를 지원하는 최신으로
+        requestBody.put("model", MODEL); // 가능하면 JSON 모드를 지원하는 최신으로
         requestBody.put("messages", List.of(
                 Map.of("role", "system", "content", "너는 발표 큐카드를 생성하는 도우미야."),
                 Map.of("role", "user", "content", prompt)));
-        requestBody.put("temperature", 0.7);
+        requestBody.put("temperature", TEMPERATURE);
         requestBody.put("max_tokens", 2000);
 
         HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
@@ -13,6 +13,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 
 import com.fasterxml.jackson.core.json.JsonReadFeature;
@@ -36,6 +37,11 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 @RequiredArgsConstructor
 public class GenerateQnaService {
+    // 응답 캐시 키 / prompt_hash 에 들어가는 값 (프롬프트 템플릿을 고치면 버전을 올림)
+    private static final String PROMPT_VERSION = "qna-v1";
+    private static final String MODEL = "gpt-4o-mini";
+    private static final double TEMPERATURE = 0.7;
+
     @Value("${openai.api.key}")
     private String OPENAI_API_KEY;
 
@@ -43,18 +49,31 @@ public class GenerateQnaService {
     private final QnaQuestionRepository qnaQuestionRepository;
     private final QnaAnswerRepository qnaAnswerRepository;
     private final PresentationFileRepository presentationFileRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LlmResponseCache llmCache;
 
     // === 핵심 API 메서드들 ===
 
     // 1. Q&A 미리보기 (생성만, 저장 안함)
     public Map<String, String> generateQna(String extractedText) {
-        return generateQnaWithoutTransaction(extractedText);
+        return generateQnaWithoutTransaction(extractedText, false);
     }
 
-    // Q&A 생성 (트랜잭션 없음 - 외부 API 호출)
-    private Map<String, String> generateQnaWithoutTransaction(String extractedText) {
+    // Q&A 생성 (트랜잭션 없음 - 외부 API 호출). regenerate 가 아니면 같은 텍스트의 캐시된 응답을 쓴다.
+    // 캐시에는 파싱/저장까지 성공한 응답만 넣는다 (cacheResponse)
+    private Map<String, String> generateQnaWithoutTransaction(String extractedText, boolean regenerate) {
         validateExtractedText(extractedText);
 
+        if (!regenerate) {
+            String cached = llmCache.get(generatePromptHash(extractedText));
+            if (cached != null) {
+                log.info("Q&A 캐시 사용");
+                Map<String, String> result = new HashMap<>();
+                result.put("qna", cached);
+                return result;
+            }
+        }
+
         // Q&A 생성 (단일 호출로 변경)
         String qnaPrompt = buildQnaPrompt(extractedText);
         String qnaResponse = callAiModel(qnaPrompt);
@@ -72,17 +91,30 @@ public class GenerateQnaService {
         log.info("Q&A 생성 및 저장 시작 - fileId: {}", fileId);
         validateFileId(fileId);
 
+        // 발표 자료 텍스트가 그대로면 저장된 Q&A 를 그대로 쓴다 (LLM 호출, 삭제/재저장 생략)
+        List<QnaQuestion> existing = qnaQuestionRepository.findActiveByFileId(fileId);
+        if (!existing.isEmpty() && extractedText != null) {
+            String promptHash = generatePromptHash(extractedText);
+            if (existing.stream().allMatch(q -> promptHash.equals(q.getPrompt_hash()))) {
+                log.info("Q&A 재사용 (텍스트 변경 없음) - fileId: {}, 질문 수: {}", fileId, existing.size());
+                return existing;
+            }
+        }
+
         // 1단계: Q&A 생성 (트랜잭션 외부에서 실행)
         Map<String, String> generatedContent;
         try {
-            generatedContent = generateQnaWithoutTransaction(extractedText);
+            generatedContent = generateQnaWithoutTransaction(extractedText, false);
         } catch (Exception e) {
             log.error("Q&A 생성 실패 - fileId: {}, 오류: {}", fileId, e.getMessage(), e);
             throw new QnaGenerationException("Q&A 생성에 실패했습니다: " + e.getMessage(), e);
         }
 
-        // 2단계: DB 저장 (파싱 포함)
-        return saveQnaToDatabase(fileId, extractedText, generatedContent);
+        // 2단계: DB 저장 (파싱 포함). 같은 클래스 안 호출은 @Transactional 프록시를 거치지 않으므로 직접 트랜잭션을 연다
+        List<QnaQuestion> saved = transactionTemplate
+                .execute(status -> saveQnaToDatabase(fileId, extractedText, generatedContent));
+        cacheResponse(extractedText, generatedContent);
+        return saved;
     }
 
     // DB 저장만 담당하는 트랜잭션 메서드
@@ -189,7 +221,7 @@ public class GenerateQnaService {
                     question.setPresentationFile(presentationFile);
                     question.setBody(questionText.trim());
                     question.setOrigin("AI_GENERATED");
-                    question.setModel("gpt-4o-mini");
+                    question.setModel(MODEL);
                     question.setStatus("ACTIVE");
                     question.setPrompt_hash(generatePromptHash(extractedText));
                     question.setConfidence(0.8f);
@@ -217,7 +249,7 @@ public class GenerateQnaService {
                     answer.setAnswerType("AI_GENERATED");
                     answer.setBody(answerText.trim());
                     answer.setOrigin("AI_GENERATED");
-                    answer.setModel("gpt-4o-mini");
+                    answer.setModel(MODEL);
                     answer.setConfidence(0.8f);
                     answer.setCreatedAt(LocalDateTime.now());
                     answer.setUpdatedAt(LocalDateTime.now());
@@ -317,14 +349,17 @@ public class GenerateQnaService {
         // 1단계: Q&A 새로 생성 (트랜잭션 외부에서 실행)
         Map<String, String> generatedContent;
         try {
-            generatedContent = generateQnaWithoutTransaction(extractedText);
+            generatedContent = generateQnaWithoutTransaction(extractedText, true);
         } catch (Exception e) {
             log.error("Q&A 재생성 실패 - fileId: {}, 오류: {}", fileId, e.getMessage(), e);
             throw new QnaGenerationException("Q&A 재생성에 실패했습니다: " + e.getMessage(), e);
         }
 
-        // 2단계: DB 저장 (파싱 포함)
-        return saveQnaToDatabase(fileId, extractedText, generatedContent);
+        // 2단계: DB 저장 (파싱 포함, 짧은 쓰기 트랜잭션)
+        List<QnaQuestion> saved = transactionTemplate
+                .execute(status -> saveQnaToDatabase(fileId, extractedText, generatedContent));
+        cacheResponse(extractedText, generatedContent);
+        return saved;
     }
 
     // === 유틸리티 메서드들 ===
@@ -341,9 +376,14 @@ public class GenerateQnaService {
         }
     }
 
-    // 프롬프트 해시 생성 (중복 생성 방지용)
+    // 프롬프트 해시 = 응답 캐시 키 (템플릿 버전, 모델, temperature, 입력 텍스트의 SHA-256)
     private String generatePromptHash(String extractedText) {
-        return String.valueOf(extractedText.hashCode());
+        return llmCache.keyOf(PROMPT_VERSION, MODEL, TEMPERATURE, extractedText);
+    }
+
+    // 저장까지 성공한 응답만 캐시 (파싱되지 않는 응답이 재사용되지 않도록)
+    private void cacheResponse(String extractedText, Map<String, String> generatedContent) {
+        llmCache.put(generatePromptHash(extractedText), generatedContent.get("qna"));
     }
 
     // 기존 QnA 삭제 (내부 사용 - 트랜잭션 없음)
@@ -457,11 +497,11 @@ public class GenerateQnaService {
         headers.setBearerAuth(OPENAI_API_KEY);
 
         Map<String, Object> requestBody = new HashMap<>();
-        requestBody.put("model", "gpt-4o-mini");
+        requestBody.put("model", MODEL);
         requestBody.put("messages", List.of(
                 Map.of("role", "system", "content", "너는 발표 Q&A를 생성하는 전문가야. 반드시 JSON 형식으로만 응답해야 한다."),
                 Map.of("role", "user", "content", prompt)));
-        requestBody.put("temperature", 0.7);
+        requestBody.put("temperature", TEMPERATURE);
         requestBody.put("max_tokens", 2500);
 
         // JSON 형식 강제 설정
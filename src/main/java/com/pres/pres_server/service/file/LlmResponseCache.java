@@ -0,0 +1,41 @@
+package com.pres.pres_server.service.file;
+
+import org.springframework.stereotype.Component;
+
+import com.pres.pres_server.config.LlmProperties;
+import com.pres.pres_server.util.HashUtil;
+import com.pres.pres_server.util.RedisUtil;
+import com.pres.pres_server.util.TwoTierCache;
+
+/**
+ * (프롬프트 템플릿 버전, 모델, temperature, 입력 텍스트)의 SHA-256 → LLM 응답 캐시 (TwoTierCache).
+ * 덱을 복제하거나 같은 파일을 다시 올리면 바뀌지 않은 슬라이드의 큐카드/Q&A 는 OpenAI 를 다시 호출하지 않는다.
+ * 템플릿을 고치면 버전을 올려 이전 응답을 무효화한다.
+ */
+@Component
+public class LlmResponseCache {
+    private static final String KEY_PREFIX = "llm:response:";
+
+    private final TwoTierCache<String> cache;
+
+    public LlmResponseCache(LlmProperties properties, RedisUtil redisUtil) {
+        this.cache = TwoTierCache.ofStrings("LLM", KEY_PREFIX, properties.getCache(), redisUtil);
+    }
+
+    /** 캐시 키 (QnaQuestion.prompt_hash 로도 저장) */
+    public String keyOf(String promptVersion, String model, double temperature, String input) {
+        // 구분자 NUL: 필드 경계가 입력 텍스트와 섞이지 않도록
+        return HashUtil.sha256Hex(promptVersion + '\0' + model + '\0' + temperature + '\0' + input);
+    }
+
+    /** 캐시된 응답, 없으면 null */
+    public String get(String key) {
+        return cache.get(key);
+    }
+
+    public void put(String key, String response) {
+        if (response != null && !response.isBlank()) {
+            cache.put(key, response);
+        }
+    }
+}
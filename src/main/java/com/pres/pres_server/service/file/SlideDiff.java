@@ -0,0 +1,73 @@
+package com.pres.pres_server.service.file;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.pres.pres_server.util.HashUtil;
+
+/**
+ * 슬라이드 텍스트 해시로 덱 버전 사이의 같은 슬라이드를 찾는다.
+ *
+ * 해시는 공백을 하나로 접은 텍스트의 SHA-256 이라 줄바꿈/공백만 바뀐 슬라이드는 그대로로 본다.
+ * 슬라이드가 추가/삭제되어 번호가 밀려도 텍스트가 같으면 짝을 찾는다. (같은 텍스트가 여러 장이면 앞에서부터 짝지음)
+ */
+public final class SlideDiff {
+
+    private SlideDiff() {
+    }
+
+    public static String hashOf(String slideText) {
+        String normalized = slideText == null ? "" : slideText.strip().replaceAll("\\s+", " ");
+        return HashUtil.sha256Hex(normalized);
+    }
+
+    public static List<String> hashesOf(List<String> slideTexts) {
+        List<String> hashes = new ArrayList<>(slideTexts.size());
+        for (String text : slideTexts) {
+            hashes.add(hashOf(text));
+        }
+        return hashes;
+    }
+
+    // DB 컬럼(ExtractedText.slideHashes) 저장 형식: 쉼표 구분
+    public static String join(List<String> hashes) {
+        return String.join(",", hashes);
+    }
+
+    public static List<String> split(String joined) {
+        if (joined == null || joined.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.asList(joined.split(","));
+    }
+
+    /** current[i] 와 같은 텍스트였던 previous 의 위치 (없으면 -1) */
+    public static int[] match(List<String> previous, List<String> current) {
+        Map<String, ArrayDeque<Integer>> positions = new HashMap<>();
+        for (int i = 0; i < previous.size(); i++) {
+            positions.computeIfAbsent(previous.get(i), h -> new ArrayDeque<>()).add(i);
+        }
+        int[] matched = new int[current.size()];
+        for (int i = 0; i < current.size(); i++) {
+            ArrayDeque<Integer> queue = positions.get(current.get(i));
+            matched[i] = queue == null || queue.isEmpty() ? -1 : queue.poll();
+        }
+        return matched;
+    }
+
+    /** 직전 버전에 없던(새로 추가되었거나 내용이 바뀐) 슬라이드 번호 (1부터) */
+    public static List<Integer> changedSlides(List<String> previous, List<String> current) {
+        int[] matched = match(previous, current);
+        List<Integer> changed = new ArrayList<>();
+        for (int i = 0; i < matched.length; i++) {
+            if (matched[i] < 0) {
+                changed.add(i + 1);
+            }
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,355 @@
+package com.pres.pres_server.service.transcription;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import com.pres.pres_server.service.analyse.WavWindowReader;
+
+/**
+ * 16bit PCM WAV 윈도우를 무손실 FLAC으로 인코딩한다. (외부 라이브러리/프로세스 없음)
+ *
+ * 블록마다 고정 예측기(order 0~4) 중 잔차 절댓값 합이 가장 작은 것을 고르고,
+ * 잔차는 파티션별 Rice 파라미터로 부호화한다. 압축 이득이 없으면 verbatim, 무음 블록은 constant 서브프레임.
+ * 음성 윈도우 기준 대략 원본 WAV의 40~60% 크기가 된다.
+ *
+ * 상태가 없으므로 여러 스레드에서 동시에 호출해도 안전하다.
+ */
+public final class FlacEncoder {
+    private static final int BLOCK_SIZE = 4096;
+    private static final int MAX_FIXED_ORDER = 4;
+    private static final int MAX_PARTITION_ORDER = 6;
+    private static final int MAX_RICE_PARAM = 14; // 4bit 파라미터, 15는 escape
+
+    private FlacEncoder() {
+    }
+
+    /**
+     * 44바이트 PCM WAV 헤더(WavWindowReader.writeHeader 형식) + 16bit PCM → FLAC 바이트.
+     * 16bit가 아니면 IllegalArgumentException.
+     */
+    public static byte[] encode(byte[] wav) {
+        ByteBuffer header = ByteBuffer.wrap(wav).order(ByteOrder.LITTLE_ENDIAN);
+        int channels = header.getShort(22) & 0xffff;
+        int sampleRate = header.getInt(24);
+        int bits = header.getShort(34) & 0xffff;
+        if (bits != 16 || channels < 1 || channels > 8) {
+            throw new IllegalArgumentException("FLAC 인코딩은 16bit PCM(1~8ch)만 지원합니다: " + bits + "bit, " + channels + "ch");
+        }
+
+        int offset = WavWindowReader.HEADER_SIZE;
+        int totalSamples = (wav.length - offset) / (2 * channels);
+        int blockSize = Math.max(16, Math.min(BLOCK_SIZE, totalSamples));
+
+        BitWriter out = new BitWriter(wav.length / 2 + 1024);
+        writeStreamInfo(out, blockSize, sampleRate, channels, totalSamples);
+
+        int[] samples = new int[blockSize];
+        long[] residual = new long[blockSize];
+        int frameNumber = 0;
+        for (int start = 0; start < totalSamples; start += blockSize, frameNumber++) {
+            int n = Math.min(blockSize, totalSamples - start);
+            int frameStart = out.bytePosition();
+            writeFrameHeader(out, frameNumber, n, channels);
+
+            for (int ch = 0; ch < channels; ch++) {
+                for (int i = 0; i < n; i++) {
+                    samples[i] = header.getShort(offset + ((start + i) * channels + ch) * 2);
+                }
+                writeSubframe(out, samples, n, residual);
+            }
+
+            out.alignToByte();
+            out.write(16, crc16(out.buffer(), frameStart, out.bytePosition()));
+        }
+        return out.toByteArray();
+    }
+
+    // "fLaC" + STREAMINFO (마지막 메타데이터 블록)
+    private static void writeStreamInfo(BitWriter out, int blockSize, int sampleRate, int channels, long totalSamples) {
+        out.write(32, 0x664C6143); // fLaC
+        out.write(1, 1); // last metadata block
+        out.write(7, 0); // STREAMINFO
+        out.write(24, 34);
+        out.write(16, blockSize); // min block size
+        out.write(16, blockSize); // max block size
+        out.write(24, 0); // min frame size (unknown)
+        out.write(24, 0); // max frame size (unknown)
+        out.write(20, sampleRate);
+        out.write(3, channels - 1);
+        out.write(5, 16 - 1);
+        out.write(36, totalSamples);
+        out.write(64, 0); // MD5 (0 = 미계산)
+        out.write(64, 0);
+    }
+
+    private static void writeFrameHeader(BitWriter out, int frameNumber, int n, int channels) {
+        int start = out.bytePosition();
+        out.write(14, 0x3FFE); // sync
+        out.write(1, 0); // reserved
+        out.write(1, 0); // fixed block size
+        out.write(4, 0b0111); // block size: 헤더 끝 16bit (n-1)
+        out.write(4, 0b0000); // sample rate: STREAMINFO 참조
+        out.write(4, channels - 1); // 채널 독립 부호화
+        out.write(3, 0b100); // 16bit
+        out.write(1, 0); // reserved
+        writeUtf8(out, frameNumber);
+        out.write(16, n - 1);
+        out.write(8, crc8(out.buffer(), start, out.bytePosition()));
+    }
+
+    // FLAC 프레임 번호용 UTF-8 유사 가변 길이 부호
+    private static void writeUtf8(BitWriter out, long value) {
+        if (value < 0x80) {
+            out.write(8, value);
+            return;
+        }
+        int bytes = 2;
+        while (value >= 1L << (5 * bytes + 1)) {
+            bytes++;
+        }
+        int shift = 6 * (bytes - 1);
+        out.write(8, ((0xFF00 >> bytes) & 0xFF) | (value >>> shift));
+        for (shift -= 6; shift >= 0; shift -= 6) {
+            out.write(8, 0x80 | ((value >>> shift) & 0x3F));
+        }
+    }
+
+    private static void writeSubframe(BitWriter out, int[] x, int n, long[] residual) {
+        // 무음/직류 블록 → constant
+        boolean constant = true;
+        for (int i = 1; i < n && constant; i++) {
+            constant = x[i] == x[0];
+        }
+        if (constant) {
+            out.write(8, 0); // pad + type 000000 + wasted bits 0
+            out.write(16, x[0]);
+            return;
+        }
+
+        // 잔차 절댓값 합이 가장 작은 고정 예측기 선택
+        int order = bestFixedOrder(x, n);
+        computeResidual(x, n, order, residual);
+
+        int partitionOrder = 0;
+        long bestBits = Long.MAX_VALUE;
+        for (int p = 0; p <= MAX_PARTITION_ORDER; p++) {
+            if ((n & ((1 << p) - 1)) != 0 || (n >> p) <= order) {
+                break;
+            }
+            long bits = residualBits(residual, n, order, p, null);
+            if (bits < bestBits) {
+                bestBits = bits;
+                partitionOrder = p;
+            }
+        }
+
+        long fixedBits = 8 + (long) order * 16 + 6 + bestBits;
+        long verbatimBits = 8 + (long) n * 16;
+        if (fixedBits >= verbatimBits) {
+            out.write(8, 0b00000010); // verbatim
+            for (int i = 0; i < n; i++) {
+                out.write(16, x[i]);
+            }
+            return;
+        }
+
+        out.write(8, (0b001000 | order) << 1); // fixed, order
+        for (int i = 0; i < order; i++) {
+            out.write(16, x[i]); // warm-up
+        }
+        out.write(2, 0); // Rice, 4bit 파라미터
+        out.write(4, partitionOrder);
+        residualBits(residual, n, order, partitionOrder, out);
+    }
+
+    private static int bestFixedOrder(int[] x, int n) {
+        long[] sums = new long[MAX_FIXED_ORDER + 1];
+        for (int i = MAX_FIXED_ORDER; i < n; i++) {
+            long e0 = x[i];
+            long e1 = e0 - x[i - 1];
+            long e2 = e1 - (x[i - 1] - x[i - 2]);
+            long e3 = e2 - (x[i - 1] - 2L * x[i - 2] + x[i - 3]);
+            long e4 = e3 - (x[i - 1] - 3L * x[i - 2] + 3L * x[i - 3] - x[i - 4]);
+            sums[0] += Math.abs(e0);
+            sums[1] += Math.abs(e1);
+            sums[2] += Math.abs(e2);
+            sums[3] += Math.abs(e3);
+            sums[4] += Math.abs(e4);
+        }
+        int best = 0;
+        int maxOrder = Math.min(MAX_FIXED_ORDER, n - 1);
+        for (int o = 1; o <= maxOrder; o++) {
+            if (sums[o] < sums[best]) {
+                best = o;
+            }
+        }
+        return best;
+    }
+
+    private static void computeResidual(int[] x, int n, int order, long[] residual) {
+        for (int i = order; i < n; i++) {
+            residual[i] = switch (order) {
+                case 0 -> x[i];
+                case 1 -> (long) x[i] - x[i - 1];
+                case 2 -> (long) x[i] - 2L * x[i - 1] + x[i - 2];
+                case 3 -> (long) x[i] - 3L * x[i - 1] + 3L * x[i - 2] - x[i - 3];
+                default -> (long) x[i] - 4L * x[i - 1] + 6L * x[i - 2] - 4L * x[i - 3] + x[i - 4];
+            };
+        }
+    }
+
+    /**
+     * 파티션별 최적 Rice 파라미터로 잔차를 부호화했을 때의 비트 수. out이 있으면 실제로 기록한다.
+     */
+    private static long residualBits(long[] residual, int n, int order, int partitionOrder, BitWriter out) {
+        int partitions = 1 << partitionOrder;
+        int partitionSize = n >> partitionOrder;
+        long total = 0;
+        for (int p = 0; p < partitions; p++) {
+            int from = p == 0 ? order : p * partitionSize;
+            int to = (p + 1) * partitionSize;
+
+            int k = riceParam(residual, from, to);
+            total += riceBits(residual, from, to, k);
+
+            if (out != null) {
+                out.write(4, k);
+                for (int i = from; i < to; i++) {
+                    long u = zigzag(residual[i]);
+                    out.writeUnary(u >>> k);
+                    if (k > 0) {
+                        out.write(k, u);
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    // 평균 크기 기준 근사(floor(log2(mean))) 후 앞뒤 한 칸씩 비교해 비트 수가 가장 적은 파라미터
+    private static int riceParam(long[] residual, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += zigzag(residual[i]);
+        }
+        int count = to - from;
+        if (count == 0 || sum == 0) {
+            return 0;
+        }
+        int estimate = Math.min(MAX_RICE_PARAM, Math.max(0, 63 - Long.numberOfLeadingZeros(sum / count)));
+        int best = estimate;
+        long bestBits = riceBits(residual, from, to, estimate);
+        for (int k = Math.max(0, estimate - 1); k <= Math.min(MAX_RICE_PARAM, estimate + 1); k++) {
+            if (k == estimate) {
+                continue;
+            }
+            long bits = riceBits(residual, from, to, k);
+            if (bits < bestBits) {
+                best = k;
+                bestBits = bits;
+            }
+        }
+        return best;
+    }
+
+    // 파라미터 k 로 부호화한 파티션 크기: 파라미터 4bit + 샘플마다 (몫 unary + 종료 1bit + 나머지 k bit)
+    private static long riceBits(long[] residual, int from, int to, int k) {
+        return 4 + (long) (to - from) * (k + 1) + riceQuotientSum(residual, from, to, k);
+    }
+
+    private static long riceQuotientSum(long[] residual, int from, int to, int k) {
+        long q = 0;
+        for (int i = from; i < to; i++) {
+            q += zigzag(residual[i]) >>> k;
+        }
+        return q;
+    }
+
+    private static long zigzag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    private static int crc8(byte[] data, int from, int to) {
+        int crc = 0;
+        for (int i = from; i < to; i++) {
+            crc ^= data[i] & 0xFF;
+            for (int b = 0; b < 8; b++) {
+                crc = (crc & 0x80) != 0 ? ((crc << 1) ^ 0x07) & 0xFF : (crc << 1) & 0xFF;
+            }
+        }
+        return crc;
+    }
+
+    private static int crc16(byte[] data, int from, int to) {
+        int crc = 0;
+        for (int i = from; i < to; i++) {
+            crc ^= (data[i] & 0xFF) << 8;
+            for (int b = 0; b < 8; b++) {
+                crc = (crc & 0x8000) != 0 ? ((crc << 1) ^ 0x8005) & 0xFFFF : (crc << 1) & 0xFFFF;
+            }
+        }
+        return crc;
+    }
+
+    /** MSB 우선 비트 기록기 */
+    private static final class BitWriter {
+        private byte[] buf;
+        private int pos; // 다음 바이트 위치
+        private long acc; // 아직 기록하지 않은 비트
+        private int accBits;
+
+        BitWriter(int capacity) {
+            this.buf = new byte[Math.max(64, capacity)];
+        }
+
+        void write(int bits, long value) {
+            if (bits > 32) {
+                write(bits - 32, value >>> 32);
+                write(32, value);
+                return;
+            }
+            acc = (acc << bits) | (value & ((1L << bits) - 1));
+            accBits += bits;
+            while (accBits >= 8) {
+                accBits -= 8;
+                put((byte) (acc >>> accBits));
+            }
+        }
+
+        void writeUnary(long zeros) {
+            while (zeros >= 32) {
+                write(32, 0);
+                zeros -= 32;
+            }
+            write((int) zeros + 1, 1);
+        }
+
+        void alignToByte() {
+            if (accBits > 0) {
+                write(8 - accBits, 0);
+            }
+        }
+
+        /** 정렬된 상태에서의 현재 바이트 위치 */
+        int bytePosition() {
+            return pos;
+        }
+
+        byte[] buffer() {
+            return buf;
+        }
+
+        private void put(byte b) {
+            if (pos == buf.length) {
+                buf = Arrays.copyOf(buf, buf.length * 2);
+            }
+            buf[pos++] = b;
+        }
+
+        byte[] toByteArray() {
+            alignToByte();
+            return Arrays.copyOf(buf, pos);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.pres.pres_server.service.transcription;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.pres.pres_server.config.AnalyseProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 네트워크 없이 분석 파이프라인을 부하 테스트/벤치마크하기 위한 가짜 전사 엔진.
+ * (analyse.transcription.engine=local)
+ *
+ * 결과는 PCM 내용의 해시로 결정되므로 같은 녹음은 실행할 때마다 같은 전사문, 같은 지연,
+ * 같은 실패 윈도우를 돌려준다. 스레드 실행 순서와 무관하게 재현 가능하다.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "analyse.transcription", name = "engine", havingValue = "local")
+public class LocalTranscriptionEngine implements TranscriptionEngine {
+    private final AnalyseProperties.Local config;
+    private final List<String> transcripts;
+    private final boolean wordTimestamps;
+
+    public LocalTranscriptionEngine(AnalyseProperties properties) {
+        this.config = properties.getTranscription().getLocal();
+        this.transcripts = List.copyOf(config.getTranscripts());
+        this.wordTimestamps = properties.getTranscription().isWordTimestamps();
+        if (transcripts.isEmpty()) {
+            throw new IllegalStateException("analyse.transcription.local.transcripts 가 비어 있습니다.");
+        }
+        log.warn("⚠ 로컬 가짜 전사 엔진 사용 중 (latency={}ms, jitter={}ms, errorRate={})",
+                config.getLatencyMs(), config.getJitterMs(), config.getErrorRate());
+    }
+
+    @Override
+    public String getModel() {
+        return "local-fake";
+    }
+
+    @Override
+    public String transcribe(byte[] wavBytes, String fileName) throws Exception {
+        long hash = mix(wavBytes);
+
+        // 지연: 기본 + [0, jitter) — 해시 상위 비트 사용
+        long jitter = config.getJitterMs() > 0 ? Long.remainderUnsigned(hash >>> 16, config.getJitterMs()) : 0;
+        Thread.sleep(config.getLatencyMs() + jitter);
+
+        // 실패: 해시 하위 24비트를 [0, 1) 로 바꿔 errorRate 와 비교
+        double roll = (hash & 0xFFFFFF) / (double) (1 << 24);
+        if (roll < config.getErrorRate()) {
+            throw new IllegalStateException("로컬 전사 엔진 실패 시뮬레이션: " + fileName);
+        }
+
+        return transcripts.get((int) Long.remainderUnsigned(hash >>> 40, transcripts.size()));
+    }
+
+    // 단어 타임스탬프: 전사문 단어를 WAV 길이에 고르게 배치 (헤더의 byte rate로 길이 계산, WAV가 아니면 텍스트만)
+    @Override
+    public Transcript transcribeWords(byte[] wavBytes, String fileName) throws Exception {
+        String text = transcribe(wavBytes, fileName);
+        if (!wordTimestamps || wavBytes.length <= 44 || wavBytes[0] != 'R' || wavBytes[1] != 'I'
+                || wavBytes[2] != 'F' || wavBytes[3] != 'F') {
+            return Transcript.of(text);
+        }
+        int byteRate = (wavBytes[28] & 0xff) | (wavBytes[29] & 0xff) << 8 | (wavBytes[30] & 0xff) << 16
+                | (wavBytes[31] & 0xff) << 24;
+        long durationMs = byteRate > 0 ? (wavBytes.length - 44) * 1000L / byteRate : 0;
+        String[] words = text.trim().split("\\s+");
+        int[] startMs = new int[words.length];
+        int[] endMs = new int[words.length];
+        for (int i = 0; i < words.length; i++) {
+            startMs[i] = (int) (durationMs * i / words.length);
+            endMs[i] = (int) (durationMs * (i + 1) / words.length);
+        }
+        return new Transcript(text, words, startMs, endMs);
+    }
+
+    // 전체 바이트에 대한 64bit 해시 (FNV-1a + 최종 섞기)
+    private static long mix(byte[] data) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : data) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
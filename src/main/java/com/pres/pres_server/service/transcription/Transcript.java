@@ -0,0 +1,29 @@
+package com.pres.pres_server.service.transcription;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 윈도우 전사 결과. 엔진이 단어 타임스탬프를 주면 단어별 시작/끝(윈도우 시작 기준 ms)을 함께 담는다.
+ * 단어 배열은 시작 시각 순서이며 words / startMs / endMs 길이가 같다. (없으면 모두 null)
+ */
+@Getter
+@Setter
+@NoArgsConstructor // 전사 캐시(Redis) JSON 역직렬화용
+@AllArgsConstructor
+public class Transcript {
+    private String text;
+    private String[] words;
+    private int[] startMs;
+    private int[] endMs;
+
+    public static Transcript of(String text) {
+        return new Transcript(text, null, null, null);
+    }
+
+    public boolean hasWords() {
+        return words != null && words.length > 0;
+    }
+}
@@ -0,0 +1,23 @@
+package com.pres.pres_server.service.transcription;
+
+/**
+ * 음성 윈도우(WAV 바이트) → 텍스트 전사 엔진.
+ * analyse.transcription.engine 값으로 구현체를 고른다. (openai: Whisper API, local: 네트워크 없는 가짜 엔진)
+ * 여러 분석 워커 스레드에서 동시에 호출되므로 구현체는 thread-safe 해야 한다.
+ */
+public interface TranscriptionEngine {
+
+    /** 44바이트 헤더를 포함한 WAV 바이트를 전사한다. fileName은 업로드 파트 이름(확장자로 포맷 판별)에 쓰인다. */
+    String transcribe(byte[] wavBytes, String fileName) throws Exception;
+
+    /**
+     * 단어 타임스탬프를 포함해 전사한다. 단어 단위 시각을 주지 못하는 엔진은 텍스트만 돌려준다.
+     * (analyse.transcription.word-timestamps=false 이면 구현체도 텍스트만 요청한다)
+     */
+    default Transcript transcribeWords(byte[] wavBytes, String fileName) throws Exception {
+        return Transcript.of(transcribe(wavBytes, fileName));
+    }
+
+    /** 전사 모델 식별자 (전사 캐시 키에 포함되어 엔진/모델이 바뀌면 캐시가 분리된다) */
+    String getModel();
+}
@@ -0,0 +1,121 @@
+package com.pres.pres_server.service.transcription;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.*;
+import org.springframework.stereotype.Service;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+
+/** OpenAI Whisper API 전사 엔진 (기본값, analyse.transcription.engine=openai) */
+@Service
+@ConditionalOnProperty(prefix = "analyse.transcription", name = "engine", havingValue = "openai", matchIfMissing = true)
+public class WhisperService implements TranscriptionEngine {
+    private static final Logger log = LoggerFactory.getLogger(WhisperService.class);
+
+    @Value("${openai.api.key}")
+    private String OPENAI_API_KEY;
+
+    // 부하 테스트 시 mock 서버로 돌릴 수 있도록 설정 가능
+    @Value("${openai.api.whisper-url:https://api.openai.com/v1/audio/transcriptions}")
+    private String whisperApiUrl;
+
+    // 단어별 타임스탬프 요청 여부 (verbose_json + timestamp_granularities[]=word)
+    @Value("${analyse.transcription.word-timestamps:true}")
+    private boolean wordTimestamps;
+
+    private static final String MODEL = "whisper-1";
+
+    // 커넥션 풀을 공유하는 전용 RestTemplate (AppConfig.whisperRestTemplate)
+    private final RestTemplate rest;
+
+    public WhisperService(@Qualifier("whisperRestTemplate") RestTemplate rest) {
+        this.rest = rest;
+    }
+
+    @Override
+    public String getModel() {
+        return MODEL;
+    }
+
+    public String transcribe(File wavFile) throws Exception {
+        log.info("      ▶ Preparing Whisper request for file: {}", wavFile.getName());
+        return transcribe(new FileSystemResource(wavFile), false).getText();
+    }
+
+    // 메모리상의 WAV 바이트(헤더 포함)를 그대로 업로드 (임시 파일 없음)
+    @Override
+    public String transcribe(byte[] wavBytes, String fileName) throws Exception {
+        log.info("      ▶ Preparing Whisper request for {} ({} bytes)", fileName, wavBytes.length);
+        return transcribe(resource(wavBytes, fileName), false).getText();
+    }
+
+    @Override
+    public Transcript transcribeWords(byte[] wavBytes, String fileName) throws Exception {
+        log.info("      ▶ Preparing Whisper request for {} ({} bytes, words={})", fileName, wavBytes.length,
+                wordTimestamps);
+        return transcribe(resource(wavBytes, fileName), wordTimestamps);
+    }
+
+    private static Resource resource(byte[] wavBytes, String fileName) {
+        return new ByteArrayResource(wavBytes) {
+            @Override
+            public String getFilename() {
+                return fileName; // multipart 파일 파트에는 파일명이 필요
+            }
+        };
+    }
+
+    private Transcript transcribe(Resource audio, boolean words) throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+        headers.setBearerAuth(OPENAI_API_KEY);
+
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        body.add("file", audio);
+        body.add("model", MODEL);
+        if (words) {
+            body.add("response_format", "verbose_json");
+            body.add("timestamp_granularities[]", "word");
+        }
+
+        HttpEntity<MultiValueMap<String, Object>> req = new HttpEntity<>(body, headers);
+        log.info("      ▶ Sending Whisper API request...");
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> resp = rest.postForObject(whisperApiUrl, req, Map.class);
+
+        String text = (String) resp.getOrDefault("text", "");
+        log.info("      ▶ Whisper API responded, text length = {}", text.length());
+        return words ? withWords(text, resp.get("words")) : Transcript.of(text);
+    }
+
+    // verbose_json 의 words: [{ "word": "...", "start": 0.0, "end": 0.32 }, ...] (초 단위) → ms 배열
+    private static Transcript withWords(String text, Object words) {
+        if (!(words instanceof List<?> list) || list.isEmpty()) {
+            return Transcript.of(text);
+        }
+        int n = list.size();
+        String[] word = new String[n];
+        int[] startMs = new int[n];
+        int[] endMs = new int[n];
+        for (int i = 0; i < n; i++) {
+            Map<?, ?> w = (Map<?, ?>) list.get(i);
+            word[i] = String.valueOf(w.get("word")).trim();
+            startMs[i] = (int) Math.round(((Number) w.get("start")).doubleValue() * 1000);
+            endMs[i] = (int) Math.round(((Number) w.get("end")).doubleValue() * 1000);
+        }
+        return new Transcript(text, word, startMs, endMs);
+    }
+}
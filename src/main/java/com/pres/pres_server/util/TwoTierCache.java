@@ -0,0 +1,109 @@
+package com.pres.pres_server.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.pres.pres_server.config.CacheProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 1차: 프로세스 내 LRU, 2차(선택): Redis 인 캐시. 키 계산과 값 형식은 사용하는 쪽(TranscriptCache, LlmResponseCache)이 정한다.
+ * 로컬에는 값 객체를 그대로 두고, Redis 에는 codec 으로 바꾼 문자열을 redisPrefix + key 로 저장한다.
+ * Redis 장애와 변환 실패는 캐시 miss 로 취급한다.
+ */
+@Slf4j
+public class TwoTierCache<V> {
+
+    /** 값 ↔ Redis 문자열 변환 */
+    public interface Codec<V> {
+        String encode(V value) throws Exception;
+
+        V decode(String data) throws Exception;
+    }
+
+    private static final Codec<String> STRING_CODEC = new Codec<>() {
+        @Override
+        public String encode(String value) {
+            return value;
+        }
+
+        @Override
+        public String decode(String data) {
+            return data;
+        }
+    };
+
+    private final String name; // 로그용
+    private final String redisPrefix;
+    private final CacheProperties config;
+    private final RedisUtil redisUtil;
+    private final Codec<V> codec;
+    private final Map<String, V> local;
+
+    public TwoTierCache(String name, String redisPrefix, CacheProperties config, RedisUtil redisUtil,
+            Codec<V> codec) {
+        this.name = name;
+        this.redisPrefix = redisPrefix;
+        this.config = config;
+        this.redisUtil = redisUtil;
+        this.codec = codec;
+        int maxEntries = config.getLocalMaxEntries();
+        this.local = new LinkedHashMap<>(16, 0.75f, true) { // access-order → LRU
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public static TwoTierCache<String> ofStrings(String name, String redisPrefix, CacheProperties config,
+            RedisUtil redisUtil) {
+        return new TwoTierCache<>(name, redisPrefix, config, redisUtil, STRING_CODEC);
+    }
+
+    /** 캐시된 값, 없으면 null */
+    public V get(String key) {
+        if (!config.isEnabled()) {
+            return null;
+        }
+        synchronized (local) {
+            V hit = local.get(key);
+            if (hit != null) {
+                return hit;
+            }
+        }
+        if (config.isRedisEnabled()) {
+            try {
+                String data = redisUtil.getData(redisPrefix + key);
+                if (data != null) {
+                    V hit = codec.decode(data);
+                    synchronized (local) {
+                        local.put(key, hit);
+                    }
+                    return hit;
+                }
+            } catch (Exception e) {
+                log.warn("{} 캐시 Redis 조회 실패: {}", name, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    /** 값 검증(빈 응답 등)은 호출하는 쪽에서 */
+    public void put(String key, V value) {
+        if (!config.isEnabled() || value == null) {
+            return;
+        }
+        synchronized (local) {
+            local.put(key, value);
+        }
+        if (config.isRedisEnabled()) {
+            try {
+                redisUtil.setDataExpire(redisPrefix + key, codec.encode(value), config.getRedisTtlHours() * 3600);
+            } catch (Exception e) {
+                log.warn("{} 캐시 Redis 저장 실패: {}", name, e.getMessage());
+            }
+        }
+    }
+}
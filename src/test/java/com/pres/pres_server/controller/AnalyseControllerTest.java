@@ -0,0 +1,53 @@
+package com.pres.pres_server.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.pres.pres_server.config.AnalyseProperties;
+import com.pres.pres_server.exception.AnalyseBusyException;
+import com.pres.pres_server.exception.GlobalExceptionHandler;
+import com.pres.pres_server.service.analyse.AnalyseAdmission;
+import com.pres.pres_server.service.analyse.AnalyseJobService;
+import com.pres.pres_server.service.analyse.AnalyseService;
+import com.pres.pres_server.service.analyse.PracticeSessionService;
+import com.pres.pres_server.service.user.UserService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AnalyseControllerTest {
+
+    @Test
+    @DisplayName("동기 분석에서 실행 큐가 가득 차면 500 대신 429 + Retry-After 로 응답하고 실행 자리를 반납한다")
+    void analyseBusyIsNotSwallowed() throws Exception {
+        // given: 스트리밍 모드 실행 큐가 가득 차 analyseService 가 AnalyseBusyException 을 던짐
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AnalyseAdmission admission = new AnalyseAdmission(new AnalyseProperties(), registry);
+        AnalyseService analyseService = mock(AnalyseService.class);
+        when(analyseService.analyse(any(MultipartFile.class)))
+                .thenThrow(new AnalyseBusyException("분석 대기열이 가득 찼습니다.", 30));
+        AnalyseController controller = new AnalyseController(analyseService, mock(AnalyseJobService.class),
+                admission, mock(PracticeSessionService.class), mock(UserService.class));
+        MockMultipartFile audio = new MockMultipartFile("audio", "a.wav", "audio/wav", new byte[] { 1, 2, 3 });
+
+        // when
+        AnalyseBusyException e = assertThrows(AnalyseBusyException.class,
+                () -> controller.analyse(null, audio, null));
+        ResponseEntity<?> response = new GlobalExceptionHandler().handleAnalyseBusy(e);
+
+        // then
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("30", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(0.0, registry.get("analyse.admission.running").gauge().value());
+    }
+}
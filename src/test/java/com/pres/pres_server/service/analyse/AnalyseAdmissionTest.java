@@ -0,0 +1,145 @@
+package com.pres.pres_server.service.analyse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pres.pres_server.config.AnalyseProperties;
+import com.pres.pres_server.exception.AnalyseBusyException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AnalyseAdmissionTest {
+    private SimpleMeterRegistry registry;
+    private AnalyseAdmission admission;
+
+    @BeforeEach
+    void setUp() {
+        AnalyseProperties properties = new AnalyseProperties();
+        properties.getAdmission().setMaxConcurrent(1);
+        properties.getAdmission().setMaxQueue(3);
+        properties.getAdmission().setMaxQueuePerUser(2);
+        properties.getAdmission().setMaxWaitSec(10);
+        registry = new SimpleMeterRegistry();
+        admission = new AnalyseAdmission(properties, registry);
+    }
+
+    @Test
+    @DisplayName("대기 중인 요청은 사용자 간 round-robin 순서로 자리를 얻는다")
+    void roundRobinAcrossUsers() throws Exception {
+        // given: 실행 중 1건, 대기열에 a, a, b 순서로 도착
+        AnalyseAdmission.Permit running = admission.acquire("a");
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> waiters = new ArrayList<>();
+        for (String user : List.of("a", "a", "b")) {
+            Thread t = new Thread(() -> {
+                try (AnalyseAdmission.Permit permit = admission.acquire(user)) {
+                    order.add(user);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            t.start();
+            waiters.add(t);
+            awaitQueued(waiters.size());
+        }
+
+        // when
+        running.close();
+        for (Thread t : waiters) {
+            t.join(5000);
+        }
+
+        // then: a가 먼저 두 건을 넣었어도 b가 사이에 끼어든다
+        assertEquals(List.of("a", "b", "a"), order);
+        assertEquals(0.0, registry.get("analyse.admission.queued").gauge().value());
+        assertEquals(0.0, registry.get("analyse.admission.running").gauge().value());
+    }
+
+    @Test
+    @DisplayName("사용자별 대기열이 가득 차면 Retry-After와 함께 거부한다")
+    void rejectsWhenUserQueueFull() throws Exception {
+        // given: 실행 중 1건, a의 대기 2건
+        AnalyseAdmission.Permit running = admission.acquire("a");
+        List<Thread> waiters = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            Thread t = new Thread(() -> {
+                try (AnalyseAdmission.Permit permit = admission.acquire("a")) {
+                    // 자리만 얻고 바로 반납
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            t.start();
+            waiters.add(t);
+            awaitQueued(waiters.size());
+        }
+
+        // when & then: a는 거부, 다른 사용자는 아직 대기 가능
+        AnalyseBusyException ex = assertThrows(AnalyseBusyException.class, () -> admission.acquire("a"));
+        assertTrue(ex.getRetryAfterSec() >= 1);
+        assertEquals(1.0, registry.get("analyse.admission.rejected").counter().count());
+
+        running.close();
+        for (Thread t : waiters) {
+            t.join(5000);
+        }
+        admission.acquire("b").close();
+    }
+
+    @Test
+    @DisplayName("자리를 넘겨받은 직후 인터럽트된 대기 요청의 자리는 반납된다")
+    void releasesSlotGrantedToInterruptedWaiter() throws Exception {
+        // given: 실행 중 1건, a 가 대기
+        AnalyseAdmission.Permit running = admission.acquire("a");
+        AtomicReference<Throwable> outcome = new AtomicReference<>();
+        Thread waiter = new Thread(() -> {
+            try {
+                admission.acquire("a").close();
+            } catch (Throwable e) {
+                outcome.set(e);
+            }
+        });
+        waiter.start();
+        awaitQueued(1);
+
+        // when: 락을 쥔 채 인터럽트 → 대기자가 락 대기열로 옮겨진 뒤 자리를 넘겨줌
+        admission.lock.lock();
+        try {
+            waiter.interrupt();
+            for (int i = 0; i < 500 && !admission.lock.hasQueuedThread(waiter); i++) {
+                Thread.sleep(10);
+            }
+            assertTrue(admission.lock.hasQueuedThread(waiter));
+            running.close();
+        } finally {
+            admission.lock.unlock();
+        }
+        waiter.join(5000);
+
+        // then: 대기자는 인터럽트로 끝나고, 넘겨받은 자리는 남지 않는다
+        assertTrue(outcome.get() instanceof InterruptedException);
+        assertEquals(0.0, registry.get("analyse.admission.running").gauge().value());
+        assertEquals(0.0, registry.get("analyse.admission.queued").gauge().value());
+        admission.acquire("b").close();
+    }
+
+    private void awaitQueued(int expected) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            if (registry.get("analyse.admission.queued").gauge().value() == expected) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("대기열 길이가 " + expected + " 이 되지 않았습니다.");
+    }
+}
@@ -0,0 +1,87 @@
+package com.pres.pres_server.service.analyse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pres.pres_server.config.AnalyseProperties;
+import com.pres.pres_server.dto.AnalyseJobDto;
+import com.pres.pres_server.exception.AnalyseJobNotFoundException;
+
+class AnalyseJobServiceTest {
+    private AnalyseJobStore jobStore;
+    private AnalyseJobService jobService;
+
+    @BeforeEach
+    void setUp() {
+        jobStore = mock(AnalyseJobStore.class);
+        jobService = new AnalyseJobService(mock(AnalyseService.class), jobStore, Runnable::run,
+                new AnalyseProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobService.shutdown();
+    }
+
+    @Test
+    @DisplayName("생존 신호(lease)가 끊긴 RUNNING job 은 조회 시 FAILED 로 보고하고 저장한다")
+    void staleJobReportedFailed() {
+        // given: 서버 재시작으로 워커가 사라져 lease 가 만료된 job
+        when(jobStore.findStatus("job-1")).thenReturn(Optional.of(job("job-1", AnalyseJobService.RUNNING)));
+        when(jobStore.hasLease("job-1")).thenReturn(false);
+
+        // when
+        AnalyseJobDto status = jobService.getStatus("job-1");
+
+        // then
+        assertEquals(AnalyseJobService.FAILED, status.getStatus());
+        assertNotNull(status.getError());
+        verify(jobStore).saveStatus(status);
+    }
+
+    @Test
+    @DisplayName("lease 가 살아 있는 job 은 상태를 그대로 돌려준다")
+    void liveJobUntouched() {
+        // given
+        when(jobStore.findStatus("job-2")).thenReturn(Optional.of(job("job-2", AnalyseJobService.QUEUED)));
+        when(jobStore.hasLease("job-2")).thenReturn(true);
+
+        // when
+        AnalyseJobDto status = jobService.getStatus("job-2");
+
+        // then
+        assertEquals(AnalyseJobService.QUEUED, status.getStatus());
+        verify(jobStore, never()).saveStatus(any());
+    }
+
+    @Test
+    @DisplayName("없거나 만료된 job 조회는 AnalyseJobNotFoundException (404)")
+    void missingJobNotFound() {
+        // given
+        when(jobStore.findStatus("expired")).thenReturn(Optional.empty());
+
+        // when & then
+        assertThrows(AnalyseJobNotFoundException.class, () -> jobService.getStatus("expired"));
+        assertThrows(AnalyseJobNotFoundException.class, () -> jobService.getResult("expired"));
+    }
+
+    private static AnalyseJobDto job(String jobId, String status) {
+        AnalyseJobDto job = new AnalyseJobDto();
+        job.setJobId(jobId);
+        job.setStatus(status);
+        return job;
+    }
+}
@@ -0,0 +1,72 @@
+package com.pres.pres_server.service.analyse;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AudioTranscoderTest {
+
+    private ByteArrayInputStream wav(int sampleRate, int channels, int bits) {
+        byte[] wav = new byte[WavWindowReader.HEADER_SIZE + 64];
+        WavWindowReader.writeHeader(wav, sampleRate, channels, bits, 64);
+        return new ByteArrayInputStream(wav);
+    }
+
+    // RIFF/WAVE 헤더 + fmt 청크(선언 크기 fmtSize, 실제 본문 fmtBody) + 작은 data 청크
+    private ByteArrayInputStream rawWav(long fmtSize, byte[] fmtBody) {
+        ByteBuffer b = ByteBuffer.allocate(12 + 8 + fmtBody.length + 8 + 64).order(ByteOrder.LITTLE_ENDIAN);
+        b.putInt(0x46464952).putInt(b.capacity() - 8).putInt(0x45564157);
+        b.putInt(0x20746d66).putInt((int) fmtSize).put(fmtBody);
+        b.putInt(0x61746164).putInt(64);
+        return new ByteArrayInputStream(b.array());
+    }
+
+    private byte[] fmtBody(int length, int channels, int sampleRate, int bits) {
+        ByteBuffer fmt = ByteBuffer.allocate(Math.max(length, 16)).order(ByteOrder.LITTLE_ENDIAN);
+        fmt.putShort(0, (short) 1).putShort(2, (short) channels).putInt(4, sampleRate)
+                .putShort(14, (short) bits);
+        byte[] body = new byte[length];
+        System.arraycopy(fmt.array(), 0, body, 0, length);
+        return body;
+    }
+
+    @Test
+    @DisplayName("16kHz mono 16bit PCM WAV는 변환 없이 사용한다")
+    void testTargetWav() {
+        assertTrue(AudioTranscoder.isTargetWav(wav(16000, 1, 16)));
+    }
+
+    @Test
+    @DisplayName("샘플레이트/채널/비트가 다르거나 WAV가 아니면 ffmpeg로 변환한다")
+    void testNeedsTranscode() {
+        assertFalse(AudioTranscoder.isTargetWav(wav(44100, 1, 16)));
+        assertFalse(AudioTranscoder.isTargetWav(wav(16000, 2, 16)));
+        assertFalse(AudioTranscoder.isTargetWav(wav(16000, 1, 8)));
+        assertFalse(AudioTranscoder.isTargetWav(new ByteArrayInputStream("ID3\u0004 not a wav".getBytes())));
+    }
+
+    @Test
+    @DisplayName("헤더가 깨진 WAV는 예외 없이 ffmpeg 변환 대상으로 판단한다")
+    void testMalformedHeader() {
+        // fmt 청크가 16바이트보다 짧음
+        assertFalse(AudioTranscoder.isTargetWav(rawWav(14, fmtBody(14, 1, 16000, 16))));
+        // fmt 청크 크기가 2^31 이상 (int 로 바꾸면 음수)
+        assertFalse(AudioTranscoder.isTargetWav(rawWav(0x80000000L, fmtBody(16, 1, 16000, 16))));
+        assertFalse(AudioTranscoder.isTargetWav(rawWav(0xFFFFFFF0L, fmtBody(16, 1, 16000, 16))));
+        // fmt 청크 값이 비정상 (채널 0)
+        assertFalse(AudioTranscoder.isTargetWav(rawWav(16, fmtBody(16, 0, 16000, 16))));
+        // 헤더 도중에 끝남
+        assertFalse(AudioTranscoder.isTargetWav(new ByteArrayInputStream(new byte[] { 'R', 'I', 'F', 'F' })));
+    }
+
+    @Test
+    @DisplayName("fmt 청크를 직접 쓴 정상 헤더는 그대로 인식한다")
+    void testRawHeader() {
+        assertTrue(AudioTranscoder.isTargetWav(rawWav(16, fmtBody(16, 1, 16000, 16))));
+    }
+}
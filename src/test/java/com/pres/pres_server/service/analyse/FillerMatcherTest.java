@@ -0,0 +1,72 @@
+package com.pres.pres_server.service.analyse;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FillerMatcherTest {
+
+    private final FillerMatcher matcher = new FillerMatcher(List.of("음", "어", "아", "뭐지"));
+
+    @Test
+    @DisplayName("단어 경계에 있는 추임새만 센다")
+    void testWordBoundary() {
+        // when
+        Map<String, Integer> counts = matcher.match("음, 그러니까 어... 뭐지? 아 어머니 음음 아이").getCounts();
+
+        // then
+        assertEquals(Map.of("음", 1, "어", 1, "뭐지", 1, "아", 1), counts);
+    }
+
+    @Test
+    @DisplayName("연속된 추임새와 문장부호를 모두 처리한다")
+    void testAdjacentFillers() {
+        // when
+        FillerMatcher.Result result = matcher.match("음 음\n음…어");
+
+        // then
+        assertEquals(3, result.getCounts().get("음"));
+        assertEquals(1, result.getCounts().get("어"));
+        assertEquals(4, result.getTotal());
+    }
+
+    @Test
+    @DisplayName("원문 기준 위치를 반환한다")
+    void testOffsets() {
+        // given
+        String text = "그래서  뭐지. 음";
+
+        // when
+        FillerMatcher.Result result = matcher.match(text);
+
+        // then
+        assertEquals(2, result.size());
+        assertEquals("뭐지", result.word(0));
+        assertEquals("뭐지", text.substring(result.start(0), result.end(0)));
+        assertEquals("음", text.substring(result.start(1), result.end(1)));
+    }
+
+    @Test
+    @DisplayName("여러 단어로 된 사전 항목도 매칭한다")
+    void testMultiWordEntry() {
+        // given
+        FillerMatcher multi = new FillerMatcher(List.of("그러니까 뭐지", "뭐지"));
+
+        // when
+        Map<String, Integer> counts = multi.match("그러니까, 뭐지 그러니까뭐지").getCounts();
+
+        // then
+        assertEquals(Map.of("그러니까 뭐지", 1, "뭐지", 1), counts);
+    }
+
+    @Test
+    @DisplayName("빈 텍스트는 빈 결과")
+    void testEmpty() {
+        assertTrue(matcher.match("").getCounts().isEmpty());
+        assertTrue(matcher.match(null).getCounts().isEmpty());
+    }
+}
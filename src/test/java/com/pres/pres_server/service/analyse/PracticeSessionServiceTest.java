@@ -0,0 +1,110 @@
+package com.pres.pres_server.service.analyse;
+
+import com.pres.pres_server.domain.PracticeSession;
+import com.pres.pres_server.domain.Project;
+import com.pres.pres_server.domain.User;
+import com.pres.pres_server.domain.WorkSpace;
+import com.pres.pres_server.repository.PracticeSessionRepository;
+import com.pres.pres_server.repository.ProjectRepository;
+import com.pres.pres_server.repository.TeamMemberRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class PracticeSessionServiceTest {
+    private static final long OWNER_ID = 1L;
+    private static final long MEMBER_ID = 2L;
+    private static final long STRANGER_ID = 3L;
+
+    @Mock
+    private PracticeSessionRepository sessionRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private TeamMemberRepository teamMemberRepository;
+
+    @InjectMocks
+    private PracticeSessionService practiceSessionService;
+
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        WorkSpace workspace = new WorkSpace();
+        workspace.setWorkspaceId(10L);
+        workspace.setOwnerUserId(User.builder().id(OWNER_ID).email("owner@test.com").build());
+        project = new Project();
+        project.setProjectId(100L);
+        project.setWorkspaceId(workspace);
+
+        when(projectRepository.findById(100L)).thenReturn(Optional.of(project));
+        when(teamMemberRepository.existsByUser_IdAndWorkspace_WorkspaceId(anyLong(), anyLong())).thenReturn(false);
+        when(teamMemberRepository.existsByUser_IdAndWorkspace_WorkspaceId(MEMBER_ID, 10L)).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("워크스페이스 소유자와 팀원은 프로젝트에 연습 세션을 저장/조회할 수 있다")
+    void testOwnerAndMemberAllowed() {
+        // given
+        when(sessionRepository.findByProjectId_ProjectIdOrderByPracticedAtDesc(100L)).thenReturn(List.of());
+
+        // when & then
+        assertDoesNotThrow(() -> practiceSessionService.checkProject(OWNER_ID, 100L));
+        assertDoesNotThrow(() -> practiceSessionService.checkProject(MEMBER_ID, 100L));
+        assertTrue(practiceSessionService.list(MEMBER_ID, 100L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("다른 사용자의 프로젝트에는 저장/목록 조회가 거부된다")
+    void testStrangerDeniedForProject() {
+        // when & then
+        assertThrows(AccessDeniedException.class, () -> practiceSessionService.checkProject(STRANGER_ID, 100L));
+        assertThrows(AccessDeniedException.class,
+                () -> practiceSessionService.save(STRANGER_ID, 100L, List.of()));
+        assertThrows(AccessDeniedException.class, () -> practiceSessionService.list(STRANGER_ID, 100L));
+        verify(sessionRepository, never()).findByProjectId_ProjectIdOrderByPracticedAtDesc(anyLong());
+    }
+
+    @Test
+    @DisplayName("다른 사용자의 연습 세션은 id 로 조회할 수 없다")
+    void testStrangerDeniedForSession() {
+        // given
+        PracticeSession session = new PracticeSession();
+        session.setSessionId(1000L);
+        session.setProjectId(project);
+        when(sessionRepository.findById(1000L)).thenReturn(Optional.of(session));
+
+        // when & then
+        assertThrows(AccessDeniedException.class, () -> practiceSessionService.get(STRANGER_ID, 1000L));
+        assertThrows(AccessDeniedException.class,
+                () -> practiceSessionService.words(STRANGER_ID, 1000L, 0, 60));
+        assertThrows(AccessDeniedException.class,
+                () -> practiceSessionService.slides(STRANGER_ID, 1000L, 1L));
+    }
+
+    @Test
+    @DisplayName("없는 프로젝트는 400 (IllegalArgumentException)")
+    void testMissingProject() {
+        // given
+        when(projectRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // when & then
+        assertThrows(IllegalArgumentException.class, () -> practiceSessionService.checkProject(OWNER_ID, 999L));
+    }
+}
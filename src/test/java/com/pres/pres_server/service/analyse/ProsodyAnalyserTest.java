@@ -0,0 +1,75 @@
+package com.pres.pres_server.service.analyse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.function.DoubleUnaryOperator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pres.pres_server.dto.ProsodyDto;
+
+class ProsodyAnalyserTest {
+
+    private static final int RATE = 16000;
+
+    private final ProsodyAnalyser analyser = new ProsodyAnalyser(RATE, 40, 75, 400, 0.15, 300, 1.0, 3.0, 2.0, 6.0, 10);
+
+    // 초 단위 시각 → 음높이(Hz), 진폭으로 만든 16kHz mono WAV (음높이가 바뀌어도 위상은 이어짐)
+    private byte[] voice(double sec, DoubleUnaryOperator hz, DoubleUnaryOperator amplitude) {
+        int frames = (int) (sec * RATE);
+        byte[] wav = new byte[WavWindowReader.HEADER_SIZE + frames * 2];
+        WavWindowReader.writeHeader(wav, RATE, 1, 16, frames * 2);
+        ByteBuffer pcm = ByteBuffer.wrap(wav).order(ByteOrder.LITTLE_ENDIAN);
+        double phase = 0;
+        for (int i = 0; i < frames; i++) {
+            double t = (double) i / RATE;
+            phase += 2 * Math.PI * hz.applyAsDouble(t) / RATE;
+            double v = amplitude.applyAsDouble(t) * (Math.sin(phase) + 0.5 * Math.sin(2 * phase));
+            pcm.putShort(WavWindowReader.HEADER_SIZE + i * 2, (short) v);
+        }
+        return wav;
+    }
+
+    @Test
+    @DisplayName("음높이와 음량이 일정하면 억양/음량 점수가 0이다")
+    void monotone() {
+        // given
+        byte[] wav = voice(3, t -> 150, t -> 5000);
+
+        // when
+        ProsodyDto result = analyser.analyse(wav);
+
+        // then
+        assertEquals(150, result.getMedianPitchHz(), 2);
+        assertEquals(0, result.getPitchScore());
+        assertEquals(0, result.getLoudnessScore());
+        assertEquals(3.0, result.getVoicedSec(), 0.05);
+    }
+
+    @Test
+    @DisplayName("한 옥타브를 오르내리고 음량도 바뀌면 점수가 높다")
+    void expressive() {
+        // given: 120Hz ~ 240Hz 를 1초 주기로 오르내림, 진폭 1500 ~ 12000
+        byte[] wav = voice(4, t -> 120 * Math.pow(2, 0.5 + 0.5 * Math.sin(2 * Math.PI * t)),
+                t -> 1500 + 10500 * (0.5 + 0.5 * Math.sin(2 * Math.PI * t / 2)));
+
+        // when
+        ProsodyDto result = analyser.analyse(wav);
+
+        // then
+        assertTrue(result.getPitchRangeSt() > 9, "range=" + result.getPitchRangeSt());
+        assertEquals(100, result.getPitchScore());
+        assertTrue(result.getLoudnessScore() > 50, "loudness=" + result.getLoudnessScore());
+    }
+
+    @Test
+    @DisplayName("발화가 없으면 결과가 없다")
+    void silence() {
+        assertNull(analyser.analyse(voice(2, t -> 150, t -> 0)));
+    }
+}
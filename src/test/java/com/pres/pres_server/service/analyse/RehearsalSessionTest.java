@@ -0,0 +1,161 @@
+package com.pres.pres_server.service.analyse;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pres.pres_server.dto.AnalyseSummaryDto;
+import com.pres.pres_server.dto.WindowDto;
+
+class RehearsalSessionTest {
+
+    // 제출된 윈도우를 기록하고, 추임새 1개 / spm 300 인 결과를 바로 돌려주는 분석기
+    private final List<AudioWindow> windows = new ArrayList<>();
+    private final List<byte[]> bodies = new ArrayList<>();
+    private final List<AnalyseSummaryDto> rolling = new ArrayList<>();
+    private final List<Integer> skipped = new ArrayList<>();
+
+    private RehearsalSession newSession(RehearsalSession.WindowAnalyser analyser, int maxPending) {
+        return new RehearsalSession(0.5, 0.1, 60, maxPending, new AnalyseSummaryBuilder(), analyser,
+                new RehearsalSession.Listener() {
+                    @Override
+                    public void onWindow(int index, WindowDto window, AnalyseSummaryDto summary) {
+                        rolling.add(summary);
+                    }
+
+                    @Override
+                    public void onSkipped(AudioWindow window) {
+                        skipped.add(window.getIndex());
+                    }
+
+                    @Override
+                    public void onError(int index, Throwable error) {
+                    }
+                });
+    }
+
+    private CompletableFuture<WindowDto> record(AudioWindow window, byte[] wav) {
+        windows.add(window);
+        bodies.add(wav);
+        return CompletableFuture.completedFuture(new WindowDto(window.getStartSec(), window.getEndSec(), "음 안녕하세요",
+                Map.of("음", 1), 300, 90));
+    }
+
+    // 바이트 값 = 인덱스 하위 8bit 인 PCM
+    private static byte[] pcm(int bytes) {
+        byte[] data = new byte[bytes];
+        for (int i = 0; i < bytes; i++) {
+            data[i] = (byte) i;
+        }
+        return data;
+    }
+
+    @Test
+    @DisplayName("크기가 제각각인 조각을 이어 붙여 고정 길이 윈도우로 제출하고 누적 요약을 전달한다")
+    void buffersChunksIntoWindows() {
+        // given: 0.5초 윈도우 = 8000 frame = 16000 바이트, 1.25초 분량을 홀수 크기 조각으로 전송
+        RehearsalSession session = newSession(this::record, 3);
+        byte[] audio = pcm(40000);
+
+        // when
+        for (int offset = 0; offset < audio.length; offset += 777) {
+            session.append(ByteBuffer.wrap(audio, offset, Math.min(777, audio.length - offset)));
+        }
+        AnalyseSummaryDto summary = session.finish().join();
+
+        // then: 0~0.5, 0.5~1.0, 마지막 0.25초
+        assertEquals(3, windows.size());
+        assertEquals(0.5, windows.get(1).getStartSec(), 1e-9);
+        assertEquals(1.25, windows.get(2).getEndSec(), 1e-9);
+        assertEquals(WavWindowReader.HEADER_SIZE + 16000, bodies.get(0).length);
+        assertEquals(WavWindowReader.HEADER_SIZE + 8000, bodies.get(2).length);
+        assertArrayEquals(Arrays.copyOfRange(audio, 16000, 32000),
+                Arrays.copyOfRange(bodies.get(1), WavWindowReader.HEADER_SIZE, bodies.get(1).length));
+
+        assertEquals(List.of(1, 2, 3), rolling.stream().map(AnalyseSummaryDto::getWindowCount).toList());
+        assertEquals(3, summary.getFillers().get("음"));
+        assertEquals(1.25, summary.getTotalSec(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("분석 중인 윈도우가 상한에 도달하면 새 윈도우는 건너뛴다")
+    void skipsWhenAnalysisFallsBehind() {
+        // given: 결과가 돌아오지 않는 분석기, 세션당 최대 1개
+        CompletableFuture<WindowDto> stalled = new CompletableFuture<>();
+        RehearsalSession session = newSession((window, wav) -> {
+            windows.add(window);
+            return stalled;
+        }, 1);
+
+        // when
+        session.append(ByteBuffer.wrap(pcm(32000)));
+
+        // then
+        assertEquals(1, windows.size());
+        assertEquals(List.of(1), skipped);
+    }
+
+    @Test
+    @DisplayName("분석 큐가 가득 차 거부된 윈도우는 오류가 아니라 건너뛴 것으로 처리한다")
+    void skipsWhenExecutorRejects() {
+        // given: 두 번째 윈도우만 큐 초과로 거부
+        RehearsalSession session = newSession((window, wav) -> window.getIndex() == 1
+                ? CompletableFuture.failedFuture(new RejectedExecutionException("full"))
+                : record(window, wav), 3);
+
+        // when
+        session.append(ByteBuffer.wrap(pcm(48000)));
+        AnalyseSummaryDto summary = session.finish().join();
+
+        // then
+        assertEquals(List.of(1), skipped);
+        assertEquals(2, summary.getWindowCount());
+    }
+
+    @Test
+    @DisplayName("연결이 끊겨 닫힌 세션은 대기 중인 윈도우 분석을 취소하고 결과를 전달하지 않는다")
+    void closeCancelsPendingWindows() {
+        // given: 결과가 아직 돌아오지 않은 윈도우 2개
+        List<CompletableFuture<WindowDto>> analyses = new ArrayList<>();
+        RehearsalSession session = newSession((window, wav) -> {
+            CompletableFuture<WindowDto> analysis = new CompletableFuture<>();
+            analyses.add(analysis);
+            return analysis;
+        }, 3);
+        session.append(ByteBuffer.wrap(pcm(32000)));
+
+        // when
+        session.close();
+
+        // then: 분석기 future 가 취소되어 (실행 전이면 전사하지 않음) 콜백이 호출되지 않는다
+        assertEquals(2, analyses.size());
+        assertTrue(analyses.stream().allMatch(CompletableFuture::isCancelled));
+        assertEquals(List.of(), rolling);
+        assertEquals(List.of(), skipped);
+        assertEquals(0, session.finish().join().getWindowCount());
+        assertThrows(IllegalStateException.class, () -> session.append(ByteBuffer.wrap(pcm(10))));
+    }
+
+    @Test
+    @DisplayName("최대 길이를 넘는 조각과 종료 후 조각은 거부한다")
+    void rejectsBeyondLimits() {
+        RehearsalSession session = newSession(this::record, 3);
+
+        assertThrows(IllegalStateException.class, () -> session.append(ByteBuffer.wrap(new byte[61 * 32000])));
+
+        session.finish().join();
+        assertThrows(IllegalStateException.class, () -> session.append(ByteBuffer.wrap(pcm(10))));
+    }
+}
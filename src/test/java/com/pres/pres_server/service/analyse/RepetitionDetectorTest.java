@@ -0,0 +1,71 @@
+package com.pres.pres_server.service.analyse;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pres.pres_server.dto.RepeatedPhraseDto;
+
+class RepetitionDetectorTest {
+
+    @Test
+    @DisplayName("윈도우를 넘나들며 반복된 구절과 등장 위치를 찾는다")
+    void findsRepeatedPhrases() {
+        // given
+        RepetitionDetector detector = new RepetitionDetector(3, 10, List.of("음", "어"));
+
+        // when: "이 부분이 중요합니다" 가 세 번 (추임새 "음" 은 무시)
+        detector.add("이 부분이 중요합니다. 그리고 이 부분이 음 중요합니다", 0, 10);
+        detector.add("다시 말하면 이 부분이 중요합니다", 10, 20);
+
+        // then
+        List<RepeatedPhraseDto> top = detector.topPhrases(3);
+        assertEquals("이 부분이 중요합니다", top.get(0).getPhrase());
+        assertEquals(3, top.get(0).getCount());
+        assertEquals(3, top.get(0).getOffsetsSec().length);
+        assertEquals(0.0, top.get(0).getOffsetsSec()[0], 1e-9);
+        assertTrue(top.get(0).getOffsetsSec()[2] >= 10.0);
+        assertTrue(detector.score() < 100);
+    }
+
+    @Test
+    @DisplayName("반복이 없으면 100점, 구절 목록은 비어 있다")
+    void noRepetition() {
+        RepetitionDetector detector = new RepetitionDetector(3, 10, List.of());
+
+        detector.add("오늘은 저희 팀의 프로젝트 진행 상황을 말씀드리겠습니다", 0, 5);
+
+        assertEquals(100, detector.score());
+        assertTrue(detector.topPhrases(5).isEmpty());
+    }
+
+    @Test
+    @DisplayName("용량을 넘겨 재배치돼도 개수와 구절이 유지된다")
+    void survivesResize() {
+        // given: 서로 다른 3-gram 수천 개 + 같은 구절 반복
+        RepetitionDetector detector = new RepetitionDetector(3, 4, List.of());
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            text.append("단어").append(i).append(' ');
+        }
+
+        // when
+        detector.add("반복 되는 구절", 0, 1);
+        detector.add(text.toString(), 1, 100);
+        for (int i = 0; i < 5; i++) {
+            detector.add("반복 되는 구절", 100 + i, 101 + i);
+        }
+
+        // then: 위치는 max-offsets(4)개까지만
+        RepeatedPhraseDto top = detector.topPhrases(1).get(0);
+        assertEquals("반복 되는 구절", top.getPhrase());
+        assertEquals(6, top.getCount());
+        assertArrayEquals(new double[] { 0, 100, 101, 102 }, top.getOffsetsSec(), 1e-9);
+        assertEquals(5, detector.getRepeatedNgrams());
+    }
+}
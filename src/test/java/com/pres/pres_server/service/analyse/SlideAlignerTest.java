@@ -0,0 +1,103 @@
+package com.pres.pres_server.service.analyse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pres.pres_server.dto.SlideTimingDto;
+import com.pres.pres_server.dto.WindowDto;
+
+class SlideAlignerTest {
+    private static final List<String> SLIDES = List.of(
+            "프로젝트 소개 팀원 역할 분담과 개발 일정",
+            "시스템 아키텍처 스프링 부트 서버와 레디스 캐시 구성",
+            "음성 분석 파이프라인 윈도우 분할 위스퍼 전사 추임새 검출",
+            "성능 측정 결과 응답 시간과 처리량 비교 그래프",
+            "향후 계획 실시간 리허설 기능과 슬라이드 자동 정렬");
+
+    private static SlideAligner aligner(List<String> slides) {
+        return new SlideAligner(slides, List.of("음", "어"), 3, 64, 1, 10.0, 0.1, 0.2, 3);
+    }
+
+    private static WindowDto window(double startSec, double endSec, String transcript) {
+        return new WindowDto(startSec, endSec, transcript, Map.of(), 0, 0);
+    }
+
+    @Test
+    @DisplayName("발표 순서대로 말한 내용이 각 슬라이드 구간으로 나뉜다")
+    void alignsInOrder() {
+        // given: 슬라이드마다 20초씩, 슬라이드 문구를 섞어 말함 (윈도우 완료 순서는 뒤섞임)
+        List<WindowDto> windows = new ArrayList<>();
+        windows.add(window(20, 40, "다음은 시스템 아키텍처입니다 스프링 부트 서버 앞에 레디스 캐시를 두었습니다"));
+        windows.add(window(0, 20, "음 안녕하세요 프로젝트 소개부터 하겠습니다 팀원 역할 분담과 개발 일정입니다"));
+        windows.add(window(60, 80, "성능 측정 결과 어 응답 시간과 처리량을 비교한 그래프입니다"));
+        windows.add(window(40, 60, "음성 분석 파이프라인은 윈도우 분할 후 위스퍼로 전사하고 추임새를 검출합니다"));
+        windows.add(window(80, 100, "마지막으로 향후 계획은 실시간 리허설 기능과 슬라이드 자동 정렬입니다"));
+
+        // when
+        List<SlideTimingDto> timings = aligner(SLIDES).align(windows);
+
+        // then
+        assertEquals(5, timings.size());
+        for (int s = 0; s < 5; s++) {
+            SlideTimingDto t = timings.get(s);
+            assertEquals(s + 1, t.getSlide());
+            assertEquals(s * 20.0, t.getStartSec(), 1e-9);
+            assertEquals(s * 20.0 + 20, t.getEndSec(), 1e-9);
+            assertTrue(t.getSpm() > 0);
+            assertTrue(t.getConfidence() > 0);
+        }
+        assertEquals(1, timings.get(0).getFillerCount());
+        assertEquals(1, timings.get(3).getFillerCount());
+    }
+
+    @Test
+    @DisplayName("말하지 않은 슬라이드는 건너뛰고 시각이 비어 있다")
+    void skipsUnspokenSlide() {
+        // given: 세 번째 슬라이드(파이프라인) 설명 없이 넘어감
+        List<WindowDto> windows = List.of(
+                window(0, 20, "프로젝트 소개 팀원 역할 분담과 개발 일정을 말씀드리겠습니다"),
+                window(20, 40, "시스템 아키텍처는 스프링 부트 서버와 레디스 캐시로 구성됩니다"),
+                window(40, 60, "바로 성능 측정 결과로 넘어가면 응답 시간과 처리량 비교 그래프입니다"),
+                window(60, 80, "향후 계획으로 실시간 리허설 기능과 슬라이드 자동 정렬을 준비 중입니다"));
+
+        // when
+        List<SlideTimingDto> timings = aligner(SLIDES).align(windows);
+
+        // then
+        assertNull(timings.get(2).getStartSec());
+        assertEquals(0, timings.get(2).getDurationSec());
+        assertEquals(40.0, timings.get(3).getStartSec(), 1e-9);
+        assertEquals(60.0, timings.get(4).getStartSec(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("단어 타임스탬프가 있으면 윈도우 중간의 슬라이드 전환 시각을 그대로 쓴다")
+    void usesWordTimestamps() {
+        // given: 한 윈도우(0~30초) 안에서 12초에 두 번째 슬라이드로 넘어감
+        WindowDto w = window(0, 30, null);
+        w.setWords(new String[] { "프로젝트", "소개", "팀원", "역할", "분담과", "개발", "일정",
+                "시스템", "아키텍처", "스프링", "부트", "서버와", "레디스", "캐시", "구성" });
+        w.setWordStartMs(new int[] { 0, 1_000, 2_000, 3_000, 4_000, 5_000, 6_000,
+                12_000, 13_000, 14_000, 15_000, 16_000, 17_000, 18_000, 19_000 });
+        w.setWordEndMs(new int[] { 900, 1_900, 2_900, 3_900, 4_900, 5_900, 6_900,
+                12_900, 13_900, 14_900, 15_900, 16_900, 17_900, 18_900, 19_900 });
+        SlideAligner aligner = new SlideAligner(SLIDES.subList(0, 2), List.of(), 3, 64, 1, 5.0, 0.1, 0.2, 3);
+
+        // when
+        List<SlideTimingDto> timings = aligner.align(List.of(w));
+
+        // then
+        assertEquals(0.0, timings.get(0).getStartSec(), 1e-9);
+        assertEquals(12.0, timings.get(0).getEndSec(), 1e-9);
+        assertEquals(12.0, timings.get(1).getStartSec(), 1e-9);
+        assertEquals(30.0, timings.get(1).getEndSec(), 1e-9);
+    }
+}
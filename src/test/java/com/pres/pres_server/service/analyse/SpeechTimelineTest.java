@@ -0,0 +1,62 @@
+package com.pres.pres_server.service.analyse;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pres.pres_server.dto.TimelineDto;
+
+class SpeechTimelineTest {
+
+    @Test
+    @DisplayName("30초 윈도우 평균에 묻히는 빠른 10초 구간이 슬라이딩 SPM 최대값으로 드러난다")
+    void revealsRushedStretch() {
+        // given: 0~20초 300 SPM, 20~30초 480 SPM (윈도우 평균 360), 30~60초 300 SPM
+        SpeechTimeline timeline = new SpeechTimeline(1.0);
+        timeline.addSpan(0, 20, 100, 0);
+        timeline.addSpan(20, 30, 80, 5);
+        timeline.addSpan(30, 60, 150, 0);
+
+        // when
+        TimelineDto result = timeline.compute(10, 5, 0.3);
+
+        // then: [0,10) [5,15) ... [50,60) → 11 지점
+        assertEquals(11, result.getSpm().length);
+        assertEquals(480, result.getSpm()[4]); // [20, 30)
+        assertEquals(480, result.getMaxSpm());
+        assertEquals(300, result.getMinSpm());
+        assertEquals(300, result.getP50Spm());
+        assertEquals(30.0, result.getFillersPerMin()[4], 1e-9);
+    }
+
+    @Test
+    @DisplayName("발화가 적은 구간(긴 쉼)은 0으로 두고 통계에서 제외한다")
+    void excludesSilentStretches() {
+        // given: 0~10초 발화, 10~30초 VAD로 생략된 무음, 30~40초 발화
+        SpeechTimeline timeline = new SpeechTimeline(1.0);
+        timeline.addSpan(0, 10, 50, 0);
+        timeline.addSpan(30, 40, 60, 0);
+
+        // when
+        TimelineDto result = timeline.compute(10, 10, 0.3);
+
+        // then
+        assertArrayEquals(new int[] { 300, 0, 0, 360 }, result.getSpm());
+        assertEquals(300, result.getMinSpm());
+        assertEquals(360, result.getMaxSpm());
+    }
+
+    @Test
+    @DisplayName("슬라이딩 윈도우보다 짧은 녹음은 전체를 한 지점으로 계산한다")
+    void shortRecording() {
+        SpeechTimeline timeline = new SpeechTimeline(1.0);
+        timeline.addSpan(0, 4.5, 30, 1);
+
+        TimelineDto result = timeline.compute(10, 1, 0.3);
+
+        assertArrayEquals(new int[] { 400 }, result.getSpm());
+        assertEquals(5.0, result.getWindowSec(), 1e-9);
+    }
+}
@@ -0,0 +1,111 @@
+package com.pres.pres_server.service.analyse;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.pres.pres_server.dto.PauseStatsDto;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VoiceActivityDetectorTest {
+
+    private static final int RATE = 16000;
+
+    @TempDir
+    Path tempDir;
+
+    private final VoiceActivityDetector detector = new VoiceActivityDetector(30, 3.0, 200, 300, 200, 2.0, 5.0);
+
+    // segments: {초, 음성 여부} 순서대로 이어 붙인 16kHz mono WAV (음성 = 440Hz 사인파, 무음 = 약한 잡음)
+    private File writeWav(double[][] segments) throws Exception {
+        File file = tempDir.resolve("vad.wav").toFile();
+        Files.write(file.toPath(), wavBytes(segments));
+        return file;
+    }
+
+    private byte[] wavBytes(double[][] segments) {
+        int frames = 0;
+        for (double[] seg : segments) {
+            frames += (int) (seg[0] * RATE);
+        }
+        byte[] wav = new byte[WavWindowReader.HEADER_SIZE + frames * 2];
+        WavWindowReader.writeHeader(wav, RATE, 1, 16, frames * 2);
+        ByteBuffer pcm = ByteBuffer.wrap(wav).order(ByteOrder.LITTLE_ENDIAN);
+        int i = 0;
+        for (double[] seg : segments) {
+            int n = (int) (seg[0] * RATE);
+            for (int k = 0; k < n; k++, i++) {
+                double v = seg[1] > 0 ? 6000 * Math.sin(2 * Math.PI * 440 * i / RATE) : (i % 7) * 10 - 30;
+                pcm.putShort(WavWindowReader.HEADER_SIZE + i * 2, (short) v);
+            }
+        }
+        return wav;
+    }
+
+    @Test
+    @DisplayName("앞뒤 무음과 긴 무음은 윈도우에서 제외된다")
+    void testSkipSilence() throws Exception {
+        // given: 1초 무음 + 5초 음성 + 4초 무음 + 5초 음성 + 1초 무음
+        File wav = writeWav(new double[][] { { 1, 0 }, { 5, 1 }, { 4, 0 }, { 5, 1 }, { 1, 0 } });
+
+        try (WavWindowReader reader = WavWindowReader.open(wav)) {
+            // when
+            VoiceActivityDetector.Result result = detector.detect(reader);
+            List<AudioWindow> windows = detector.planWindows(result, 30.0);
+
+            // then
+            assertEquals(10.0, result.getSpeechSec(), 0.1);
+            assertEquals(2, windows.size());
+            assertEquals(0.8, windows.get(0).getStartSec(), 0.05);
+            assertEquals(6.2, windows.get(0).getEndSec(), 0.05);
+            assertEquals(9.8, windows.get(1).getStartSec(), 0.05);
+            assertEquals(15.2, windows.get(1).getEndSec(), 0.05);
+        }
+    }
+
+    @Test
+    @DisplayName("윈도우 길이를 넘으면 직전 쉼 위치에서 자른다")
+    void testCutAtPause() throws Exception {
+        // given: 8초 음성 + 0.6초 쉼 + 8초 음성 (윈도우 10초)
+        File wav = writeWav(new double[][] { { 8, 1 }, { 0.6, 0 }, { 8, 1 } });
+
+        try (WavWindowReader reader = WavWindowReader.open(wav)) {
+            // when
+            List<AudioWindow> windows = detector.planWindows(detector.detect(reader), 10.0);
+
+            // then: 두 윈도우의 경계가 모두 8.0 ~ 8.6초 쉼 안에 있어 음성이 잘리지 않는다
+            assertEquals(2, windows.size());
+            double cut = windows.get(0).getEndSec();
+            double next = windows.get(1).getStartSec();
+            assertTrue(cut >= 8.0 && cut <= next && next <= 8.6, "cut=" + cut + ", next=" + next);
+            assertEquals(0.0, windows.get(0).getStartSec(), 1e-9);
+            assertEquals(16.6, windows.get(1).getEndSec(), 0.05);
+        }
+    }
+
+    @Test
+    @DisplayName("윈도우 버퍼에서 쉼 개수/합계/최장 길이와 앞뒤 무음을 구한다")
+    void testPauseStats() {
+        // given: 1초 무음 + 3초 음성 + 0.6초 쉼 + 2초 음성 + 0.1초 간격 + 2초 음성 + 1초 무음
+        byte[] wav = wavBytes(new double[][] {
+                { 1, 0 }, { 3, 1 }, { 0.6, 0 }, { 2, 1 }, { 0.1, 0 }, { 2, 1 }, { 1, 0 } });
+
+        // when
+        PauseStatsDto pauses = detector.detect(wav).pauseStats();
+
+        // then: 0.1초 간격은 min-pause(300ms)보다 짧아 쉼이 아니다
+        assertEquals(1, pauses.getCount());
+        assertEquals(0.6, pauses.getTotalSec(), 0.05);
+        assertEquals(0.6, pauses.getLongestSec(), 0.05);
+        assertEquals(1.0, pauses.getLeadingSec(), 0.05);
+        assertEquals(1.0, pauses.getTrailingSec(), 0.05);
+    }
+}
@@ -0,0 +1,57 @@
+package com.pres.pres_server.service.analyse;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WavWindowReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    // 16kHz mono 16bit, 샘플 값 = 인덱스(short) 인 WAV 파일 생성
+    private File writeWav(int frames) throws Exception {
+        byte[] wav = new byte[WavWindowReader.HEADER_SIZE + frames * 2];
+        WavWindowReader.writeHeader(wav, 16000, 1, 16, frames * 2);
+        ByteBuffer pcm = ByteBuffer.wrap(wav).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < frames; i++) {
+            pcm.putShort(WavWindowReader.HEADER_SIZE + i * 2, (short) i);
+        }
+        File file = tempDir.resolve("test.wav").toFile();
+        Files.write(file.toPath(), wav);
+        return file;
+    }
+
+    @Test
+    @DisplayName("헤더에서 길이와 포맷을 읽는다")
+    void testHeader() throws Exception {
+        try (WavWindowReader reader = WavWindowReader.open(writeWav(24000))) {
+            assertEquals(16000, reader.getSampleRate());
+            assertEquals(1, reader.getChannels());
+            assertEquals(16, reader.getBitsPerSample());
+            assertEquals(1.5, reader.getDurationSec(), 1e-9);
+        }
+    }
+
+    @Test
+    @DisplayName("윈도우는 헤더 + 해당 구간 PCM으로 구성된다")
+    void testWindow() throws Exception {
+        try (WavWindowReader reader = WavWindowReader.open(writeWav(24000))) {
+            byte[] win = reader.window(1.0, 1.0); // 마지막 0.5초만 남음
+            ByteBuffer buf = ByteBuffer.wrap(win).order(ByteOrder.LITTLE_ENDIAN);
+
+            assertEquals(WavWindowReader.HEADER_SIZE + 8000 * 2, win.length);
+            assertEquals(8000 * 2, buf.getInt(40)); // data 청크 크기
+            assertEquals((short) 16000, buf.getShort(WavWindowReader.HEADER_SIZE));
+            assertEquals((short) 23999, buf.getShort(win.length - 2));
+        }
+    }
+}
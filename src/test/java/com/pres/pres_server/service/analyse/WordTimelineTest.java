@@ -0,0 +1,44 @@
+package com.pres.pres_server.service.analyse;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class WordTimelineTest {
+
+    @Test
+    @DisplayName("윈도우가 순서 없이 들어와도 구간 추임새 수를 이진 탐색으로 센다")
+    void countsFillersInRange() {
+        // given: 두 번째 윈도우(60초~)가 먼저 완료됨
+        WordTimeline timeline = new WordTimeline(List.of("음", "어"));
+        timeline.add(new String[] { "음,", "그래서", "결과는" },
+                new int[] { 60_000, 61_000, 62_000 }, new int[] { 60_400, 61_800, 62_900 });
+        timeline.add(new String[] { "안녕하세요", "어", "오늘은" },
+                new int[] { 0, 1_000, 2_000 }, new int[] { 800, 1_300, 2_500 });
+
+        // when / then
+        assertEquals(0, timeline.startMs(0));
+        assertEquals("음,", timeline.word(3));
+        assertTrue(timeline.isFiller(1));
+        assertEquals(1, timeline.fillerCountBetween(0, 60_000)); // 첫 1분
+        assertEquals(1, timeline.fillerCountBetween(60_000, 120_000)); // 두 번째 1분 ("음," 의 문장부호 무시)
+        assertEquals(3, timeline.countBetween(60_000, 120_000));
+        assertArrayEquals(new int[] { 1_000, 60_000 }, timeline.fillerStartsMs());
+    }
+
+    @Test
+    @DisplayName("단어가 없는 구간은 0")
+    void emptyRange() {
+        WordTimeline timeline = new WordTimeline(List.of("음"));
+        timeline.add(new String[] { "음" }, new int[] { 5_000 }, new int[] { 5_300 });
+
+        assertEquals(0, timeline.fillerCountBetween(6_000, 10_000));
+        assertEquals(0, timeline.countBetween(10_000, 5_000));
+        assertEquals(0, timeline.fillerStartsMs(0, 1_000).length);
+    }
+}
@@ -0,0 +1,56 @@
+package com.pres.pres_server.service.file;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SlideDiffTest {
+
+    @Test
+    @DisplayName("중간에 슬라이드를 끼워 넣고 한 장을 고치면 그 두 장만 바뀐 것으로 본다")
+    void detectsInsertedAndEditedSlides() {
+        // given
+        List<String> previous = SlideDiff.hashesOf(List.of("소개", "아키텍처", "성능 결과", "향후 계획"));
+        List<String> current = SlideDiff.hashesOf(List.of("소개", "데모", "아키텍처", "성능 결과 (개선)", "향후 계획"));
+
+        // when
+        int[] matched = SlideDiff.match(previous, current);
+        List<Integer> changed = SlideDiff.changedSlides(previous, current);
+
+        // then
+        assertArrayEquals(new int[] { 0, -1, 1, -1, 3 }, matched);
+        assertEquals(List.of(2, 4), changed);
+    }
+
+    @Test
+    @DisplayName("공백과 줄바꿈만 달라진 슬라이드는 그대로로 본다")
+    void ignoresWhitespaceOnlyChanges() {
+        // given
+        List<String> previous = SlideDiff.hashesOf(List.of("시스템 아키텍처\n스프링 부트"));
+        List<String> current = SlideDiff.hashesOf(List.of("  시스템  아키텍처 \r\n 스프링 부트\n"));
+
+        // when
+        List<Integer> changed = SlideDiff.changedSlides(previous, current);
+
+        // then
+        assertEquals(List.of(), changed);
+    }
+
+    @Test
+    @DisplayName("같은 텍스트의 슬라이드가 여러 장이면 직전 버전의 장 수만큼만 짝짓는다")
+    void matchesDuplicatesOnce() {
+        // given: 구분용 빈 슬라이드가 한 장 → 두 장
+        List<String> previous = SlideDiff.hashesOf(List.of("", "본론"));
+        List<String> current = SlideDiff.hashesOf(List.of("", "본론", ""));
+
+        // when
+        List<Integer> changed = SlideDiff.changedSlides(SlideDiff.split(SlideDiff.join(previous)), current);
+
+        // then
+        assertEquals(List.of(3), changed);
+    }
+}
@@ -0,0 +1,119 @@
+package com.pres.pres_server.service.transcription;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pres.pres_server.service.analyse.WavWindowReader;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlacEncoderTest {
+
+    // 16kHz mono 16bit WAV, sample(i) 값으로 채움
+    private byte[] wav(int frames, java.util.function.IntUnaryOperator sample) {
+        byte[] wav = new byte[WavWindowReader.HEADER_SIZE + frames * 2];
+        WavWindowReader.writeHeader(wav, 16000, 1, 16, frames * 2);
+        ByteBuffer pcm = ByteBuffer.wrap(wav).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < frames; i++) {
+            pcm.putShort(WavWindowReader.HEADER_SIZE + i * 2, (short) sample.applyAsInt(i));
+        }
+        return wav;
+    }
+
+    // 인코딩 → 디코딩한 샘플이 원본 PCM 과 같은지
+    private FlacSubsetDecoder assertRoundTrip(byte[] wav, int channels) {
+        FlacSubsetDecoder decoded = new FlacSubsetDecoder(FlacEncoder.encode(wav));
+        int frames = (wav.length - WavWindowReader.HEADER_SIZE) / (2 * channels);
+        assertEquals(channels, decoded.channels);
+        assertEquals(16, decoded.bitsPerSample);
+        assertEquals(frames, decoded.totalSamples);
+        ByteBuffer pcm = ByteBuffer.wrap(wav).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < frames; i++) {
+            for (int ch = 0; ch < channels; ch++) {
+                int expected = pcm.getShort(WavWindowReader.HEADER_SIZE + (i * channels + ch) * 2);
+                if (decoded.samples[ch][i] != expected) {
+                    fail("sample " + i + " ch " + ch + ": " + decoded.samples[ch][i] + " != " + expected);
+                }
+            }
+        }
+        return decoded;
+    }
+
+    @Test
+    @DisplayName("STREAMINFO에 샘플레이트와 전체 샘플 수를 기록한다")
+    void testStreamInfo() {
+        // given
+        byte[] wav = wav(20000, i -> (int) (8000 * Math.sin(i * 0.05)));
+
+        // when
+        byte[] flac = FlacEncoder.encode(wav);
+
+        // then
+        ByteBuffer buf = ByteBuffer.wrap(flac); // big-endian
+        assertEquals(0x664C6143, buf.getInt(0)); // "fLaC"
+        assertEquals(16000, (buf.getInt(18) >>> 12)); // 20bit sample rate
+        long totalSamples = ((buf.get(21) & 0x0FL) << 32) | (buf.getInt(22) & 0xFFFFFFFFL);
+        assertEquals(20000, totalSamples);
+        assertTrue(flac.length < wav.length / 2, "flac=" + flac.length);
+    }
+
+    @Test
+    @DisplayName("무음은 constant 서브프레임으로 거의 크기를 차지하지 않는다")
+    void testSilence() {
+        byte[] flac = FlacEncoder.encode(wav(16000 * 30, i -> 0));
+        assertTrue(flac.length < 2000, "flac=" + flac.length);
+    }
+
+    @Test
+    @DisplayName("16bit가 아니면 거부한다")
+    void testUnsupported() {
+        byte[] wav = new byte[WavWindowReader.HEADER_SIZE + 100];
+        WavWindowReader.writeHeader(wav, 16000, 1, 8, 100);
+        assertThrows(IllegalArgumentException.class, () -> FlacEncoder.encode(wav));
+    }
+
+    @Test
+    @DisplayName("디코딩하면 무음/사인파/최대 진폭 잡음 모두 원본 PCM과 같다")
+    void testRoundTrip() {
+        // 무음: constant 서브프레임, 프레임 번호가 2바이트가 되도록 128 프레임 이상
+        FlacSubsetDecoder silence = assertRoundTrip(wav(4096 * 130 + 5, i -> 0), 1);
+        assertEquals(131, silence.frames);
+
+        // 사인파 (+ 블록 크기로 나누어떨어지지 않는 마지막 블록): fixed 서브프레임 + Rice 파티션
+        assertRoundTrip(wav(20000, i -> (int) (8000 * Math.sin(i * 0.05) + 300 * Math.sin(i * 1.3))), 1);
+
+        // 최대 진폭 잡음: 압축 이득이 없어 verbatim
+        Random random = new Random(42);
+        assertRoundTrip(wav(10000, i -> random.nextInt(65536) - 32768), 1);
+
+        // 양 끝 값과 급격한 변화 (고차 예측 잔차가 16bit 를 넘는 경우)
+        assertRoundTrip(wav(9000, i -> i % 2 == 0 ? Short.MAX_VALUE : Short.MIN_VALUE), 1);
+    }
+
+    @Test
+    @DisplayName("스테레오 WAV는 채널별로 독립 부호화되어 그대로 복원된다")
+    void testStereoRoundTrip() {
+        int frames = 5000;
+        byte[] wav = new byte[WavWindowReader.HEADER_SIZE + frames * 4];
+        WavWindowReader.writeHeader(wav, 16000, 2, 16, frames * 4);
+        ByteBuffer pcm = ByteBuffer.wrap(wav).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < frames; i++) {
+            pcm.putShort(WavWindowReader.HEADER_SIZE + i * 4, (short) (6000 * Math.sin(i * 0.02)));
+            pcm.putShort(WavWindowReader.HEADER_SIZE + i * 4 + 2, (short) (i < 2500 ? 0 : -1200));
+        }
+        assertRoundTrip(wav, 2);
+    }
+
+    @Test
+    @DisplayName("검증용 디코더의 CRC는 표준 검사값과 일치한다")
+    void testDecoderCrc() {
+        byte[] check = "123456789".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(0xF4, FlacSubsetDecoder.crc8(check, 0, check.length));
+        assertEquals(0xFEE8, FlacSubsetDecoder.crc16(check, 0, check.length));
+    }
+}
@@ -0,0 +1,221 @@
+package com.pres.pres_server.service.transcription;
+
+/**
+ * FlacEncoder 검증용 FLAC 디코더 (테스트 전용).
+ *
+ * 인코더가 실제로 내보내는 부분집합만 읽는다: STREAMINFO, 고정 블록 크기 프레임, 채널 독립 부호화,
+ * constant / verbatim / fixed(order 0~4) 서브프레임, Rice 파티션 잔차(4/5bit 파라미터, escape 포함).
+ * 프레임 헤더 CRC-8, 프레임 CRC-16, 프레임 번호 순서를 확인하고 어긋나면 IllegalStateException.
+ */
+final class FlacSubsetDecoder {
+    final int sampleRate;
+    final int channels;
+    final int bitsPerSample;
+    final long totalSamples;
+    final int frames;
+    /** samples[ch][i] */
+    final int[][] samples;
+
+    private final byte[] data;
+    private long bitPos;
+
+    FlacSubsetDecoder(byte[] flac) {
+        this.data = flac;
+        check(readBits(32) == 0x664C6143, "fLaC 마커 없음");
+
+        // 메타데이터 블록: 첫 블록은 STREAMINFO
+        boolean last = readBits(1) == 1;
+        check(readBits(7) == 0, "첫 메타데이터 블록이 STREAMINFO 가 아님");
+        check(readBits(24) == 34, "STREAMINFO 길이");
+        int minBlock = (int) readBits(16);
+        int maxBlock = (int) readBits(16);
+        check(minBlock == maxBlock, "고정 블록 크기가 아님");
+        readBits(24);
+        readBits(24);
+        this.sampleRate = (int) readBits(20);
+        this.channels = (int) readBits(3) + 1;
+        this.bitsPerSample = (int) readBits(5) + 1;
+        this.totalSamples = readBits(36);
+        readBits(64);
+        readBits(64);
+        while (!last) {
+            last = readBits(1) == 1;
+            readBits(7);
+            bitPos += 8 * readBits(24);
+        }
+
+        this.samples = new int[channels][(int) totalSamples];
+        int decoded = 0;
+        int frame = 0;
+        while (decoded < totalSamples) {
+            decoded += readFrame(frame++, decoded);
+        }
+        this.frames = frame;
+        check(bitPos == 8L * data.length, "프레임 뒤에 남은 바이트");
+    }
+
+    private int readFrame(int expectedNumber, int offset) {
+        int frameStart = (int) (bitPos >>> 3);
+        check(readBits(14) == 0x3FFE, "프레임 sync");
+        check(readBits(1) == 0, "reserved bit");
+        check(readBits(1) == 0, "가변 블록 크기");
+        int blockSizeCode = (int) readBits(4);
+        check(readBits(4) == 0, "sample rate 는 STREAMINFO 참조여야 함");
+        int channelCode = (int) readBits(4);
+        check(channelCode == channels - 1, "채널 독립 부호화가 아님: " + channelCode);
+        check(readBits(3) == 0b100 && bitsPerSample == 16, "16bit 가 아님");
+        check(readBits(1) == 0, "reserved bit");
+        check(readUtf8() == expectedNumber, "프레임 번호");
+        int n = switch (blockSizeCode) {
+            case 0b0110 -> (int) readBits(8) + 1;
+            case 0b0111 -> (int) readBits(16) + 1;
+            default -> throw new IllegalStateException("지원하지 않는 block size 코드: " + blockSizeCode);
+        };
+        int headerEnd = (int) (bitPos >>> 3);
+        check(readBits(8) == crc8(data, frameStart, headerEnd), "프레임 헤더 CRC-8");
+
+        for (int ch = 0; ch < channels; ch++) {
+            readSubframe(samples[ch], offset, n);
+        }
+
+        bitPos = (bitPos + 7) & ~7L; // 0 패딩
+        int frameEnd = (int) (bitPos >>> 3);
+        check(readBits(16) == crc16(data, frameStart, frameEnd), "프레임 CRC-16");
+        return n;
+    }
+
+    private void readSubframe(int[] out, int offset, int n) {
+        check(readBits(1) == 0, "서브프레임 pad bit");
+        int type = (int) readBits(6);
+        check(readBits(1) == 0, "wasted bits 미지원");
+
+        if (type == 0) { // constant
+            int value = signed(readBits(16), 16);
+            for (int i = 0; i < n; i++) {
+                out[offset + i] = value;
+            }
+        } else if (type == 1) { // verbatim
+            for (int i = 0; i < n; i++) {
+                out[offset + i] = signed(readBits(16), 16);
+            }
+        } else if ((type & 0b111000) == 0b001000 && (type & 0b111) <= 4) { // fixed
+            int order = type & 0b111;
+            for (int i = 0; i < order; i++) {
+                out[offset + i] = signed(readBits(16), 16);
+            }
+            readResidual(out, offset, n, order);
+            for (int i = order; i < n; i++) {
+                int j = offset + i;
+                long prediction = switch (order) {
+                    case 0 -> 0;
+                    case 1 -> out[j - 1];
+                    case 2 -> 2L * out[j - 1] - out[j - 2];
+                    case 3 -> 3L * out[j - 1] - 3L * out[j - 2] + out[j - 3];
+                    default -> 4L * out[j - 1] - 6L * out[j - 2] + 4L * out[j - 3] - out[j - 4];
+                };
+                long value = prediction + out[j];
+                check(value >= Short.MIN_VALUE && value <= Short.MAX_VALUE, "복원 샘플이 16bit 범위 밖");
+                out[j] = (int) value;
+            }
+        } else {
+            throw new IllegalStateException("지원하지 않는 서브프레임 타입: " + type);
+        }
+    }
+
+    // 잔차를 out[offset+order .. offset+n) 에 채운다
+    private void readResidual(int[] out, int offset, int n, int order) {
+        int method = (int) readBits(2);
+        check(method <= 1, "잔차 부호화 방식: " + method);
+        int paramBits = method == 0 ? 4 : 5;
+        int escape = (1 << paramBits) - 1;
+        int partitionOrder = (int) readBits(4);
+        int partitions = 1 << partitionOrder;
+        check(n % partitions == 0 && (n >> partitionOrder) > order, "파티션 크기");
+        int partitionSize = n >> partitionOrder;
+
+        for (int p = 0; p < partitions; p++) {
+            int from = p == 0 ? order : p * partitionSize;
+            int to = (p + 1) * partitionSize;
+            int k = (int) readBits(paramBits);
+            if (k == escape) {
+                int raw = (int) readBits(5);
+                for (int i = from; i < to; i++) {
+                    out[offset + i] = raw == 0 ? 0 : signed(readBits(raw), raw);
+                }
+                continue;
+            }
+            for (int i = from; i < to; i++) {
+                long q = 0;
+                while (readBits(1) == 0) {
+                    q++;
+                }
+                long u = (q << k) | (k > 0 ? readBits(k) : 0);
+                long v = (u >>> 1) ^ -(u & 1);
+                check(v >= Integer.MIN_VALUE && v <= Integer.MAX_VALUE, "잔차 범위");
+                out[offset + i] = (int) v;
+            }
+        }
+    }
+
+    private long readUtf8() {
+        int first = (int) readBits(8);
+        if ((first & 0x80) == 0) {
+            return first;
+        }
+        int bytes = Integer.numberOfLeadingZeros(~first << 24);
+        check(bytes >= 2 && bytes <= 7, "프레임 번호 부호");
+        long value = first & (0x7F >> bytes);
+        for (int i = 1; i < bytes; i++) {
+            int next = (int) readBits(8);
+            check((next & 0xC0) == 0x80, "프레임 번호 연속 바이트");
+            value = (value << 6) | (next & 0x3F);
+        }
+        return value;
+    }
+
+    private long readBits(int bits) {
+        long value = 0;
+        for (int i = 0; i < bits; i++) {
+            int index = (int) (bitPos >>> 3);
+            check(index < data.length, "스트림 끝");
+            int bit = (data[index] >>> (7 - (int) (bitPos & 7))) & 1;
+            value = (value << 1) | bit;
+            bitPos++;
+        }
+        return value;
+    }
+
+    private static int signed(long value, int bits) {
+        return (int) (value << (64 - bits) >> (64 - bits));
+    }
+
+    // CRC-8 (poly 0x07, init 0)
+    static int crc8(byte[] data, int from, int to) {
+        int crc = 0;
+        for (int i = from; i < to; i++) {
+            crc ^= data[i] & 0xFF;
+            for (int b = 0; b < 8; b++) {
+                crc = (crc & 0x80) != 0 ? ((crc << 1) ^ 0x07) & 0xFF : (crc << 1) & 0xFF;
+            }
+        }
+        return crc;
+    }
+
+    // CRC-16 (poly 0x8005, init 0, 비반사)
+    static int crc16(byte[] data, int from, int to) {
+        int crc = 0;
+        for (int i = from; i < to; i++) {
+            crc ^= (data[i] & 0xFF) << 8;
+            for (int b = 0; b < 8; b++) {
+                crc = (crc & 0x8000) != 0 ? ((crc << 1) ^ 0x8005) & 0xFFFF : (crc << 1) & 0xFFFF;
+            }
+        }
+        return crc;
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+}
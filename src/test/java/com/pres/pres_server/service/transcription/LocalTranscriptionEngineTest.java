@@ -0,0 +1,43 @@
+package com.pres.pres_server.service.transcription;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.pres.pres_server.config.AnalyseProperties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalTranscriptionEngineTest {
+
+    private LocalTranscriptionEngine engine(double errorRate) {
+        AnalyseProperties properties = new AnalyseProperties();
+        properties.getTranscription().getLocal().setLatencyMs(0);
+        properties.getTranscription().getLocal().setJitterMs(0);
+        properties.getTranscription().getLocal().setErrorRate(errorRate);
+        return new LocalTranscriptionEngine(properties);
+    }
+
+    @Test
+    @DisplayName("같은 PCM은 항상 같은 전사문을 돌려준다")
+    void testDeterministic() throws Exception {
+        // given
+        byte[] wav = new byte[1000];
+        for (int i = 0; i < wav.length; i++) {
+            wav[i] = (byte) (i * 31);
+        }
+
+        // when
+        String first = engine(0.0).transcribe(wav, "a.wav");
+        String second = engine(0.0).transcribe(wav.clone(), "b.wav");
+
+        // then
+        assertEquals(first, second);
+        assertTrue(new AnalyseProperties().getTranscription().getLocal().getTranscripts().contains(first));
+    }
+
+    @Test
+    @DisplayName("errorRate 1.0 이면 모든 윈도우가 실패한다")
+    void testErrorRate() {
+        assertThrows(IllegalStateException.class, () -> engine(1.0).transcribe(new byte[100], "a.wav"));
+    }
+}